@@ -0,0 +1,30 @@
+package com.taskmanagement.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Точка входа benchmarks.jar: по умолчанию пишет результаты в JSON (jmh-result.json),
+ * чтобы их можно было сравнивать между коммитами.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add("jmh-result.json");
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
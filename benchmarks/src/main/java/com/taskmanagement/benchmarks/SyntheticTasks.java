@@ -0,0 +1,91 @@
+package com.taskmanagement.benchmarks;
+
+import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор синтетических задач с фиксированным seed для воспроизводимых замеров
+ */
+public final class SyntheticTasks {
+
+    public static final int USERS = 100;
+    public static final int CATEGORIES = 20;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private SyntheticTasks() {
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.id = (long) i + 1;
+            user.name = "User " + i;
+            user.email = "user" + i + "@example.com";
+            user.createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = new Category();
+            category.id = (long) i + 1;
+            category.name = "Category " + i;
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    public static List<Task> tasks(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<User> users = users(USERS);
+        List<Category> categories = categories(CATEGORIES);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.id = (long) i + 1;
+            task.title = "Task " + i;
+            task.description = "Synthetic task " + i;
+            task.status = STATUSES[random.nextInt(STATUSES.length)];
+            task.priority = PRIORITIES[random.nextInt(PRIORITIES.length)];
+            // Около 10% задач без исполнителя и без срока
+            task.assignee = random.nextInt(10) == 0 ? null : users.get(random.nextInt(users.size()));
+            task.category = categories.get(random.nextInt(categories.size()));
+            task.dueDate = random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(-30, 60));
+            task.estimatedHours = random.nextInt(1, 40);
+            task.createdAt = now.minusHours(random.nextInt(1, 24 * 90));
+            if (task.status == TaskStatus.DONE) {
+                task.completedAt = task.createdAt.plusHours(random.nextInt(1, 24 * 30));
+            }
+            task.updatedAt = task.createdAt;
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Приглушает INFO-логи сервисов, чтобы вывод в консоль не попадал в замер
+     */
+    public static void quietLogging() {
+        org.jboss.logmanager.LogContext.getLogContext()
+                .getLogger("com.taskmanagement")
+                .setLevel(java.util.logging.Level.WARNING);
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskmanagement.model.entity;
+
+import com.taskmanagement.benchmarks.SyntheticTasks;
+import com.taskmanagement.model.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бизнес-методы Task: переходы статусов и вычисления по сроку (LocalDate.now() на каждый вызов)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskBenchmark {
+
+    private static final int TASKS = 1024;
+    private static final TaskStatus[] TARGETS = TaskStatus.values();
+
+    private Task[] tasks;
+
+    @Setup
+    public void setUp() {
+        List<Task> generated = SyntheticTasks.tasks(TASKS, 42);
+        tasks = generated.toArray(new Task[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS * 5)
+    public void canTransitionTo(Blackhole bh) {
+        for (Task task : tasks) {
+            for (TaskStatus target : TARGETS) {
+                bh.consume(task.canTransitionTo(target));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void isOverdue(Blackhole bh) {
+        for (Task task : tasks) {
+            bh.consume(task.isOverdue());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void getDaysUntilDue(Blackhole bh) {
+        for (Task task : tasks) {
+            bh.consume(task.getDaysUntilDue());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public void isUrgent(Blackhole bh) {
+        for (Task task : tasks) {
+            bh.consume(task.isUrgent());
+        }
+    }
+}
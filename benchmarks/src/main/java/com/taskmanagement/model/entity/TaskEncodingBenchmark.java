@@ -0,0 +1,82 @@
+package com.taskmanagement.model.entity;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanagement.benchmarks.SyntheticTasks;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON против CBOR и Smile на списке задач: время кодирования и разбора.
+ * Размер тела (как есть и после gzip) печатается при подготовке каждого набора параметров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"1000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<Task> list;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Настройки как у ObjectMapper в Quarkus, меняется только формат
+        mapper = new ObjectMapper(factory(format))
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, Task.class);
+        list = SyntheticTasks.tasks(size, 42);
+        encoded = mapper.writeValueAsBytes(list);
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzip%n", format, size, encoded.length, gzip(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public List<Task> decode() throws Exception {
+        return mapper.readValue(encoded, listType);
+    }
+
+    private static JsonFactory factory(String format) {
+        if ("cbor".equals(format)) {
+            return new CBORFactory();
+        }
+        if ("smile".equals(format)) {
+            return new SmileFactory();
+        }
+        return new JsonFactory();
+    }
+
+    private static int gzip(byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanagement.model.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanagement.benchmarks.SyntheticTasks;
+import com.taskmanagement.model.dto.TaskListResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson-сериализация Task с вложенными User и Category (как отдает REST)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"1", "1000"})
+    int size;
+
+    private ObjectMapper mapper;
+    private Task single;
+    private List<Task> list;
+
+    @Setup
+    public void setUp() {
+        // Та же конфигурация, что у ObjectMapper в Quarkus по умолчанию
+        mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        list = SyntheticTasks.tasks(size, 42);
+        single = list.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws Exception {
+        return mapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    // ?compact=true: пользователи и категории один раз в included
+    @Benchmark
+    public byte[] serializeCompactList() throws Exception {
+        return mapper.writeValueAsBytes(TaskListResponse.of(list));
+    }
+}
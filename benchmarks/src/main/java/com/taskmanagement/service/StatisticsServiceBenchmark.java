@@ -0,0 +1,86 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.benchmarks.SyntheticTasks;
+import com.taskmanagement.model.dto.TaskStatistics;
+import com.taskmanagement.model.dto.UserStatistics;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeBucket;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.TimeEntryRepository;
+import com.taskmanagement.model.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Stream-конвейеры StatisticsService на заранее загруженном списке задач (без БД)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatisticsServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    private StatisticsService statisticsService;
+
+    @Setup
+    public void setUp() {
+        SyntheticTasks.quietLogging();
+        List<Task> tasks = SyntheticTasks.tasks(size, 42);
+        Map<Long, List<Task>> byUser = tasks.stream()
+                .filter(t -> t.assignee != null)
+                .collect(Collectors.groupingBy(t -> t.assignee.id));
+        User user = SyntheticTasks.users(1).get(0);
+
+        statisticsService = new StatisticsService();
+        statisticsService.taskRepository = new TaskRepository() {
+            @Override
+            public List<Task> listAll() {
+                return tasks;
+            }
+
+            @Override
+            public List<Task> findByUser(Long id) {
+                return byUser.getOrDefault(id, List.of());
+            }
+        };
+        statisticsService.userRepository = new UserRepository() {
+            @Override
+            public User findById(Long id) {
+                return user;
+            }
+        };
+        // Недельные итоги времени не входят в замер: пустой результат без БД
+        statisticsService.timeEntryRepository = new TimeEntryRepository() {
+            @Override
+            public List<TimeBucket> findBuckets(Long userId) {
+                return List.of();
+            }
+        };
+    }
+
+    @Benchmark
+    public TaskStatistics getTaskStatistics() {
+        return statisticsService.getTaskStatistics();
+    }
+
+    @Benchmark
+    public Map<TaskPriority, Long> getTasksByPriority() {
+        return statisticsService.getTasksByPriority();
+    }
+
+    @Benchmark
+    public UserStatistics getUserStatistics() {
+        return statisticsService.getUserStatistics(1L);
+    }
+}
@@ -0,0 +1,58 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.benchmarks.SyntheticTasks;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService.filterTasks на синтетических списках от 10k до 10M задач.
+ * Для 10M нужна куча порядка 6 ГБ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TaskServiceFilterBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int size;
+
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        SyntheticTasks.quietLogging();
+        List<Task> tasks = SyntheticTasks.tasks(size, 42);
+
+        taskService = new TaskService();
+        taskService.taskRepository = new TaskRepository() {
+            @Override
+            public List<Task> listAll() {
+                return tasks;
+            }
+        };
+    }
+
+    @Benchmark
+    public List<Task> filterByStatus() {
+        return taskService.filterTasks(TaskStatus.TODO, null, null);
+    }
+
+    @Benchmark
+    public List<Task> filterByUser() {
+        return taskService.filterTasks(null, null, 7L);
+    }
+
+    @Benchmark
+    public List<Task> filterByAll() {
+        return taskService.filterTasks(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 7L);
+    }
+}
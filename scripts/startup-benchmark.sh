@@ -0,0 +1,135 @@
+#!/usr/bin/env bash
+#
+# Сравнение JVM и native режимов на профиле h2: время до первого успешного запроса
+# и RSS процесса после прогрева.
+#
+#   scripts/startup-benchmark.sh [jvm|native|all]
+#
+# Переменные окружения:
+#   SKIP_BUILD=true      - не пересобирать артефакты
+#   RUNS=5               - число запусков каждого режима (берется медиана)
+#   WARMUP_REQUESTS=500  - запросов перед замером RSS
+#   PORT=8080
+#
+# Результат печатается таблицей и сохраняется в target/startup-benchmark.json.
+
+set -euo pipefail
+
+MODE="${1:-all}"
+RUNS="${RUNS:-5}"
+WARMUP_REQUESTS="${WARMUP_REQUESTS:-500}"
+PORT="${PORT:-8080}"
+SKIP_BUILD="${SKIP_BUILD:-false}"
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$ROOT"
+
+MVN="mvn"
+[ -x ./mvnw ] && MVN="./mvnw"
+
+URL="http://localhost:${PORT}/api/tasks"
+JVM_CMD=(java -Dquarkus.http.port="$PORT" -jar target/quarkus-app/quarkus-run.jar)
+NATIVE_BIN="$(ls target/*-runner 2>/dev/null | head -n 1 || true)"
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+build() {
+    [ "$SKIP_BUILD" = "true" ] && return
+    case "$1" in
+        jvm)    "$MVN" -B -q package -Ph2 -Dquarkus.profile=h2 -DskipTests ;;
+        native) "$MVN" -B -q package -Ph2 -Dnative -Dquarkus.profile=h2 -DskipTests
+                NATIVE_BIN="$(ls target/*-runner | head -n 1)" ;;
+    esac
+}
+
+# Один запуск: печатает "<мс до первого ответа 200> <RSS в КБ после прогрева>"
+measure_once() {
+    local started pid first_ms code
+    started="$(now_ms)"
+    "$@" > target/startup-benchmark.log 2>&1 &
+    pid=$!
+
+    first_ms=""
+    for _ in $(seq 1 6000); do
+        code="$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)"
+        if [ "$code" = "200" ]; then
+            first_ms=$(( $(now_ms) - started ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Process exited before serving requests, see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    if [ -z "$first_ms" ]; then
+        kill "$pid" 2>/dev/null || true
+        echo "No successful response within 60s" >&2
+        exit 1
+    fi
+
+    for _ in $(seq 1 "$WARMUP_REQUESTS"); do
+        curl -s -o /dev/null "$URL"
+    done
+    sleep 2
+
+    local rss
+    rss="$(rss_kb "$pid")"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    echo "$first_ms $rss"
+}
+
+run_mode() {
+    local name="$1"; shift
+    local samples=() i
+    for i in $(seq 1 "$RUNS"); do
+        samples+=("$(measure_once "$@")")
+    done
+    local ttfr rss
+    ttfr="$(printf '%s\n' "${samples[@]}" | awk '{ print $1 }' | median)"
+    rss="$(printf '%s\n' "${samples[@]}" | awk '{ print $2 }' | median)"
+    printf '%-8s %12s %14s\n' "$name" "$ttfr" "$(( rss / 1024 ))"
+    RESULTS+=("{\"mode\":\"$name\",\"runs\":$RUNS,\"timeToFirstRequestMs\":$ttfr,\"rssKb\":$rss}")
+}
+
+mkdir -p target
+RESULTS=()
+
+if [ "$MODE" = "jvm" ] || [ "$MODE" = "all" ]; then
+    build jvm
+fi
+if [ "$MODE" = "native" ] || [ "$MODE" = "all" ]; then
+    build native
+fi
+
+printf '%-8s %12s %14s\n' "mode" "ttfr (ms)" "rss (MB)"
+
+if [ "$MODE" = "jvm" ] || [ "$MODE" = "all" ]; then
+    run_mode jvm "${JVM_CMD[@]}"
+fi
+if [ "$MODE" = "native" ] || [ "$MODE" = "all" ]; then
+    if [ -z "$NATIVE_BIN" ]; then
+        echo "Native executable not found in target/, build with -Dnative or unset SKIP_BUILD" >&2
+        exit 1
+    fi
+    run_mode native "$NATIVE_BIN" -Dquarkus.http.port="$PORT"
+fi
+
+(IFS=,; echo "[${RESULTS[*]}]") > target/startup-benchmark.json
+echo "Results written to target/startup-benchmark.json"
@@ -0,0 +1,29 @@
+package com.taskmanagement.audit;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Берет автора изменений из заголовка X-Actor. Аутентификации в приложении нет,
+ * поэтому значение заголовка принимается как есть; без заголовка автор - anonymous.
+ */
+@Provider
+public class ActorFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String ACTOR_HEADER = "X-Actor";
+    public static final String ANONYMOUS = "anonymous";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String actor = requestContext.getHeaderString(ACTOR_HEADER);
+        RequestActor.set(actor != null && !actor.isBlank() ? actor : ANONYMOUS);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        RequestActor.clear();
+    }
+}
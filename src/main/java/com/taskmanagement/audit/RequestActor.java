@@ -0,0 +1,35 @@
+package com.taskmanagement.audit;
+
+/**
+ * Автор изменений в рамках HTTP-запроса (заголовок X-Actor), пишется в журнал task_events.
+ * Как и RequestQueryStats, держится в ThreadLocal: запрос обрабатывается целиком на одном worker-потоке.
+ * Вне HTTP-запроса (планировщик) автор - SYSTEM.
+ */
+public final class RequestActor {
+
+    public static final String SYSTEM = "system";
+    static final int MAX_LENGTH = 100;
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RequestActor() {
+    }
+
+    public static void set(String actor) {
+        if (actor == null || actor.isBlank()) {
+            CURRENT.remove();
+        } else {
+            String trimmed = actor.trim();
+            CURRENT.set(trimmed.length() > MAX_LENGTH ? trimmed.substring(0, MAX_LENGTH) : trimmed);
+        }
+    }
+
+    public static String current() {
+        String actor = CURRENT.get();
+        return actor != null ? actor : SYSTEM;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
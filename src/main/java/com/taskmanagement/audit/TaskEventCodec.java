@@ -0,0 +1,141 @@
+package com.taskmanagement.audit;
+
+import com.taskmanagement.model.dto.TaskStateAsOf;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Компактная двоичная кодировка изменения задачи.
+ * Первый байт - маска измененных полей, дальше только их новые значения в порядке битов:
+ * статус и приоритет - один байт (ordinal + 1), исполнитель и срок - varint (0 означает null).
+ * Типичная смена статуса занимает 2 байта вместо десятков в JSON.
+ * Порядковые номера перечислений сохраняются в журнале, поэтому новые значения добавляются только в конец.
+ */
+public final class TaskEventCodec {
+
+    public static final int STATUS = 1;
+    public static final int PRIORITY = 1 << 1;
+    public static final int ASSIGNEE = 1 << 2;
+    public static final int DUE_DATE = 1 << 3;
+    public static final int ALL = STATUS | PRIORITY | ASSIGNEE | DUE_DATE;
+
+    private TaskEventCodec() {
+    }
+
+    /** Маска полей, изменившихся между снимками; before == null - задача создана, меняются все поля */
+    public static int changes(TaskSnapshot before, TaskSnapshot after) {
+        if (before == null) {
+            return ALL;
+        }
+        int mask = 0;
+        if (before.getStatus() != after.getStatus()) {
+            mask |= STATUS;
+        }
+        if (before.getPriority() != after.getPriority()) {
+            mask |= PRIORITY;
+        }
+        if (!Objects.equals(before.getAssigneeId(), after.getAssigneeId())) {
+            mask |= ASSIGNEE;
+        }
+        if (!Objects.equals(before.getDueDate(), after.getDueDate())) {
+            mask |= DUE_DATE;
+        }
+        return mask;
+    }
+
+    public static byte[] encode(int mask, TaskStatus status, TaskPriority priority, Long assigneeId, LocalDate dueDate) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(12);
+        out.write(mask);
+        if ((mask & STATUS) != 0) {
+            out.write(status != null ? status.ordinal() + 1 : 0);
+        }
+        if ((mask & PRIORITY) != 0) {
+            out.write(priority != null ? priority.ordinal() + 1 : 0);
+        }
+        if ((mask & ASSIGNEE) != 0) {
+            writeVarLong(out, assigneeId != null ? assigneeId + 1 : 0);
+        }
+        if ((mask & DUE_DATE) != 0) {
+            // zigzag: даты до 1970 года тоже кодируются коротко
+            long day = dueDate != null ? dueDate.toEpochDay() : 0;
+            writeVarLong(out, dueDate != null ? ((day << 1) ^ (day >> 63)) + 1 : 0);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(TaskStateAsOf state) {
+        return encode(ALL, state.getStatus(), state.getPriority(), state.getAssigneeId(), state.getDueDate());
+    }
+
+    /** Применяет закодированные значения к состоянию, возвращает маску примененных полей */
+    public static int apply(byte[] payload, TaskStateAsOf state) {
+        int[] position = {1};
+        int mask = payload[0] & 0xFF;
+        if ((mask & STATUS) != 0) {
+            int code = payload[position[0]++];
+            state.setStatus(code != 0 ? TaskStatus.values()[code - 1] : null);
+        }
+        if ((mask & PRIORITY) != 0) {
+            int code = payload[position[0]++];
+            state.setPriority(code != 0 ? TaskPriority.values()[code - 1] : null);
+        }
+        if ((mask & ASSIGNEE) != 0) {
+            long value = readVarLong(payload, position);
+            state.setAssigneeId(value != 0 ? value - 1 : null);
+        }
+        if ((mask & DUE_DATE) != 0) {
+            long value = readVarLong(payload, position);
+            if (value == 0) {
+                state.setDueDate(null);
+            } else {
+                long zigzag = value - 1;
+                state.setDueDate(LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1)));
+            }
+        }
+        return mask;
+    }
+
+    public static List<String> fieldNames(int mask) {
+        List<String> names = new ArrayList<>(4);
+        if ((mask & STATUS) != 0) {
+            names.add("status");
+        }
+        if ((mask & PRIORITY) != 0) {
+            names.add("priority");
+        }
+        if ((mask & ASSIGNEE) != 0) {
+            names.add("assigneeId");
+        }
+        if ((mask & DUE_DATE) != 0) {
+            names.add("dueDate");
+        }
+        return names;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] payload, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = payload[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanagement.audit;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * DDL журнала task_events. В Postgres таблица секционирована по месяцам (RANGE по occurred_at):
+ * секции создаются заранее, а старые удаляются целиком через DROP TABLE без построчного DELETE.
+ * В H2 (тесты, профиль h2) секционирования нет, устаревшие записи удаляются обычным DELETE.
+ */
+@ApplicationScoped
+public class TaskEventSchema {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskEventSchema.class);
+    private static final String PARTITION_PREFIX = "task_events_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // Ключ advisory-блокировки сопровождения журнала (ASCII "task_evt")
+    private static final long MAINTENANCE_LOCK = 0x7461736b5f657674L;
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @ConfigProperty(name = "taskmanagement.audit.partitions-ahead", defaultValue = "2")
+    int partitionsAhead;
+
+    // Hibernate создает свои таблицы раньше StartupEvent; task_events ему не принадлежит
+    void onStart(@Observes StartupEvent event) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            createTable();
+            ensurePartitions(YearMonth.now());
+        });
+    }
+
+    boolean isPartitioned() {
+        return "postgresql".equals(dbKind);
+    }
+
+    void createTable() {
+        if (isPartitioned()) {
+            execute("create table if not exists task_events ("
+                    + " id bigserial,"
+                    + " task_id bigint not null,"
+                    + " occurred_at timestamp(6) not null,"
+                    + " event_type smallint not null,"
+                    + " actor varchar(" + RequestActor.MAX_LENGTH + "),"
+                    + " payload bytea not null,"
+                    // ключ секционированной таблицы обязан включать столбец секционирования
+                    + " primary key (occurred_at, id)"
+                    + ") partition by range (occurred_at)");
+        } else {
+            execute("create table if not exists task_events ("
+                    + " id bigint auto_increment primary key,"
+                    + " task_id bigint not null,"
+                    + " occurred_at timestamp(6) not null,"
+                    + " event_type smallint not null,"
+                    + " actor varchar(" + RequestActor.MAX_LENGTH + "),"
+                    + " payload varbinary(64) not null)");
+        }
+        execute("create index if not exists idx_task_events_task on task_events (task_id, occurred_at)");
+        // Поиск последнего снимка при планировании следующих
+        execute("create index if not exists idx_task_events_type on task_events (event_type, occurred_at)");
+    }
+
+    /** Секции с текущего месяца на partitionsAhead месяцев вперед */
+    void ensurePartitions(YearMonth current) {
+        if (!isPartitioned()) {
+            return;
+        }
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            execute("create table if not exists " + PARTITION_PREFIX + month.format(PARTITION_SUFFIX)
+                    + " partition of task_events for values from ('" + month.atDay(1) + "')"
+                    + " to ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    /**
+     * Блокировка сопровождения журнала до конца текущей транзакции: задания хранения и снимков запускаются на каждом
+     * экземпляре, а выполняются только на получившем блокировку. false - уже выполняется на другом экземпляре.
+     * В H2 экземпляр один, блокировка не нужна.
+     */
+    boolean tryLockMaintenance() {
+        if (!isPartitioned()) {
+            return true;
+        }
+        return (Boolean) em.createNativeQuery("select pg_try_advisory_xact_lock(" + MAINTENANCE_LOCK + ")")
+                .getSingleResult();
+    }
+
+    /** Удаляет записи раньше boundary (начало месяца): в Postgres секциями целиком. Возвращает число удаленных секций или строк */
+    int dropBefore(LocalDateTime boundary) {
+        if (!isPartitioned()) {
+            return em.createNativeQuery("delete from task_events where occurred_at < :boundary")
+                    .setParameter("boundary", boundary)
+                    .executeUpdate();
+        }
+        @SuppressWarnings("unchecked")
+        List<String> partitions = em.createNativeQuery("select c.relname from pg_inherits i"
+                        + " join pg_class c on c.oid = i.inhrelid"
+                        + " join pg_class p on p.oid = i.inhparent"
+                        + " where p.relname = 'task_events'")
+                .getResultList();
+        int dropped = 0;
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(boundary)) {
+                execute("drop table if exists " + partition);
+                LOG.info("Dropped task_events partition {}", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private void execute(String sql) {
+        em.createNativeQuery(sql).executeUpdate();
+    }
+}
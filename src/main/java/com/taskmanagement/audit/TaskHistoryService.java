@@ -0,0 +1,208 @@
+package com.taskmanagement.audit;
+
+import com.taskmanagement.model.dto.TaskEventEntry;
+import com.taskmanagement.model.dto.TaskStateAsOf;
+import com.taskmanagement.model.enums.TaskEventType;
+import com.taskmanagement.model.event.StoredTaskEvent;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import com.taskmanagement.model.repository.TaskEventRepository;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Журнал изменений задач: кто, когда и что поменял (статус, приоритет, исполнитель, срок).
+ * Запись идет в той же транзакции, что и изменение задачи, поэтому журнал не расходится с данными.
+ * Состояние на момент времени восстанавливается от ближайшего снимка (или создания) с проигрыванием
+ * последующих изменений; снимки пишутся периодически для задач, накопивших много изменений.
+ */
+@ApplicationScoped
+public class TaskHistoryService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskHistoryService.class);
+
+    @Inject
+    TaskEventRepository eventRepository;
+
+    @Inject
+    TaskEventSchema schema;
+
+    // Снимок пишется, если после предыдущей опорной точки накопилось не меньше изменений
+    @ConfigProperty(name = "taskmanagement.audit.snapshot-min-events", defaultValue = "10")
+    int snapshotMinEvents;
+
+    // Запас на транзакции, которые еще не закоммичены: снимок строится только по устоявшейся части журнала
+    @ConfigProperty(name = "taskmanagement.audit.snapshot-lag", defaultValue = "PT1M")
+    Duration snapshotLag;
+
+    @ConfigProperty(name = "taskmanagement.audit.retention-months", defaultValue = "12")
+    int retentionMonths;
+
+    // Синхронный наблюдатель: выполняется внутри транзакции изменения
+    void onTaskChanged(@Observes TaskChangedEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        LocalDateTime now = LocalDateTime.now();
+        if (after == null) {
+            eventRepository.append(before.getId(), now, TaskEventType.DELETED, RequestActor.current(), new byte[]{0});
+            return;
+        }
+        int mask = TaskEventCodec.changes(before, after);
+        if (mask == 0) {
+            return; // отслеживаемые поля не менялись
+        }
+        byte[] payload = TaskEventCodec.encode(mask, after.getStatus(), after.getPriority(),
+                after.getAssigneeId(), after.getDueDate());
+        eventRepository.append(after.getId(), now,
+                before == null ? TaskEventType.CREATED : TaskEventType.UPDATED, RequestActor.current(), payload);
+    }
+
+    // Пакет экземпляров повторяющихся задач пишется в журнал одним батчем
+    void onTasksGenerated(@Observes TasksGeneratedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StoredTaskEvent> events = new ArrayList<>(event.getTasks().size());
+        for (TaskSnapshot task : event.getTasks()) {
+            byte[] payload = TaskEventCodec.encode(TaskEventCodec.ALL, task.getStatus(), task.getPriority(),
+                    task.getAssigneeId(), task.getDueDate());
+            events.add(new StoredTaskEvent(0, task.getId(), now, TaskEventType.CREATED, RequestActor.SYSTEM, payload));
+        }
+        eventRepository.appendAll(events);
+    }
+
+    /** Состояние задачи на момент at; null - по задаче нет записей до этого момента */
+    public TaskStateAsOf getStateAsOf(long taskId, LocalDateTime at) {
+        TaskStateAsOf state = new TaskStateAsOf();
+        int applied = replay(taskId, at, state);
+        return applied < 0 ? null : state;
+    }
+
+    /** Все изменения задачи по порядку, снимки не включаются */
+    public List<TaskEventEntry> getHistory(long taskId) {
+        List<StoredTaskEvent> events = eventRepository.findChanges(taskId, null, 0, LocalDateTime.now().plusYears(100));
+        List<TaskEventEntry> entries = new ArrayList<>(events.size());
+        for (StoredTaskEvent event : events) {
+            TaskStateAsOf values = new TaskStateAsOf();
+            int mask = event.getType() == TaskEventType.DELETED ? 0 : TaskEventCodec.apply(event.getPayload(), values);
+            TaskEventEntry entry = new TaskEventEntry();
+            entry.setId(event.getId());
+            entry.setOccurredAt(event.getOccurredAt());
+            entry.setType(event.getType());
+            entry.setActor(event.getActor());
+            entry.setChanged(TaskEventCodec.fieldNames(mask));
+            entry.setStatus(values.getStatus());
+            entry.setPriority(values.getPriority());
+            entry.setAssigneeId(values.getAssigneeId());
+            entry.setDueDate(values.getDueDate());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Scheduled(every = "${taskmanagement.audit.snapshot-interval:1h}", delayed = "${taskmanagement.audit.snapshot-interval:1h}")
+    void scheduledSnapshots() {
+        writeSnapshots();
+    }
+
+    /**
+     * Снимки задач, изменившихся с прошлого прогона и накопивших snapshotMinEvents изменений; возвращает число снимков.
+     * Задание запускается на каждом экземпляре, а выполняется только на получившем блокировку сопровождения.
+     * Прошлый прогон определяется по последнему снимку в журнале (не раньше чем за сутки), а не по памяти экземпляра.
+     */
+    @Transactional
+    public int writeSnapshots() {
+        if (!schema.tryLockMaintenance()) {
+            LOG.info("Task history maintenance is already running on another instance");
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(snapshotLag);
+        LocalDateTime floor = cutoff.minusDays(1);
+        LocalDateTime last = eventRepository.findLastSnapshotAt(floor);
+        LocalDateTime from = last != null ? last : floor;
+        int written = 0;
+        for (Long taskId : eventRepository.findChangedTasks(from, cutoff)) {
+            TaskStateAsOf state = new TaskStateAsOf();
+            if (replay(taskId, cutoff, state) >= snapshotMinEvents && state.isExists()) {
+                eventRepository.append(taskId, cutoff, TaskEventType.SNAPSHOT, RequestActor.SYSTEM, TaskEventCodec.encode(state));
+                written++;
+            }
+        }
+        if (written > 0) {
+            LOG.info("Wrote {} task history snapshots", written);
+        }
+        return written;
+    }
+
+    /**
+     * Удаление журнала старше retentionMonths. Перед удалением задачам, у которых опорная точка
+     * осталась только в удаляемом периоде, пишется снимок на границу, чтобы их состояние восстанавливалось и дальше.
+     */
+    @Transactional
+    @Scheduled(cron = "${taskmanagement.audit.retention-cron:0 30 3 * * ?}")
+    public void applyRetention() {
+        if (!schema.tryLockMaintenance()) {
+            LOG.info("Task history retention is already running on another instance");
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        schema.ensurePartitions(current);
+        LocalDateTime boundary = current.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+
+        int carried = 0;
+        for (Long taskId : eventRepository.findTasksWithoutBaseSince(boundary)) {
+            TaskStateAsOf state = new TaskStateAsOf();
+            if (replay(taskId, boundary, state) >= 0 && state.isExists()) {
+                eventRepository.append(taskId, boundary, TaskEventType.SNAPSHOT, RequestActor.SYSTEM, TaskEventCodec.encode(state));
+                carried++;
+            }
+        }
+        int dropped = schema.dropBefore(boundary);
+        LOG.info("Task history retention: {} snapshots carried over, {} removed before {}", carried, dropped, boundary);
+    }
+
+    /** Восстанавливает состояние; возвращает число проигранных после опорной точки изменений или -1, если записей нет */
+    private int replay(long taskId, LocalDateTime at, TaskStateAsOf state) {
+        state.setTaskId(taskId);
+        state.setAsOf(at);
+        StoredTaskEvent base = eventRepository.findBase(taskId, at);
+        if (base != null) {
+            apply(base, state);
+        }
+        List<StoredTaskEvent> changes = base != null
+                ? eventRepository.findChanges(taskId, base.getOccurredAt(), base.getId(), at)
+                : eventRepository.findChanges(taskId, null, 0, at);
+        for (StoredTaskEvent change : changes) {
+            apply(change, state);
+        }
+        if (base == null && changes.isEmpty()) {
+            return -1;
+        }
+        return changes.size();
+    }
+
+    private static void apply(StoredTaskEvent event, TaskStateAsOf state) {
+        if (event.getType() == TaskEventType.DELETED) {
+            state.setExists(false);
+        } else {
+            TaskEventCodec.apply(event.getPayload(), state);
+            state.setExists(true);
+        }
+        // Снимок - служебная опорная точка, автором последнего изменения он не считается
+        if (event.getType() != TaskEventType.SNAPSHOT) {
+            state.setChangedAt(event.getOccurredAt());
+            state.setChangedBy(event.getActor());
+        }
+    }
+}
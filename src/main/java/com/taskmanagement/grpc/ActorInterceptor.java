@@ -0,0 +1,36 @@
+package com.taskmanagement.grpc;
+
+import com.taskmanagement.audit.ActorFilter;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.quarkus.grpc.GlobalInterceptor;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Locale;
+
+/**
+ * Автор изменений для gRPC-вызовов: метаданные x-actor, как заголовок X-Actor у REST (ActorFilter).
+ * Вызов обрабатывается на разных потоках, поэтому значение кладется в gRPC Context, а сервис
+ * переносит его в RequestActor на время работы с БД.
+ */
+@ApplicationScoped
+@GlobalInterceptor
+public class ActorInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> ACTOR_KEY =
+            Metadata.Key.of(ActorFilter.ACTOR_HEADER.toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+    static final Context.Key<String> ACTOR = Context.key("actor");
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        String actor = headers.get(ACTOR_KEY);
+        Context context = Context.current()
+                .withValue(ACTOR, actor != null && !actor.isBlank() ? actor : ActorFilter.ANONYMOUS);
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
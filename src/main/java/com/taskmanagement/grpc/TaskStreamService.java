@@ -0,0 +1,232 @@
+package com.taskmanagement.grpc;
+
+import com.taskmanagement.audit.RequestActor;
+import com.taskmanagement.model.dto.TaskBatchItem;
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.service.TaskService;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * gRPC-сервис массового импорта и выгрузки задач. Бизнес-правила те же, что у REST: создание идет
+ * через TaskService.createTasks, пакетами по batch-size запросов в одной транзакции. Потоки сдерживаются
+ * по спросу: следующий пакет читается у клиента только после коммита предыдущего, а следующая страница
+ * выгрузки выбирается, когда клиент готов принять данные. Обращения к БД выполняются в рабочих потоках,
+ * а не в event loop. Автор изменений берется из метаданных x-actor (ActorInterceptor).
+ */
+@GrpcService
+public class TaskStreamService implements TaskStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskStreamService.class);
+
+    @Inject
+    TaskService taskService;
+
+    @ConfigProperty(name = "taskmanagement.grpc.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "taskmanagement.grpc.page-size", defaultValue = "500")
+    int pageSize;
+
+    @Override
+    public Uni<CreateTasksReply> createTasks(Multi<CreateTaskRequest> requests) {
+        // Context вызова доступен только здесь, пакеты обрабатываются на рабочих потоках
+        String actor = ActorInterceptor.ACTOR.get();
+        return requests
+                .group().intoLists().of(batchSize)
+                .onItem().transformToUniAndConcatenate(batch -> Uni.createFrom().item(() -> createBatch(batch, actor))
+                        .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()))
+                .collect().in(CreateTasksReply::newBuilder, TaskStreamService::addResults)
+                .onItem().transform(reply -> {
+                    LOG.info("gRPC import: {} received, {} created", reply.getReceived(), reply.getCreated());
+                    return reply.build();
+                });
+    }
+
+    @Override
+    public Multi<TaskMessage> listTasks(ListTasksRequest request) {
+        TaskStatus status;
+        TaskPriority priority;
+        try {
+            status = toStatus(request.getStatus());
+            priority = toPriority(request.getPriority());
+        } catch (IllegalArgumentException e) {
+            return Multi.createFrom().failure(io.grpc.Status.INVALID_ARGUMENT
+                    .withDescription("Unknown status or priority").asRuntimeException());
+        }
+        Long userId = request.hasAssigneeId() ? request.getAssigneeId() : null;
+        // Keyset по id: каждая страница - отдельная короткая транзакция, выгрузка не держит курсор открытым
+        return Multi.createBy().repeating()
+                .uni(() -> new AtomicReference<>(request.hasAfterId() ? request.getAfterId() : null),
+                        lastId -> Uni.createFrom().item(() -> nextPage(lastId, status, priority, userId))
+                                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()))
+                .whilst(page -> page.size() == pageSize)
+                .onItem().disjoint();
+    }
+
+    private List<TaskBatchItem> createBatch(List<CreateTaskRequest> batch, String actor) {
+        // Сообщения, которые не переводятся в TaskCreateRequest, отклоняются без обращения к сервису
+        List<TaskBatchItem> results = new ArrayList<>(batch.size());
+        List<TaskCreateRequest> valid = new ArrayList<>(batch.size());
+        for (CreateTaskRequest message : batch) {
+            try {
+                valid.add(toRequest(message));
+                results.add(null);
+            } catch (DateTimeParseException e) {
+                results.add(new TaskBatchItem(null, "Invalid due date: " + message.getDueDate()));
+            } catch (IllegalArgumentException e) {
+                results.add(new TaskBatchItem(null, "Unknown priority: " + message.getPriorityValue()));
+            }
+        }
+        List<TaskBatchItem> created;
+        RequestActor.set(actor);
+        try {
+            created = valid.isEmpty() ? List.of() : createAll(valid);
+        } finally {
+            RequestActor.clear();
+        }
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, created.get(next++));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Пакет в одной транзакции. Ошибку записи (ограничение БД, длина столбца) заранее не проверить,
+     * и она откатывает весь пакет; тогда запросы пакета повторяются по одному в своих транзакциях,
+     * чтобы отказ получил только виновный запрос, а не весь пакет и не весь поток.
+     */
+    private List<TaskBatchItem> createAll(List<TaskCreateRequest> requests) {
+        try {
+            return taskService.createTasks(requests);
+        } catch (RuntimeException e) {
+            if (requests.size() == 1) {
+                LOG.warn("gRPC import: task rejected by the database", e);
+                return List.of(new TaskBatchItem(null, "Task could not be saved"));
+            }
+            LOG.warn("gRPC import: batch of {} rolled back, retrying one by one: {}", requests.size(), e.getMessage());
+            List<TaskBatchItem> results = new ArrayList<>(requests.size());
+            for (TaskCreateRequest request : requests) {
+                results.addAll(createAll(List.of(request)));
+            }
+            return results;
+        }
+    }
+
+    private List<TaskMessage> nextPage(AtomicReference<Long> lastId, TaskStatus status, TaskPriority priority,
+                                       Long userId) {
+        List<Task> tasks = taskService.getTasksAfter(lastId.get(), status, priority, userId, pageSize);
+        List<TaskMessage> page = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            page.add(toMessage(task));
+        }
+        if (!tasks.isEmpty()) {
+            lastId.set(tasks.get(tasks.size() - 1).id);
+        }
+        return page;
+    }
+
+    private static void addResults(CreateTasksReply.Builder reply, List<TaskBatchItem> results) {
+        for (TaskBatchItem result : results) {
+            long index = reply.getReceived();
+            reply.setReceived(index + 1);
+            if (result.getTaskId() != null) {
+                reply.setCreated(reply.getCreated() + 1).addTaskIds(result.getTaskId());
+            } else {
+                reply.addRejected(Rejection.newBuilder().setIndex(index).setMessage(String.valueOf(result.getError())));
+            }
+        }
+    }
+
+    static TaskCreateRequest toRequest(CreateTaskRequest message) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(message.getTitle());
+        request.setPriority(toPriority(message.getPriority()));
+        request.setAutoAssign(message.getAutoAssign());
+        if (message.hasDescription()) {
+            request.setDescription(message.getDescription());
+        }
+        if (message.hasDueDate()) {
+            request.setDueDate(LocalDate.parse(message.getDueDate()));
+        }
+        if (message.hasAssigneeId()) {
+            request.setAssigneeId(message.getAssigneeId());
+        }
+        if (message.hasCategoryId()) {
+            request.setCategoryId(message.getCategoryId());
+        }
+        if (message.hasParentId()) {
+            request.setParentId(message.getParentId());
+        }
+        if (message.hasEstimatedHours()) {
+            request.setEstimatedHours(message.getEstimatedHours());
+        }
+        if (message.getTagsCount() > 0) {
+            request.setTags(new ArrayList<>(message.getTagsList()));
+        }
+        return request;
+    }
+
+    static TaskMessage toMessage(Task task) {
+        TaskMessage.Builder message = TaskMessage.newBuilder()
+                .setId(task.id)
+                .setTitle(task.title)
+                .setStatus(Status.valueOf(task.status.name()))
+                .setPriority(Priority.valueOf(task.priority.name()));
+        if (task.description != null) {
+            message.setDescription(task.description);
+        }
+        if (task.assignee != null) {
+            message.setAssigneeId(task.assignee.id);
+        }
+        if (task.category != null) {
+            message.setCategoryId(task.category.id);
+        }
+        if (task.dueDate != null) {
+            message.setDueDate(task.dueDate.toString());
+        }
+        if (task.estimatedHours != null) {
+            message.setEstimatedHours(task.estimatedHours);
+        }
+        if (task.actualHours != null) {
+            message.setActualHours(task.actualHours);
+        }
+        if (task.parentId != null) {
+            message.setParentId(task.parentId);
+        }
+        if (task.createdAt != null) {
+            message.setCreatedAt(task.createdAt.toString());
+        }
+        if (task.updatedAt != null) {
+            message.setUpdatedAt(task.updatedAt.toString());
+        }
+        return message.build();
+    }
+
+    // UNSPECIFIED - фильтр не задан; неизвестное клиенту значение (UNRECOGNIZED) дает IllegalArgumentException
+    private static TaskStatus toStatus(Status status) {
+        return status == Status.STATUS_UNSPECIFIED ? null : TaskStatus.valueOf(status.name());
+    }
+
+    private static TaskPriority toPriority(Priority priority) {
+        return priority == Priority.PRIORITY_UNSPECIFIED ? null : TaskPriority.valueOf(priority.name());
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskmanagement.logging;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+/**
+ * Асинхронный обработчик логов на кольцевом буфере фиксированного размера.
+ * Вызывающий поток только кладет запись в очередь; форматирование и вывод выполняет отдельный поток.
+ * При переполнении записи ниже WARNING отбрасываются и учитываются в счетчике,
+ * WARNING и выше ждут свободного места, чтобы не терять ошибки.
+ */
+public class AsyncLogHandler extends ExtHandler {
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final ArrayBlockingQueue<ExtLogRecord> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncLogHandler(int capacity, Handler[] delegates) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        setHandlers(delegates);
+        // Дочерние обработчики принадлежат Quarkus, при снятии обертки они должны остаться открытыми
+        setCloseChildren(false);
+
+        this.writer = new Thread(this::drain, "async-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    protected void doPublish(ExtLogRecord record) {
+        // MDC (taskId, userId) снимается в потоке вызова, сообщение форматируется уже в потоке записи
+        if (isCallerCalculationRequired()) {
+            record.copyAll();
+        } else {
+            record.disableCallerCalculation();
+            record.copyMdc();
+        }
+
+        if (queue.offer(record)) {
+            return;
+        }
+        if (record.getLevel().intValue() < Level.WARNING.intValue()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<ExtLogRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                ExtLogRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_BATCH - 1);
+                for (ExtLogRecord record : batch) {
+                    publishToNestedHandlers(record);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                reportError("Failed to write log record", e, java.util.logging.ErrorManager.WRITE_FAILURE);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Останавливает поток записи, предварительно дописав все накопленные записи
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        super.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.taskmanagement.logging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.logging.Handler;
+
+/**
+ * Подключает AsyncLogHandler поверх обработчиков корневого логгера (консоль/JSON, настроенные Quarkus)
+ * и публикует число отброшенных событий в метрику log.events.dropped.
+ */
+@ApplicationScoped
+public class AsyncLoggingSetup {
+
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(AsyncLoggingSetup.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "taskmanagement.logging.async.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "taskmanagement.logging.async.queue-length", defaultValue = "8192")
+    int queueLength;
+
+    private AsyncLogHandler handler;
+    private long reportedDropped;
+
+    void onStart(@Observes @Priority(1) StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Logger root = LogContext.getLogContext().getLogger("");
+        handler = new AsyncLogHandler(queueLength, root.getHandlers());
+        root.setHandlers(new Handler[]{handler});
+
+        Gauge.builder("log.events.dropped", handler, AsyncLogHandler::getDroppedCount)
+                .description("Log events dropped because the async log queue was full")
+                .register(registry);
+        Gauge.builder("log.queue.size", handler, AsyncLogHandler::getQueueSize)
+                .register(registry);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (handler == null) {
+            return;
+        }
+        reportDropped();
+        // Возвращаем исходные обработчики и дописываем очередь
+        Logger root = LogContext.getLogContext().getLogger("");
+        root.compareAndSetHandlers(new Handler[]{handler}, handler.getHandlers());
+        handler.close();
+        handler = null;
+    }
+
+    @Scheduled(every = "${taskmanagement.logging.async.report-interval:60s}")
+    void reportDropped() {
+        if (handler == null) {
+            return;
+        }
+        long dropped = handler.getDroppedCount();
+        if (dropped > reportedDropped) {
+            LOG.warn("Async logging dropped {} events ({} in total)", dropped - reportedDropped, dropped);
+            reportedDropped = dropped;
+        }
+    }
+
+    public long getDroppedCount() {
+        return handler != null ? handler.getDroppedCount() : 0;
+    }
+}
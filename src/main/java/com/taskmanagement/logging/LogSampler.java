@@ -0,0 +1,27 @@
+package com.taskmanagement.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сэмплирование построчных логов в циклах: пропускает в лог каждую N-ю запись
+ */
+public final class LogSampler {
+
+    private final int every;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + every);
+        }
+        this.every = every;
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % every == 0;
+    }
+
+    public int getEvery() {
+        return every;
+    }
+}
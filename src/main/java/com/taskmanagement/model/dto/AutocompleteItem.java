@@ -0,0 +1,15 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Вариант автодополнения: label - что показать в списке, detail - уточнение (email пользователя) или null */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class AutocompleteItem {
+    private long id;
+    private String label;
+    private String detail;
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** Варианты автодополнения по типам; типы, которые не запрашивались, приходят пустыми */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class AutocompleteResponse {
+    private List<AutocompleteItem> users;
+    private List<AutocompleteItem> categories;
+    private List<AutocompleteItem> tasks;
+}
@@ -0,0 +1,24 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/** Карточка задачи на доске: только поля, нужные для отображения колонки */
+@RegisterForReflection
+@Getter
+@Setter
+@AllArgsConstructor
+public class BoardCard {
+    private long id;
+    private String title;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private Long assigneeId;
+    private Long categoryId;
+    private Integer estimatedHours;
+}
@@ -0,0 +1,20 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/** Колонка доски: total - все задачи в статусе, tasks - первые из них по приоритету и сроку */
+@RegisterForReflection
+@Getter
+@Setter
+@AllArgsConstructor
+public class BoardColumn {
+    private TaskStatus status;
+    private long total;
+    private List<BoardCard> tasks;
+}
@@ -0,0 +1,19 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/** День календаря: total - все задачи со сроком в этот день, open - еще не закрытые (не DONE и не CANCELLED) */
+@RegisterForReflection
+@Getter
+@Setter
+@AllArgsConstructor
+public class CalendarDay {
+    private LocalDate date;
+    private long total;
+    private long open;
+}
@@ -0,0 +1,66 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Задача в компактном ответе: те же поля, что у Task в JSON, но исполнитель и категория заданы только id,
+ * сами объекты лежат один раз в TaskListResponse.included
+ */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class CompactTask {
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private Long assigneeId;
+    private Long categoryId;
+    private LocalDate dueDate;
+    private LocalDateTime completedAt;
+    private Integer estimatedHours;
+    private Integer actualHours;
+    private Integer loggedMinutes;
+    private Long parentId;
+    private Long templateId;
+    private LocalDate occurrenceDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private boolean overdue;
+    private boolean urgent;
+    private long daysUntilDue;
+
+    // today передается снаружи, чтобы не брать дату заново на каждую задачу списка
+    public static CompactTask of(Task task, LocalDate today) {
+        return new CompactTask(
+                task.id,
+                task.title,
+                task.description,
+                task.status,
+                task.priority,
+                task.assignee != null ? task.assignee.id : null,
+                task.category != null ? task.category.id : null,
+                task.dueDate,
+                task.completedAt,
+                task.estimatedHours,
+                task.actualHours,
+                task.loggedMinutes,
+                task.parentId,
+                task.templateId,
+                task.occurrenceDate,
+                task.createdAt,
+                task.updatedAt,
+                task.isOverdue(today),
+                task.isUrgent(today),
+                task.getDaysUntilDue(today));
+    }
+}
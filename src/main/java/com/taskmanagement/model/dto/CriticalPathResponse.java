@@ -0,0 +1,16 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** Критический путь до задачи: цепочка от первой блокирующей задачи до самой задачи */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class CriticalPathResponse {
+    private List<Long> taskIds;
+    private long totalHours;
+}
@@ -0,0 +1,34 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.ValidationException;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Тело POST .../_mget: {"ids": [1, 2, 3]} */
+@RegisterForReflection
+@Getter
+@Setter
+public class IdsRequest {
+    private List<Long> ids;
+
+    /** Список id из параметра вида "1,2,3" */
+    public static List<Long> parse(String csv) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : csv.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.parseLong(trimmed));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Invalid id: " + trimmed);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.validation.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/** Ответ multi-get: найденные объекты в порядке запроса и id, которых нет */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class MultiGetResponse<T> {
+
+    /** Больше id за один запрос не принимается */
+    public static final int MAX_IDS = 500;
+
+    private List<T> items;
+    private List<Long> missing;
+
+    /** Запрошенные id без повторов в исходном порядке; пустой список и больше MAX_IDS id не принимаются */
+    public static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.contains(null)) {
+            throw new ValidationException("ids are required");
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_IDS) {
+            throw new ValidationException("At most " + MAX_IDS + " ids per request");
+        }
+        return distinct;
+    }
+
+    /** loaded - результат загрузки по ids в том же порядке, null на месте отсутствующих */
+    public static <T> MultiGetResponse<T> of(List<Long> ids, List<T> loaded) {
+        List<T> items = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            T item = loaded.get(i);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(ids.get(i));
+            }
+        }
+        return new MultiGetResponse<>(items, missing);
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/** Страница результатов: total - число совпадений по всем страницам */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private long total;
+}
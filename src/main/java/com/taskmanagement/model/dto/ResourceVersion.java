@@ -0,0 +1,30 @@
+package com.taskmanagement.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Версия данных для условного GET: value меняется при любом изменении ответа, из нее строится ETag.
+ * lastModified - только там, где время изменения надежно (у списков удаление его не двигает), иначе null.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    private String value;
+    private LocalDateTime lastModified;
+
+    /**
+     * Версия ответа, который зависит от текущей даты (просрочка, срочность, дни до срока меняются в полночь
+     * без изменения данных): к value добавляется дата, lastModified - не раньше начала дня.
+     */
+    public static ResourceVersion asOf(LocalDate today, String value, LocalDateTime lastModified) {
+        LocalDateTime midnight = today.atStartOfDay();
+        if (lastModified != null && lastModified.isBefore(midnight)) {
+            lastModified = midnight;
+        }
+        return new ResourceVersion(value + ":" + today, lastModified);
+    }
+}
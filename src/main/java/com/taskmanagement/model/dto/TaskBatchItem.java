@@ -0,0 +1,14 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Результат одного запроса пакетного создания: id созданной задачи или причина отказа */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class TaskBatchItem {
+    private Long taskId;
+    private String error;
+}
@@ -1,11 +1,14 @@
 package com.taskmanagement.model.dto;
 
 import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.util.List;
 
+@RegisterForReflection
 @Getter
 @Setter
 public class TaskCreateRequest {
@@ -15,5 +18,10 @@ public class TaskCreateRequest {
     private LocalDate dueDate;
     private Long assigneeId;
     private Long categoryId;
+    private Long parentId;
     private Integer estimatedHours;
+    // Назначить на наименее загруженного пользователя, если assigneeId не указан
+    private Boolean autoAssign;
+    // Имена меток, недостающие создаются
+    private List<String> tags;
 }
@@ -0,0 +1,28 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.enums.TaskEventType;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Запись истории задачи: кто, когда и какие поля изменил (новые значения) */
+@RegisterForReflection
+@Getter
+@Setter
+public class TaskEventEntry {
+    private long id;
+    private LocalDateTime occurredAt;
+    private TaskEventType type;
+    private String actor;
+    private List<String> changed;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private Long assigneeId;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,51 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.User;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компактный список задач (?compact=true): задачи ссылаются на исполнителя и категорию по id,
+ * а каждый пользователь и категория попадают в included один раз, сколько бы задач на них ни ссылалось
+ */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class TaskListResponse {
+    private List<CompactTask> tasks;
+    private Included included;
+
+    @RegisterForReflection
+    @Getter
+    @AllArgsConstructor
+    public static class Included {
+        private Map<Long, User> users;
+        private Map<Long, Category> categories;
+    }
+
+    public static TaskListResponse of(List<Task> tasks) {
+        LocalDate today = LocalDate.now();
+        List<CompactTask> compact = new ArrayList<>(tasks.size());
+        Map<Long, User> users = new LinkedHashMap<>();
+        Map<Long, Category> categories = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            compact.add(CompactTask.of(task, today));
+            if (task.assignee != null) {
+                users.putIfAbsent(task.assignee.id, task.assignee);
+            }
+            if (task.category != null) {
+                categories.putIfAbsent(task.category.id, task.category);
+            }
+        }
+        return new TaskListResponse(compact, new Included(users, categories));
+    }
+}
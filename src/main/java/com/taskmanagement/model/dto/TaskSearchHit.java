@@ -0,0 +1,20 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.entity.Task;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Результат полнотекстового поиска: задача, ранг и подсветка совпадений.
+ * title и snippet - HTML-экранированный текст, найденные слова обернуты в &lt;em&gt;
+ */
+@RegisterForReflection
+@Getter
+@AllArgsConstructor
+public class TaskSearchHit {
+    private Task task;
+    private double score;
+    private String title;
+    private String snippet;
+}
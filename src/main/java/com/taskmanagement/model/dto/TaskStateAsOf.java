@@ -0,0 +1,27 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Состояние задачи на момент asOf, восстановленное из журнала изменений */
+@RegisterForReflection
+@Getter
+@Setter
+public class TaskStateAsOf {
+    private Long taskId;
+    private LocalDateTime asOf;
+    private boolean exists;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private Long assigneeId;
+    private LocalDate dueDate;
+    // Последнее изменение до asOf
+    private LocalDateTime changedAt;
+    private String changedBy;
+}
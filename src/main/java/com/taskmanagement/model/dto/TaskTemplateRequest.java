@@ -0,0 +1,27 @@
+package com.taskmanagement.model.dto;
+
+import com.taskmanagement.model.enums.RecurrenceFrequency;
+import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@RegisterForReflection
+@Getter
+@Setter
+public class TaskTemplateRequest {
+    private String title;
+    private String description;
+    private TaskPriority priority;
+    private Long assigneeId;
+    private Long categoryId;
+    private Integer estimatedHours;
+    private RecurrenceFrequency frequency;
+    // Шаг повторения в единицах frequency, по умолчанию 1
+    private Integer interval;
+    // По умолчанию сегодня
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
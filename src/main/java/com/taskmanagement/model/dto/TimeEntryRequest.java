@@ -0,0 +1,19 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@RegisterForReflection
+@Getter
+@Setter
+public class TimeEntryRequest {
+    // По умолчанию исполнитель задачи
+    private Long userId;
+    private Integer minutes;
+    // По умолчанию сегодня
+    private LocalDate workDate;
+    private String note;
+}
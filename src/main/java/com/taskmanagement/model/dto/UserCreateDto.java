@@ -1,8 +1,10 @@
 package com.taskmanagement.model.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.Getter;
 import lombok.Setter;
 
+@RegisterForReflection
 @Getter
 @Setter
 public class UserCreateDto {
@@ -1,9 +1,11 @@
 package com.taskmanagement.model.dto;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+@RegisterForReflection
 @Getter
 @Setter
 @AllArgsConstructor
@@ -14,4 +16,9 @@ public class UserStatistics {
     private long activeTasks;
     private double averageCompletionTimeHours;
     private double onTimePercentage;
+    // Учет времени: из недельных итогов time_buckets
+    private double loggedHours;
+    private double estimatedHours;
+    // 100 - списано ровно по оценке; отклонение в любую сторону снижает точность (не ниже 0)
+    private double estimateAccuracyPercentage;
 }
@@ -0,0 +1,22 @@
+package com.taskmanagement.model.dto;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/** Часы пользователя за неделю в одной категории (categoryId == null - без категории) */
+@RegisterForReflection
+@Getter
+@Setter
+@AllArgsConstructor
+public class WeeklyHours {
+    private LocalDate weekStart;
+    private Long categoryId;
+    private double hours;
+    private long entries;
+    private double estimatedHours;
+    private double estimatedTaskHours;
+}
@@ -6,7 +6,9 @@ import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
+/** Справочник категорий: читается часто, меняется редко, поэтому хранится в кэше второго уровня */
 @Entity
+@Cacheable
 @Table(name = "categories")
 public class Category {
 
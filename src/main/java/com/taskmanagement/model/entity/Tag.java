@@ -0,0 +1,17 @@
+package com.taskmanagement.model.entity;
+
+import jakarta.persistence.*;
+
+/** Метка задачи: у задачи может быть несколько меток, в отличие от единственной категории */
+@Entity
+@Cacheable
+@Table(name = "tags")
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "name", unique = true, nullable = false, length = 50)
+    public String name;
+}
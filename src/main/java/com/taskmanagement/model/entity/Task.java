@@ -1,17 +1,31 @@
 package com.taskmanagement.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Очередь взятия в работу: TaskRepository.lockNextTodo
+        @Index(name = "idx_tasks_claim", columnList = "status, priority, user_id, due_date, id"),
+        @Index(name = "idx_tasks_parent", columnList = "parent_id"),
+        // Индексы доски по генерируемому priority_level создает TaskSchema
+        // Календарь и сроки: TaskRepository.countByDueDate, findDueOn, findDueSoon, findOverdue
+        @Index(name = "idx_tasks_due_status", columnList = "due_date, status")
+}, uniqueConstraints = {
+        // Один экземпляр шаблона на дату: страховка от повторной генерации
+        @UniqueConstraint(name = "uk_tasks_template_occurrence", columnNames = {"template_id", "occurrence_date"})
+})
 public class Task {
 
     @Id
@@ -49,9 +63,38 @@ public class Task {
     @Column(name = "estimated_hours")
     public Integer estimatedHours;
 
+    // Округленная до часа сумма logged_minutes; обе колонки обновляет TimeTrackingService одним UPDATE
     @Column(name = "actual_hours")
     public Integer actualHours;
 
+    @Column(name = "logged_minutes")
+    public Integer loggedMinutes;
+
+    // Родительская задача (подзадачи); при удалении родителя сбрасывается в TaskService.deleteTask
+    @Column(name = "parent_id")
+    public Long parentId;
+
+    // Метки задачи; отдаются отдельным эндпоинтом, поэтому в JSON задачи не попадают
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "task_tags",
+            joinColumns = @JoinColumn(name = "task_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_task_tags_tag", columnList = "tag_id"))
+    @JsonIgnore
+    public Set<Tag> tags = new HashSet<>();
+
+    // Шаблон и дата повторения для задач, созданных генератором повторяющихся задач
+    @Column(name = "template_id")
+    public Long templateId;
+
+    @Column(name = "occurrence_date")
+    public LocalDate occurrenceDate;
+
+    // Число незавершенных блокирующих задач и подзадач, заполняется сервисом перед переходом в DONE
+    @Transient
+    @JsonIgnore
+    public long openBlockers;
+
     @CreationTimestamp
     @Column(name = "create_date")
     public LocalDateTime createdAt;
@@ -60,21 +103,42 @@ public class Task {
     @Column(name = "update_date")
     public LocalDateTime updatedAt;
 
+    // Номер изменения: оптимистическая блокировка и версия для ETag. Массовые UPDATE в TaskRepository
+    // увеличивают его сами, вставка генератором повторяющихся задач получает значение по умолчанию
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @JsonIgnore
+    public Long version;
+
     // Бизнес-методы
     public boolean isOverdue() {
+        return isOverdue(LocalDate.now());
+    }
+
+    // Вариант для массовых проверок: дата берется один раз на весь проход
+    public boolean isOverdue(LocalDate today) {
         return dueDate != null
-                && LocalDate.now().isAfter(dueDate)
+                && today.isAfter(dueDate)
                 && status != TaskStatus.DONE
                 && status != TaskStatus.CANCELLED;
     }
 
     public long getDaysUntilDue() {
+        return getDaysUntilDue(LocalDate.now());
+    }
+
+    public long getDaysUntilDue(LocalDate today) {
         if (dueDate == null) return Long.MAX_VALUE;
-        return ChronoUnit.DAYS.between(LocalDate.now(), dueDate);
+        return ChronoUnit.DAYS.between(today, dueDate);
     }
 
     public boolean isUrgent() {
-        return priority == TaskPriority.URGENT || getDaysUntilDue() <= 1;
+        return isUrgent(LocalDate.now());
+    }
+
+    public boolean isUrgent(LocalDate today) {
+        return priority == TaskPriority.URGENT || getDaysUntilDue(today) <= 1;
     }
 
     public void complete() {
@@ -83,6 +147,9 @@ public class Task {
     }
 
     public boolean canTransitionTo(TaskStatus newStatus) {
+        if (newStatus == TaskStatus.DONE && openBlockers > 0) {
+            return false;
+        }
         switch (status) {
             case TODO:
                 return newStatus == TaskStatus.IN_PROGRESS || newStatus == TaskStatus.CANCELLED;
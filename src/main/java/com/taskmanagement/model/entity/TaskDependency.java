@@ -0,0 +1,30 @@
+package com.taskmanagement.model.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Связь "blocker блокирует blocked": blocked нельзя завершить, пока blocker не закрыта.
+ * Ребра удаляются каскадно вместе с любой из задач.
+ */
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_dependency", columnNames = {"blocker_id", "blocked_id"}),
+        indexes = @Index(name = "idx_task_dependencies_blocked", columnList = "blocked_id"))
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "blocker_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    public Task blocker;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "blocked_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    public Task blocked;
+}
@@ -0,0 +1,81 @@
+package com.taskmanagement.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskmanagement.model.enums.RecurrenceFrequency;
+import com.taskmanagement.model.enums.TaskPriority;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Шаблон повторяющейся задачи: раз в interval дней/недель/месяцев начиная со startDate.
+ * Экземпляры создает TaskTemplateService до горизонта планирования; generatedUntil - дата,
+ * до которой экземпляры уже созданы, по ней повторный запуск генератора ничего не дублирует.
+ */
+@Entity
+@Table(name = "task_templates", indexes = {
+        // Выборка правил для генерации: TaskTemplateRepository.lockDue
+        @Index(name = "idx_task_templates_due", columnList = "active, generated_until")
+})
+public class TaskTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "title", nullable = false)
+    public String title;
+
+    @Column(name = "description", length = 2000)
+    public String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority")
+    public TaskPriority priority = TaskPriority.MEDIUM;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    public User assignee;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    @JsonIgnore
+    public Category category;
+
+    @Column(name = "estimated_hours")
+    public Integer estimatedHours;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    public RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    public int interval = 1;
+
+    @Column(name = "start_date", nullable = false)
+    public LocalDate startDate;
+
+    @Column(name = "end_date")
+    public LocalDate endDate;
+
+    @Column(name = "generated_until")
+    public LocalDate generatedUntil;
+
+    @Column(name = "active", nullable = false)
+    public boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "create_date")
+    public LocalDateTime createdAt;
+
+    public Long getAssigneeId() {
+        return assignee != null ? assignee.id : null;
+    }
+
+    public Long getCategoryId() {
+        return category != null ? category.id : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskmanagement.model.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Недельный итог учета времени по пользователю и категории (category_id = 0 - без категории).
+ * Строка обновляется атомарным upsert при каждой записи времени (TimeEntryRepository.addToBucket),
+ * поэтому отчеты за период и статистика пользователя читают итоги, а не суммируют time_entries.
+ * Оценка задачи попадает в итог один раз - в неделю первой записи пользователя по этой задаче.
+ */
+@Entity
+@Table(name = "time_buckets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_time_buckets", columnNames = {"user_id", "week_start", "category_id"})
+})
+public class TimeBucket {
+
+    public static final long NO_CATEGORY = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "user_id", nullable = false)
+    public long userId;
+
+    // Понедельник недели
+    @Column(name = "week_start", nullable = false)
+    public LocalDate weekStart;
+
+    @Column(name = "category_id", nullable = false)
+    public long categoryId;
+
+    // Все списанные минуты
+    @Column(name = "logged_minutes", nullable = false)
+    public long loggedMinutes;
+
+    @Column(name = "entries", nullable = false)
+    public long entries;
+
+    // Сумма оценок задач с оценкой, над которыми пользователь начал работать на этой неделе
+    @Column(name = "estimated_minutes", nullable = false)
+    public long estimatedMinutes;
+
+    // Минуты, списанные на задачи с оценкой: сравниваются с estimatedMinutes
+    @Column(name = "estimated_logged_minutes", nullable = false)
+    public long estimatedLoggedMinutes;
+}
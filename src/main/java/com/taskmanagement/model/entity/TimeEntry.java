@@ -0,0 +1,58 @@
+package com.taskmanagement.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Запись учета времени: сколько минут пользователь потратил на задачу в конкретный день.
+ * Записи только добавляются; суммы по задаче и недельные итоги ведет TimeTrackingService при вставке.
+ */
+@Entity
+@Table(name = "time_entries", indexes = {
+        @Index(name = "idx_time_entries_task", columnList = "task_id, user_id"),
+        @Index(name = "idx_time_entries_user", columnList = "user_id, work_date")
+})
+public class TimeEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    public Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    public User user;
+
+    @Column(name = "work_date", nullable = false)
+    public LocalDate workDate;
+
+    @Column(name = "minutes", nullable = false)
+    public int minutes;
+
+    @Column(name = "note", length = 500)
+    public String note;
+
+    @CreationTimestamp
+    @Column(name = "create_date")
+    public LocalDateTime createdAt;
+
+    public Long getTaskId() {
+        return task != null ? task.id : null;
+    }
+
+    public Long getUserId() {
+        return user != null ? user.id : null;
+    }
+}
@@ -1,8 +1,8 @@
 package com.taskmanagement.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.taskmanagement.model.enums.TaskStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -34,11 +34,14 @@ public class User {
     @Column(name = "create_date")
     public LocalDateTime createdAt;
 
+    // Меняется только атомарными UPDATE из UserRepository, поэтому не участвует в insert/update сущности
+    @ColumnDefault("0")
+    @Column(name = "active_task_count", nullable = false, insertable = false, updatable = false)
+    public int activeTaskCount;
+
     @Transient // чтобы JPA не пытался маппить как колонку
     @JsonIgnore
     public int getActiveTasksCount() {
-        return (int) tasks.stream()
-                .filter(t -> t.status != TaskStatus.DONE && t.status != TaskStatus.CANCELLED)
-                .count();
+        return activeTaskCount;
     }
 }
@@ -0,0 +1,33 @@
+package com.taskmanagement.model.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** n-я дата серии (с нуля); считается от начала, чтобы день месяца не сдвигался после коротких месяцев */
+    public LocalDate occurrence(LocalDate start, int interval, long n) {
+        return start.plus(n * interval, unit);
+    }
+
+    /** Номер первой даты серии не раньше date */
+    public long firstIndexOnOrAfter(LocalDate start, int interval, LocalDate date) {
+        if (!date.isAfter(start)) {
+            return 0;
+        }
+        long n = unit.between(start, date) / interval;
+        while (occurrence(start, interval, n).isBefore(date)) {
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskmanagement.model.enums;
+
+/** Тип записи журнала task_events; в БД хранится код */
+public enum TaskEventType {
+    CREATED(1),
+    UPDATED(2),
+    DELETED(3),
+    // Полное состояние задачи на момент occurred_at, точка старта для восстановления
+    SNAPSHOT(4);
+
+    private final int code;
+
+    TaskEventType(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public static TaskEventType fromCode(int code) {
+        for (TaskEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task event type: " + code);
+    }
+}
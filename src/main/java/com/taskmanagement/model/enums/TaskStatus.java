@@ -5,5 +5,10 @@ public enum TaskStatus {
     IN_PROGRESS,
     DONE,
     CANCELLED,
-    OVERDUE
+    OVERDUE;
+
+    /** Задача в работе: учитывается в счетчике активных задач исполнителя */
+    public boolean isActive() {
+        return this != DONE && this != CANCELLED;
+    }
 }
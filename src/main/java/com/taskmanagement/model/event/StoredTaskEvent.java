@@ -0,0 +1,21 @@
+package com.taskmanagement.model.event;
+
+import com.taskmanagement.model.enums.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка журнала task_events: payload закодирован TaskEventCodec
+ */
+@Getter
+@AllArgsConstructor
+public class StoredTaskEvent {
+    private final long id;
+    private final long taskId;
+    private final LocalDateTime occurredAt;
+    private final TaskEventType type;
+    private final String actor;
+    private final byte[] payload;
+}
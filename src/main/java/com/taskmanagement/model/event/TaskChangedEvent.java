@@ -0,0 +1,19 @@
+package com.taskmanagement.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CDI-событие изменения задачи. before == null при создании, after == null при удалении.
+ * Наблюдатели, поддерживающие индексы в памяти, подписываются на фазу AFTER_SUCCESS.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+    private final TaskSnapshot before;
+    private final TaskSnapshot after;
+
+    public Long getTaskId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
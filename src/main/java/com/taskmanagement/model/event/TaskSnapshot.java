@@ -0,0 +1,43 @@
+package com.taskmanagement.model.event;
+
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Неизменяемый снимок полей задачи на момент изменения
+ */
+@Getter
+@AllArgsConstructor
+public class TaskSnapshot {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final Long assigneeId;
+    private final Long categoryId;
+    private final LocalDate dueDate;
+    private final Integer estimatedHours;
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(
+                task.id,
+                task.title,
+                task.description,
+                task.status,
+                task.priority,
+                task.assignee != null ? task.assignee.id : null,
+                task.category != null ? task.category.id : null,
+                task.dueDate,
+                task.estimatedHours);
+    }
+
+    public boolean isActive() {
+        return status != null && status.isActive();
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmanagement.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * CDI-событие добавления (added = true) или снятия метки с задачи
+ */
+@Getter
+@AllArgsConstructor
+public class TaskTaggedEvent {
+    private final Long taskId;
+    private final Long tagId;
+    private final String tagName;
+    private final boolean added;
+}
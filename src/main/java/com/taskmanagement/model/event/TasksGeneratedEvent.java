@@ -0,0 +1,16 @@
+package com.taskmanagement.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * CDI-событие пакетного создания задач (экземпляры повторяющихся шаблонов).
+ * Одно событие на пакет вместо TaskChangedEvent на каждую задачу.
+ */
+@Getter
+@AllArgsConstructor
+public class TasksGeneratedEvent {
+    private final List<TaskSnapshot> tasks;
+}
@@ -0,0 +1,72 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskTaggedEvent;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Счетчик изменений данных, из которых строятся списки и статистика задач: задачи, их метки,
+ * пользователи (вместе со счетчиками активных задач) и категории. Одна строка таблицы change_counter
+ * увеличивается в той же транзакции, что и запись, поэтому версия для ETag читается одним запросом по ключу,
+ * а не агрегатом по таблицам. Записи задач в сервисах отмечаются событиями, массовые UPDATE - явным increment.
+ */
+@ApplicationScoped
+public class ChangeCounter {
+
+    // Признак транзакции, в которой счетчик уже увеличен: строка обновляется один раз за транзакцию
+    private static final String INCREMENTED = ChangeCounter.class.getName() + ".incremented";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
+    void onStart(@Observes StartupEvent event) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            em.createNativeQuery("create table if not exists change_counter"
+                    + " (id smallint primary key, changes bigint not null)").executeUpdate();
+            em.createNativeQuery("insert into change_counter (id, changes)"
+                    + " select 1, 0 where not exists (select 1 from change_counter)").executeUpdate();
+        });
+    }
+
+    // Синхронные наблюдатели: срабатывают внутри транзакции, породившей событие
+    void onTaskChanged(@Observes TaskChangedEvent event) {
+        increment();
+    }
+
+    void onTasksGenerated(@Observes TasksGeneratedEvent event) {
+        increment();
+    }
+
+    void onTaskTagged(@Observes TaskTaggedEvent event) {
+        increment();
+    }
+
+    /** Отмечает изменение в текущей транзакции; вызывается внутри транзакции записи */
+    public void increment() {
+        if (transactions.getResource(INCREMENTED) != null) {
+            return;
+        }
+        // Пространство запроса указано явно: иначе native UPDATE сбрасывает весь кэш второго уровня
+        em.createNativeQuery("update change_counter set changes = changes + 1 where id = 1")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("change_counter")
+                .executeUpdate();
+        transactions.putResource(INCREMENTED, Boolean.TRUE);
+    }
+
+    public long current() {
+        return ((Number) em.createNativeQuery("select changes from change_counter where id = 1")
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.entity.Tag;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.query.NativeQuery;
+
+import java.util.List;
+
+@ApplicationScoped
+public class TagRepository implements PanacheRepository<Tag> {
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public Tag findByName(String name) {
+        return find("name", name).firstResult();
+    }
+
+    /**
+     * Метка по имени; отсутствующая создается. Вставка идет upsert-ом, поэтому два запроса, одновременно
+     * создающие одну и ту же новую метку, не падают на уникальном индексе tags.name: проигравший ничего
+     * не вставляет и читает строку победителя (в Postgres ON CONFLICT дожидается ее коммита).
+     */
+    public Tag findOrCreate(String name) {
+        Tag tag = findByName(name);
+        if (tag != null) {
+            return tag;
+        }
+        String sql = "postgresql".equals(dbKind)
+                ? "insert into tags (name) values (:name) on conflict (name) do nothing"
+                : "merge into tags (name) key (name) values (:name)";
+        getEntityManager().createNativeQuery(sql)
+                .setParameter("name", name)
+                .unwrap(NativeQuery.class)
+                // Инвалидируется только кэш меток, а не все регионы второго уровня
+                .addSynchronizedEntityClass(Tag.class)
+                .executeUpdate();
+        return findByName(name);
+    }
+
+    public List<Tag> findByTask(Long taskId) {
+        return getEntityManager()
+                .createQuery("select tg from Task t join t.tags tg where t.id = :taskId order by tg.name", Tag.class)
+                .setParameter("taskId", taskId)
+                .getResultList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TaskDependency;
+import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Граф зависимостей задач. Транзитивные обходы выполняются рекурсивными CTE в БД:
+ * UNION отбрасывает уже посещенные вершины, поэтому обход линеен по числу ребер подграфа.
+ */
+@ApplicationScoped
+public class TaskDependencyRepository implements PanacheRepository<TaskDependency> {
+
+    private static final List<TaskStatus> CLOSED = Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED);
+    // Ключ advisory-блокировки правок графа (ASCII "task_dep")
+    private static final long GRAPH_LOCK = 0x7461736b5f646570L;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    /**
+     * Сериализует правки графа до конца текущей транзакции, чтобы проверка цикла и вставка ребра шли атомарно.
+     * В Postgres берется advisory-блокировка всего графа: блокировки концов ребра мало, цикл могут замкнуть
+     * два параллельных ребра с разными концами. В H2 экземпляр один, блокируются строки обеих задач
+     * в порядке id - этого хватает для встречных ребер между одними задачами.
+     */
+    public void lockForEdit(Long taskId, Long blockerId) {
+        if ("postgresql".equals(dbKind)) {
+            getEntityManager().createNativeQuery("select 1 from pg_advisory_xact_lock(" + GRAPH_LOCK + ")")
+                    .getSingleResult();
+            return;
+        }
+        for (Long id : new TreeSet<>(List.of(taskId, blockerId))) {
+            getEntityManager().find(Task.class, id, LockModeType.PESSIMISTIC_WRITE);
+        }
+    }
+
+    public TaskDependency findEdge(Long blockerId, Long blockedId) {
+        return find("blocker.id = ?1 and blocked.id = ?2", blockerId, blockedId).firstResult();
+    }
+
+    //Незакрытые блокирующие задачи и подзадачи одним запросом
+    public long countOpenBlockers(Long taskId) {
+        return getEntityManager().createQuery("select"
+                        + " (select count(d) from TaskDependency d where d.blocked.id = :id and d.blocker.status not in :closed)"
+                        + " + (select count(t) from Task t where t.parentId = :id and t.status not in :closed)", Long.class)
+                .setParameter("id", taskId)
+                .setParameter("closed", CLOSED)
+                .getSingleResult();
+    }
+
+    //Прямые блокирующие задачи
+    public List<Task> findBlockers(Long taskId) {
+        return getEntityManager().createQuery(
+                        "select d.blocker from TaskDependency d where d.blocked.id = ?1 order by d.blocker.id", Task.class)
+                .setParameter(1, taskId)
+                .getResultList();
+    }
+
+    //Все задачи, транзитивно зависящие от taskId (одним запросом, без списка id в параметрах)
+    @SuppressWarnings("unchecked")
+    public List<Task> findDependents(Long taskId) {
+        return getEntityManager().createNativeQuery(
+                        "WITH RECURSIVE dependents(id) AS ("
+                                + " SELECT d.blocked_id FROM task_dependencies d WHERE d.blocker_id = :id"
+                                + " UNION"
+                                + " SELECT d.blocked_id FROM task_dependencies d JOIN dependents x ON d.blocker_id = x.id"
+                                + ") SELECT t.* FROM tasks t JOIN dependents x ON t.id = x.id ORDER BY t.id", Task.class)
+                .setParameter("id", taskId)
+                .getResultList();
+    }
+
+    //Достижима ли target из source по ребрам blocker -> blocked (проверка цикла перед вставкой ребра)
+    public boolean isReachable(Long sourceId, Long targetId) {
+        Number count = (Number) getEntityManager().createNativeQuery(
+                        "WITH RECURSIVE reach(id) AS ("
+                                + " SELECT CAST(:source AS BIGINT)"
+                                + " UNION"
+                                + " SELECT d.blocked_id FROM task_dependencies d JOIN reach r ON d.blocker_id = r.id"
+                                + ") SELECT COUNT(*) FROM reach WHERE id = :target")
+                .setParameter("source", sourceId)
+                .setParameter("target", targetId)
+                .getSingleResult();
+        return count.longValue() > 0;
+    }
+
+    /**
+     * Ребра всех транзитивных блокеров taskId: {blocker_id, blocked_id, estimated_hours блокера, status блокера}
+     */
+    public List<Object[]> findUpstreamEdges(Long taskId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "WITH RECURSIVE upstream(id) AS ("
+                                + " SELECT CAST(:id AS BIGINT)"
+                                + " UNION"
+                                + " SELECT d.blocker_id FROM task_dependencies d JOIN upstream u ON d.blocked_id = u.id"
+                                + ") SELECT d.blocker_id, d.blocked_id, t.estimated_hours, t.status"
+                                + " FROM task_dependencies d"
+                                + " JOIN upstream u ON d.blocked_id = u.id"
+                                + " JOIN tasks t ON t.id = d.blocker_id")
+                .setParameter("id", taskId)
+                .getResultList();
+        return rows;
+    }
+}
@@ -0,0 +1,140 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.enums.TaskEventType;
+import com.taskmanagement.model.event.StoredTaskEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Журнал изменений задач task_events. Таблица не отображается в сущность: в Postgres она секционирована
+ * по времени (см. TaskEventSchema), а генерация схемы Hibernate этого не умеет. Записи только добавляются.
+ */
+@ApplicationScoped
+public class TaskEventRepository {
+
+    private static final String COLUMNS = "select id, task_id, occurred_at, event_type, actor, payload from task_events";
+    private static final String BASE_TYPES = TaskEventType.CREATED.getCode() + ", " + TaskEventType.SNAPSHOT.getCode();
+
+    @Inject
+    EntityManager em;
+
+    public void append(long taskId, LocalDateTime occurredAt, TaskEventType type, String actor, byte[] payload) {
+        em.createNativeQuery("insert into task_events (task_id, occurred_at, event_type, actor, payload)"
+                        + " values (:taskId, :occurredAt, :type, :actor, :payload)")
+                .setParameter("taskId", taskId)
+                .setParameter("occurredAt", occurredAt)
+                .setParameter("type", type.getCode())
+                .setParameter("actor", actor)
+                .setParameter("payload", payload)
+                .executeUpdate();
+    }
+
+    /** Пакетная запись одним JDBC-батчем; id событий игнорируются */
+    public void appendAll(List<StoredTaskEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("insert into task_events"
+                    + " (task_id, occurred_at, event_type, actor, payload) values (?, ?, ?, ?, ?)")) {
+                for (StoredTaskEvent event : events) {
+                    ps.setLong(1, event.getTaskId());
+                    ps.setTimestamp(2, Timestamp.valueOf(event.getOccurredAt()));
+                    ps.setInt(3, event.getType().getCode());
+                    ps.setString(4, event.getActor());
+                    ps.setBytes(5, event.getPayload());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    /** Последний снимок или создание задачи не позже at: с него начинается восстановление состояния */
+    public StoredTaskEvent findBase(long taskId, LocalDateTime at) {
+        List<StoredTaskEvent> events = map(em.createNativeQuery(COLUMNS
+                        + " where task_id = :taskId and event_type in (" + BASE_TYPES + ") and occurred_at <= :at"
+                        + " order by occurred_at desc, id desc")
+                .setParameter("taskId", taskId)
+                .setParameter("at", at)
+                .setMaxResults(1)
+                .getResultList());
+        return events.isEmpty() ? null : events.get(0);
+    }
+
+    /**
+     * Изменения задачи после записи (fromTime, fromId) и не позже to, в порядке (occurred_at, id).
+     * fromTime == null - с начала журнала. Снимки не возвращаются
+     */
+    public List<StoredTaskEvent> findChanges(long taskId, LocalDateTime fromTime, long fromId, LocalDateTime to) {
+        return map(em.createNativeQuery(COLUMNS
+                        + " where task_id = :taskId and event_type <> " + TaskEventType.SNAPSHOT.getCode()
+                        + " and (occurred_at > :fromTime or (occurred_at = :fromTime and id > :fromId))"
+                        + " and occurred_at <= :to order by occurred_at, id")
+                .setParameter("taskId", taskId)
+                .setParameter("fromTime", fromTime != null ? fromTime : LocalDateTime.of(1970, 1, 1, 0, 0))
+                .setParameter("fromId", fromId)
+                .setParameter("to", to)
+                .getResultList());
+    }
+
+    /** Задачи, менявшиеся в интервале (from, to] */
+    public List<Long> findChangedTasks(LocalDateTime from, LocalDateTime to) {
+        return ids(em.createNativeQuery("select distinct task_id from task_events"
+                        + " where event_type <> " + TaskEventType.SNAPSHOT.getCode()
+                        + " and occurred_at > :from and occurred_at <= :to")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList());
+    }
+
+    /** Время последнего снимка после notBefore; null - снимков нет */
+    public LocalDateTime findLastSnapshotAt(LocalDateTime notBefore) {
+        Object last = em.createNativeQuery("select max(occurred_at) from task_events"
+                        + " where event_type = " + TaskEventType.SNAPSHOT.getCode() + " and occurred_at > :notBefore")
+                .setParameter("notBefore", notBefore)
+                .getSingleResult();
+        return last instanceof Timestamp ? ((Timestamp) last).toLocalDateTime() : (LocalDateTime) last;
+    }
+
+    /** Задачи с записями до boundary, у которых после boundary нет ни снимка, ни создания */
+    public List<Long> findTasksWithoutBaseSince(LocalDateTime boundary) {
+        return ids(em.createNativeQuery("select distinct e.task_id from task_events e where e.occurred_at < :boundary"
+                        + " and not exists (select 1 from task_events s where s.task_id = e.task_id"
+                        + " and s.event_type in (" + BASE_TYPES + ") and s.occurred_at >= :boundary)")
+                .setParameter("boundary", boundary)
+                .getResultList());
+    }
+
+    private static List<Long> ids(List<?> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            ids.add(((Number) row).longValue());
+        }
+        return ids;
+    }
+
+    private static List<StoredTaskEvent> map(List<?> rows) {
+        List<StoredTaskEvent> events = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            Object occurredAt = columns[2];
+            events.add(new StoredTaskEvent(
+                    ((Number) columns[0]).longValue(),
+                    ((Number) columns[1]).longValue(),
+                    occurredAt instanceof Timestamp ? ((Timestamp) occurredAt).toLocalDateTime() : (LocalDateTime) occurredAt,
+                    TaskEventType.fromCode(((Number) columns[3]).intValue()),
+                    (String) columns[4],
+                    (byte[]) columns[5]));
+        }
+        return events;
+    }
+}
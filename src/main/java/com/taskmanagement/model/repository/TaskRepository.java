@@ -1,30 +1,284 @@
 package com.taskmanagement.model.repository;
 
 import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class TaskRepository implements PanacheRepository<Task> {
 
+    @Inject
+    ChangeCounter changeCounter;
+
+    // Порядок взятия задач в работу: от высшего приоритета к низшему
+    private static final TaskPriority[] CLAIM_ORDER = Arrays.stream(TaskPriority.values())
+            .sorted(Comparator.comparingInt(TaskPriority::getLevel).reversed())
+            .toArray(TaskPriority[]::new);
+
+    // Поля, которые можно запросить через ?fields=: имя в JSON -> выражение JPQL.
+    // assignee.id и category.id читаются из внешнего ключа без join
+    public static final Map<String, String> SPARSE_FIELDS = sparseFields();
+
     public List<Task> findOverdue(){
-        return find("select t from Task t where t.dueDate < ?1 and t.status not in ?2",
-                LocalDate.now(), Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED)).list();
+        return overdue().list();
     }
 
     public List<Task> findDueSoon(int days){
+        return dueSoon(days).list();
+    }
+
+    // Запросы findOverdue и findDueSoon без выполнения: прогрев берет из них одну страницу
+    public PanacheQuery<Task> overdue() {
+        return find("select t from Task t where t.dueDate < ?1 and t.status not in ?2",
+                LocalDate.now(), Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED));
+    }
+
+    public PanacheQuery<Task> dueSoon(int days) {
         LocalDate endDate = LocalDate.now().plusDays(days);
         return find("select t from Task t where t.dueDate <= ?1 AND t.dueDate >= ?2 and t.status NOT IN ?3",
-                endDate, LocalDate.now(), Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED)).list();
+                endDate, LocalDate.now(), Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED));
+    }
+
+    /**
+     * Число задач по дням срока в диапазоне [from, to]: строки date, total, open (не DONE и не CANCELLED).
+     * Без фильтра по исполнителю запрос целиком отвечается индексом idx_tasks_due_status.
+     * Дни без задач в результат не попадают.
+     */
+    public List<Object[]> countByDueDate(LocalDate from, LocalDate to, Long userId) {
+        TypedQuery<Object[]> query = getEntityManager().createQuery("select t.dueDate, count(t),"
+                        + " sum(case when t.status in :closed then 0 else 1 end)"
+                        + " from Task t where t.dueDate between :from and :to"
+                        + (userId != null ? " and t.assignee.id = :userId" : "")
+                        + " group by t.dueDate order by t.dueDate", Object[].class)
+                .setParameter("closed", Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED))
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Страница задач одного дня календаря: сначала высший приоритет, при равенстве - по id.
+     * Порядок по генерируемому столбцу priority_level (см. TaskSchema) задает БД, день выбирается по idx_tasks_due_status.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Task> findDueOn(LocalDate date, Long userId, int page, int size) {
+        Query query = getEntityManager().createNativeQuery("SELECT t.* FROM tasks t WHERE t.due_date = :date"
+                        + (userId != null ? " AND t.user_id = :userId" : "")
+                        + " ORDER BY t.priority_level DESC, t.id", Task.class)
+                .setParameter("date", date)
+                .setFirstResult(page * size)
+                .setMaxResults(size);
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    /** Задачи по списку id одним запросом, в порядке ids; на месте отсутствующих - null */
+    public List<Task> findAllByIdsInOrder(List<Long> ids) {
+        return getEntityManager().unwrap(Session.class)
+                .byMultipleIds(Task.class)
+                .withBatchSize(ids.size())
+                .multiLoad(ids);
+    }
+
+    /**
+     * Только перечисленные поля задач (ключи SPARSE_FIELDS) с теми же фильтрами, что у filterTasks;
+     * id != null - одна задача. Строки в порядке id, значения в порядке fields.
+     */
+    public List<Tuple> findFields(List<String> fields, Long id, TaskStatus status, TaskPriority priority, Long userId) {
+        String select = fields.stream()
+                .map(SPARSE_FIELDS::get)
+                .collect(Collectors.joining(", "));
+        TypedQuery<Tuple> query = getEntityManager().createQuery("select " + select + " from Task t where 1 = 1"
+                + (id != null ? " and t.id = :id" : "")
+                + (status != null ? " and t.status = :status" : "")
+                + (priority != null ? " and t.priority = :priority" : "")
+                + (userId != null ? " and t.assignee.id = :userId" : "")
+                + " order by t.id", Tuple.class);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (priority != null) {
+            query.setParameter("priority", priority);
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    /** Keyset-страница по возрастанию id: задачи с id > afterId (null - с начала) */
+    public List<Task> findAfter(Long afterId, TaskStatus status, TaskPriority priority, Long userId, int limit) {
+        TypedQuery<Task> query = getEntityManager().createQuery("select t from Task t where 1 = 1"
+                + (afterId != null ? " and t.id > :afterId" : "")
+                + (status != null ? " and t.status = :status" : "")
+                + (priority != null ? " and t.priority = :priority" : "")
+                + (userId != null ? " and t.assignee.id = :userId" : "")
+                + " order by t.id", Task.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (priority != null) {
+            query.setParameter("priority", priority);
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
     }
 
     public List<Task> findByUser(Long id){
-        return find("assignee.id = ?1", id).list();
+        return byUser(id).list();
     }
 
+    public PanacheQuery<Task> byUser(Long id) {
+        return find("assignee.id = ?1", id);
+    }
+
+    /**
+     * Доска задач одним запросом: до limit карточек на каждый статус и общее число задач в статусе.
+     * Оконные функции считают номер строки и размер колонки в одном проходе по отфильтрованным задачам.
+     * Порядок карточек (priority_level, due_date, id) совпадает с индексами idx_tasks_board* (TaskSchema),
+     * поэтому задачи читаются из индекса уже упорядоченными, без сортировки.
+     * Колонки без задач в результат не попадают. Строки: id, title, status, priority, due_date,
+     * user_id, category_id, estimated_hours, total; упорядочены по статусу и позиции в колонке.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findBoard(Long categoryId, Long userId, int limit) {
+        String sql = "SELECT b.id, b.title, b.status, b.priority, b.due_date, b.user_id, b.category_id,"
+                + " b.estimated_hours, b.total FROM ("
+                + " SELECT t.id, t.title, t.status, t.priority, t.due_date, t.user_id, t.category_id, t.estimated_hours,"
+                + " ROW_NUMBER() OVER (PARTITION BY t.status ORDER BY t.priority_level DESC,"
+                + " t.due_date ASC NULLS LAST, t.id) AS rn,"
+                + " COUNT(*) OVER (PARTITION BY t.status) AS total"
+                + " FROM tasks t WHERE 1 = 1"
+                + (categoryId != null ? " AND t.category_id = :categoryId" : "")
+                + (userId != null ? " AND t.user_id = :userId" : "")
+                + ") b WHERE b.rn <= :limit ORDER BY b.status, b.rn";
+        Query query = getEntityManager().createNativeQuery(sql)
+                .setParameter("limit", limit);
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Атомарно добавляет списанные минуты; actualHours пересчитывается в том же UPDATE с округлением до часа.
+     * true - это первая запись по задаче. Признак - условный UPDATE по пустому loggedMinutes: условие
+     * перепроверяется под блокировкой строки, поэтому из параллельных первых записей его выполняет ровно одна.
+     */
+    public boolean addLoggedMinutes(Long taskId, int minutes) {
+        changeCounter.increment();
+        // updatedAt вручную: bulk UPDATE обходит @UpdateTimestamp, а от него зависит ETag задачи
+        LocalDateTime now = LocalDateTime.now();
+        if (update("loggedMinutes = ?1, actualHours = (?1 + 30) / 60, updatedAt = ?3, version = version + 1"
+                        + " where id = ?2 and (loggedMinutes is null or loggedMinutes = 0)",
+                minutes, taskId, now) > 0) {
+            return true;
+        }
+        update("loggedMinutes = loggedMinutes + ?1,"
+                + " actualHours = (loggedMinutes + ?1 + 30) / 60, updatedAt = ?3, version = version + 1"
+                + " where id = ?2",
+                minutes, taskId, now);
+        return false;
+    }
+
+    /**
+     * Переводит задачу в OVERDUE, только если ее версия не изменилась с момента чтения.
+     * false - задачу параллельно изменили; она будет проверена следующим запуском.
+     */
+    public boolean markOverdue(Long taskId, Long version) {
+        return update("status = ?1, updatedAt = ?2, version = version + 1 where id = ?3 and version = ?4",
+                TaskStatus.OVERDUE, LocalDateTime.now(), taskId, version) > 0;
+    }
+
+    /** Отвязывает подзадачи удаленной задачи, отмечая их измененными */
+    public void detachSubtasks(Long parentId) {
+        update("parentId = null, updatedAt = ?2, version = version + 1 where parentId = ?1", parentId, LocalDateTime.now());
+    }
+
+    /**
+     * Версия задачи для условного GET: номер изменения, updatedAt и счетчик активных задач исполнителя,
+     * который вложен в ответ и меняется без изменения самой задачи. null - задачи нет.
+     */
+    public Object[] findVersion(Long id) {
+        List<Object[]> rows = getEntityManager().createQuery("select t.version, t.updatedAt, a.activeTaskCount"
+                        + " from Task t left join t.assignee a where t.id = :id", Object[].class)
+                .setParameter("id", id)
+                .getResultList();
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Блокирует следующую неназначенную задачу TODO для взятия в работу: сначала высший приоритет, затем ближайший срок.
+     * Задачи, уже назначенные кому-то, не берутся: взятие не должно отбирать работу у исполнителя.
+     * Строки, заблокированные другими транзакциями, пропускаются (SKIP LOCKED), поэтому параллельные
+     * вызовы не ждут друг друга и не получают одну и ту же задачу. Возвращает id или null.
+     * Приоритеты перебираются отдельными запросами, чтобы каждый шел по индексу
+     * (status, priority, user_id, due_date, id), а не сортировал все задачи TODO.
+     */
+    public Long lockNextTodo(String categoryName) {
+        String sql = "SELECT t.id FROM tasks t"
+                + " WHERE t.status = 'TODO' AND t.priority = :priority AND t.user_id IS NULL"
+                + (categoryName != null ? " AND t.category_id = (SELECT c.id FROM categories c WHERE c.name = :category)" : "")
+                + " ORDER BY t.due_date ASC NULLS LAST, t.id"
+                + " LIMIT 1 FOR UPDATE SKIP LOCKED";
+        for (TaskPriority priority : CLAIM_ORDER) {
+            Query query = getEntityManager().createNativeQuery(sql, Long.class)
+                    .setParameter("priority", priority.name());
+            if (categoryName != null) {
+                query.setParameter("category", categoryName);
+            }
+            List<?> ids = query.getResultList();
+            if (!ids.isEmpty()) {
+                return ((Number) ids.get(0)).longValue();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> sparseFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String field : List.of("id", "title", "description", "status", "priority", "dueDate", "completedAt",
+                "estimatedHours", "actualHours", "loggedMinutes", "parentId", "templateId", "occurrenceDate",
+                "createdAt", "updatedAt")) {
+            fields.put(field, "t." + field);
+        }
+        fields.put("assigneeId", "t.assignee.id");
+        fields.put("categoryId", "t.category.id");
+        return Collections.unmodifiableMap(fields);
+    }
 }
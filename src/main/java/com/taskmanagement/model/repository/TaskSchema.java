@@ -0,0 +1,60 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * DDL таблицы tasks, которую Hibernate не описывает: генерируемый столбец priority_level (числовой уровень
+ * приоритета; строковое значение сортируется не так) и индексы доски по нему. По нему же упорядочены задачи дня
+ * календаря.
+ * Столбец вычисляет БД, поэтому он верен и для вставок в обход сущности (генератор повторяющихся задач)
+ * и заполняется для существующих строк при добавлении. В сущность Task не входит: используется только в SQL.
+ */
+@ApplicationScoped
+public class TaskSchema {
+
+    static final String PRIORITY_LEVEL = Arrays.stream(TaskPriority.values())
+            .map(p -> " when '" + p.name() + "' then " + p.getLevel())
+            .collect(Collectors.joining("", "case priority", " else 0 end"));
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    // Hibernate создает tasks раньше StartupEvent
+    void onStart(@Observes StartupEvent event) {
+        QuarkusTransaction.requiringNew().run(this::createColumns);
+    }
+
+    void createColumns() {
+        // В Postgres генерируемый столбец обязан быть STORED, в H2 такого ключевого слова нет
+        execute("alter table tasks add column if not exists priority_level smallint generated always as ("
+                + PRIORITY_LEVEL + ")" + ("postgresql".equals(dbKind) ? " stored" : ""));
+        // Колонки доски: фильтр, статус, затем порядок карточек - первые limit читаются из индекса без сортировки
+        execute("create index if not exists idx_tasks_board on tasks (status, priority_level desc, due_date, id)");
+        execute("create index if not exists idx_tasks_board_user"
+                + " on tasks (user_id, status, priority_level desc, due_date, id)");
+        execute("create index if not exists idx_tasks_board_category"
+                + " on tasks (category_id, status, priority_level desc, due_date, id)");
+        // Прежние индексы (user_id, status) и (category_id, status) - префиксы новых
+        execute("drop index if exists idx_tasks_user_status");
+        execute("drop index if exists idx_tasks_category_status");
+        // Версия списков теперь берется из ChangeCounter, агрегат по (version, id) больше не читается
+        execute("drop index if exists idx_tasks_version");
+    }
+
+    private void execute(String sql) {
+        em.createNativeQuery(sql).executeUpdate();
+    }
+}
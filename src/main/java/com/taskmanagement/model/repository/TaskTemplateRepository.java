@@ -0,0 +1,35 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.entity.TaskTemplate;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ApplicationScoped
+public class TaskTemplateRepository implements PanacheRepository<TaskTemplate> {
+
+    private static final String DUE_SQL = "select id, title, description, priority, user_id, category_id, estimated_hours,"
+            + " frequency, interval_count, start_date, end_date, generated_until from task_templates"
+            + " where active = true and (generated_until is null or generated_until < :horizon)"
+            + " and (end_date is null or generated_until is null or generated_until < end_date)"
+            + " order by id limit :limit for update skip locked";
+
+    /**
+     * Блокирует до limit правил, экземпляры которых созданы не до горизонта.
+     * Правила, захваченные другим экземпляром приложения, пропускаются (SKIP LOCKED), поэтому генераторы
+     * на нескольких репликах делят правила между собой. Возвращаются сырые строки, без загрузки сущностей.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> lockDue(LocalDate horizon, int limit) {
+        return getEntityManager().createNativeQuery(DUE_SQL)
+                .setParameter("horizon", horizon)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    public List<TaskTemplate> findActive() {
+        return list("active = true order by id");
+    }
+}
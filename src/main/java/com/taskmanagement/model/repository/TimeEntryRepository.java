@@ -0,0 +1,73 @@
+package com.taskmanagement.model.repository;
+
+import com.taskmanagement.model.entity.TimeBucket;
+import com.taskmanagement.model.entity.TimeEntry;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ApplicationScoped
+public class TimeEntryRepository implements PanacheRepository<TimeEntry> {
+
+    // В Postgres upsert через ON CONFLICT: параллельные записи в одну неделю не падают на уникальном ключе
+    private static final String UPSERT_POSTGRES = "insert into time_buckets (user_id, week_start, category_id,"
+            + " logged_minutes, entries, estimated_minutes, estimated_logged_minutes)"
+            + " values (:userId, :weekStart, :categoryId, :logged, 1, :estimated, :estimatedLogged)"
+            + " on conflict (user_id, week_start, category_id) do update set"
+            + " logged_minutes = time_buckets.logged_minutes + excluded.logged_minutes,"
+            + " entries = time_buckets.entries + 1,"
+            + " estimated_minutes = time_buckets.estimated_minutes + excluded.estimated_minutes,"
+            + " estimated_logged_minutes = time_buckets.estimated_logged_minutes + excluded.estimated_logged_minutes";
+
+    private static final String UPSERT_MERGE = "merge into time_buckets b using (select cast(:userId as bigint) user_id,"
+            + " cast(:weekStart as date) week_start, cast(:categoryId as bigint) category_id,"
+            + " cast(:logged as bigint) logged_minutes, cast(:estimated as bigint) estimated_minutes,"
+            + " cast(:estimatedLogged as bigint) estimated_logged_minutes) s"
+            + " on b.user_id = s.user_id and b.week_start = s.week_start and b.category_id = s.category_id"
+            + " when matched then update set logged_minutes = b.logged_minutes + s.logged_minutes,"
+            + " entries = b.entries + 1,"
+            + " estimated_minutes = b.estimated_minutes + s.estimated_minutes,"
+            + " estimated_logged_minutes = b.estimated_logged_minutes + s.estimated_logged_minutes"
+            + " when not matched then insert (user_id, week_start, category_id, logged_minutes, entries,"
+            + " estimated_minutes, estimated_logged_minutes)"
+            + " values (s.user_id, s.week_start, s.category_id, s.logged_minutes, 1, s.estimated_minutes, s.estimated_logged_minutes)";
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public List<TimeEntry> findByTask(Long taskId) {
+        return list("task.id = ?1 order by workDate, id", taskId);
+    }
+
+    /** Добавляет запись к недельному итогу пользователя по категории, создавая строку при необходимости */
+    public void addToBucket(long userId, LocalDate weekStart, long categoryId,
+                            long loggedMinutes, long estimatedMinutes, long estimatedLoggedMinutes) {
+        getEntityManager().createNativeQuery("postgresql".equals(dbKind) ? UPSERT_POSTGRES : UPSERT_MERGE)
+                .setParameter("userId", userId)
+                .setParameter("weekStart", weekStart)
+                .setParameter("categoryId", categoryId)
+                .setParameter("logged", loggedMinutes)
+                .setParameter("estimated", estimatedMinutes)
+                .setParameter("estimatedLogged", estimatedLoggedMinutes)
+                .executeUpdate();
+    }
+
+    /** Недельные итоги пользователя с недели from по неделю to включительно */
+    public List<TimeBucket> findBuckets(Long userId, LocalDate from, LocalDate to) {
+        return getEntityManager().createQuery("select b from TimeBucket b where b.userId = :userId"
+                        + " and b.weekStart >= :from and b.weekStart <= :to order by b.weekStart, b.categoryId", TimeBucket.class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    public List<TimeBucket> findBuckets(Long userId) {
+        return getEntityManager().createQuery("select b from TimeBucket b where b.userId = :userId", TimeBucket.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+}
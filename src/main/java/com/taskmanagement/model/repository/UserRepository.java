@@ -1,12 +1,15 @@
 package com.taskmanagement.model.repository;
 
 import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.enums.TaskStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.Session;
 
+import java.util.Arrays;
 import java.util.List;
 
 @ApplicationScoped
@@ -15,16 +18,49 @@ public class UserRepository implements PanacheRepository<User> {
     @Inject
     EntityManager em;
 
+    @Inject
+    ChangeCounter changeCounter;
+
     public User findById(Long id) {
         return find("id", id).firstResult();
     }
 
+    /** Пользователи по списку id одним запросом, в порядке ids; на месте отсутствующих - null */
+    public List<User> findAllByIdsInOrder(List<Long> ids) {
+        return em.unwrap(Session.class)
+                .byMultipleIds(User.class)
+                .withBatchSize(ids.size())
+                .multiLoad(ids);
+    }
+
     public List<User> findAllUser() {
         return find("").list();
     }
 
     @Transactional
     public User save(User user) {
+        changeCounter.increment();
         return em.merge(user);
     }
+
+    //Атомарное изменение счетчика активных задач
+    public void adjustActiveTaskCount(Long userId, int delta) {
+        update("activeTaskCount = activeTaskCount + ?1 where id = ?2", delta, userId);
+    }
+
+    //Перенос активной задачи между исполнителями одним запросом
+    public void transferActiveTask(Long fromUserId, Long toUserId) {
+        update("activeTaskCount = activeTaskCount + case when id = ?2 then 1 else -1 end where id in (?1, ?2)",
+                fromUserId, toUserId);
+    }
+
+    //Пересчет счетчиков по таблице задач (заполнение после миграции и исправление расхождений)
+    @Transactional
+    public int recalculateActiveTaskCounts() {
+        changeCounter.increment();
+        return em.createQuery("update User u set u.activeTaskCount = (select count(t) from Task t"
+                        + " where t.assignee = u and t.status not in :closed)")
+                .setParameter("closed", Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED))
+                .executeUpdate();
+    }
 }
@@ -0,0 +1,161 @@
+package com.taskmanagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Учет SQL на каждый HTTP-запрос: количество операторов, время JDBC и число загруженных сущностей.
+ * В dev/test значения отдаются в заголовках ответа, в prod пишутся в метрики.
+ * Ответ с телом учитывается после записи тела: ленивые загрузки при сериализации JSON - тоже запросы эндпоинта.
+ */
+@Provider
+public class QueryStatsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    public static final String ENTITIES_LOADED_HEADER = "X-Entities-Loaded";
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    // Метод и эндпоинт запроса для aroundWriteTo: ResourceInfo доступен только фильтрам
+    private static final String METHOD_PROPERTY = QueryStatsFilter.class.getName() + ".method";
+    private static final String ENDPOINT_PROPERTY = QueryStatsFilter.class.getName() + ".endpoint";
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "taskmanagement.query-stats.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "taskmanagement.query-stats.headers", defaultValue = "false")
+    boolean headers;
+
+    @ConfigProperty(name = "taskmanagement.query-stats.metrics", defaultValue = "true")
+    boolean metrics;
+
+    @ConfigProperty(name = "taskmanagement.query-stats.max-statements", defaultValue = "20")
+    int maxStatements;
+
+    @ConfigProperty(name = "taskmanagement.query-stats.max-jdbc-time-ms", defaultValue = "500")
+    long maxJdbcTimeMs;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (enabled) {
+            RequestQueryStats.begin();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        String endpoint = endpointName(requestContext);
+        // Тело еще не записано: итог подведет aroundWriteTo
+        if (responseContext.hasEntity()) {
+            requestContext.setProperty(METHOD_PROPERTY, requestContext.getMethod());
+            requestContext.setProperty(ENDPOINT_PROPERTY, endpoint);
+            return;
+        }
+        RequestQueryStats.end();
+        report(requestContext.getMethod(), endpoint, stats, responseContext.getHeaders());
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        String endpoint = (String) context.getProperty(ENDPOINT_PROPERTY);
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (endpoint == null || stats == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(ENDPOINT_PROPERTY);
+        String method = (String) context.getProperty(METHOD_PROPERTY);
+        if (!headers) {
+            try {
+                context.proceed();
+            } finally {
+                RequestQueryStats.end();
+            }
+            report(method, endpoint, stats, null);
+            return;
+        }
+
+        // Заголовки уходят клиенту с первым байтом тела, поэтому в dev/test тело пишется в буфер,
+        // а заголовки ставятся по итогам сериализации
+        OutputStream out = context.getOutputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        context.setOutputStream(body);
+        try {
+            context.proceed();
+        } finally {
+            RequestQueryStats.end();
+            context.setOutputStream(out);
+        }
+        report(method, endpoint, stats, context.getHeaders());
+        body.writeTo(out);
+    }
+
+    private void report(String method, String endpoint, RequestQueryStats stats,
+                        MultivaluedMap<String, Object> responseHeaders) {
+        if (headers && responseHeaders != null) {
+            responseHeaders.putSingle(QUERY_COUNT_HEADER, stats.getStatements());
+            responseHeaders.putSingle(QUERY_TIME_HEADER, String.format("%.3f", stats.getJdbcMillis()));
+            responseHeaders.putSingle(ENTITIES_LOADED_HEADER, stats.getEntitiesLoaded());
+        }
+
+        if (metrics) {
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(stats.getStatements());
+            DistributionSummary.builder("http.server.requests.entities.loaded")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(stats.getEntitiesLoaded());
+            Timer.builder("http.server.requests.sql.time")
+                    .tag("endpoint", endpoint)
+                    .register(registry)
+                    .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        if (stats.getStatements() > maxStatements || stats.getJdbcNanos() > TimeUnit.MILLISECONDS.toNanos(maxJdbcTimeMs)) {
+            LOG.warn("Query budget exceeded by {} {}: {} statements, {} ms JDBC, {} entities loaded",
+                    method, endpoint, stats.getStatements(),
+                    Math.round(stats.getJdbcMillis()), stats.getEntitiesLoaded());
+        }
+    }
+
+    private String endpointName(ContainerRequestContext requestContext) {
+        if (resourceInfo != null && resourceInfo.getResourceMethod() != null) {
+            return resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+        }
+        // Без сопоставленного метода не используем путь как тег, чтобы не раздувать кардинальность
+        return "unmatched";
+    }
+}
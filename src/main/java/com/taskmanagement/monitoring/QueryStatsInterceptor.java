@@ -0,0 +1,24 @@
+package com.taskmanagement.monitoring;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Считает сущности, загруженные из БД в рамках запроса
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class QueryStatsInterceptor implements Interceptor {
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanagement.monitoring;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Слушатель событий сессии Hibernate: считает выполненные JDBC-операторы и время их выполнения.
+ * Подключается через hibernate.session.events.auto, Hibernate создает экземпляр на каждую сессию
+ * по имени класса, поэтому для native-образа класс регистрируется для рефлексии.
+ */
+@RegisterForReflection
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.statementFinished();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
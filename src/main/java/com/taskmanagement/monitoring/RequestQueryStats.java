@@ -0,0 +1,65 @@
+package com.taskmanagement.monitoring;
+
+/**
+ * Счетчики SQL в рамках одного HTTP-запроса.
+ * Запрос в RESTEasy Classic обрабатывается целиком на одном worker-потоке,
+ * поэтому достаточно ThreadLocal.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private long executeStartedAt;
+
+    private RequestQueryStats() {
+    }
+
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void statementStarted() {
+        statements++;
+        executeStartedAt = System.nanoTime();
+    }
+
+    void statementFinished() {
+        if (executeStartedAt != 0) {
+            jdbcNanos += System.nanoTime() - executeStartedAt;
+            executeStartedAt = 0;
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
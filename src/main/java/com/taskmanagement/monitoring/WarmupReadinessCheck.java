@@ -0,0 +1,30 @@
+package com.taskmanagement.monitoring;
+
+import com.taskmanagement.service.WarmupService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness: под не получает трафик, пока не завершен прогрев
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+    @Inject
+    WarmupService warmupService;
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("warmup")
+                .status(warmupService.isComplete());
+        if (warmupService.isComplete()) {
+            builder.withData("durationMs", warmupService.getDurationMs());
+        }
+        return builder.build();
+    }
+}
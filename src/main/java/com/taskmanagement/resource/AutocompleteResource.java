@@ -0,0 +1,33 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.service.AutocompleteService;
+import jakarta.inject.Inject;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Автодополнение для выбора исполнителя, категории и задачи: ?q=iv&type=USER&limit=10
+ */
+@Path("/api/autocomplete")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class AutocompleteResource {
+
+    @Inject
+    AutocompleteService autocompleteService;
+
+    @GET
+    public Response complete(@QueryParam("q") String query,
+                             @QueryParam("type") AutocompleteService.Type type,
+                             @QueryParam("limit") @DefaultValue("10") int limit) {
+        try {
+            return Response.ok(autocompleteService.complete(query, type, limit)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.taskmanagement.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Двоичные представления для межсервисных клиентов: CBOR и Smile выбираются заголовком Accept
+ * (тело запроса - Content-Type). Модель та же, что у JSON: мапперы копируются из ObjectMapper Quarkus
+ * со всеми модулями и настройками, меняется только формат. Ресурсы перечисляют эти типы в @Produces/@Consumes.
+ */
+@Provider
+@Produces({BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
+@Consumes({BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
+public class BinaryJacksonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    private static final MediaType CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+    private static final MediaType SMILE_TYPE = MediaType.valueOf(APPLICATION_SMILE);
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @PostConstruct
+    void init() {
+        cbor = binary(objectMapper.copyWith(new CBORFactory()));
+        smile = binary(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapper(mediaType) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        ObjectMapper mapper = mapper(mediaType);
+        try {
+            return mapper.readValue(entityStream, mapper.constructType(genericType));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed " + mediaType + " body: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapper(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        mapper(mediaType).writeValue(entityStream, value);
+    }
+
+    private ObjectMapper mapper(MediaType mediaType) {
+        // Без isCompatible: для */* он тоже истинен, а такие ответы должен писать JSON-провайдер
+        if (sameType(mediaType, CBOR_TYPE)) {
+            return cbor;
+        }
+        if (sameType(mediaType, SMILE_TYPE)) {
+            return smile;
+        }
+        return null;
+    }
+
+    private static boolean sameType(MediaType mediaType, MediaType expected) {
+        return mediaType != null
+                && expected.getType().equalsIgnoreCase(mediaType.getType())
+                && expected.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    // Потоки запроса и ответа закрывает контейнер
+    private static ObjectMapper binary(ObjectMapper mapper) {
+        return mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+                .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+    }
+}
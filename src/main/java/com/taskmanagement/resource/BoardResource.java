@@ -0,0 +1,37 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.service.BoardService;
+import jakarta.inject.Inject;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Канбан-доска: колонки по статусам с ограничением числа карточек в колонке
+ */
+@Path("/api/boards")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class BoardResource {
+
+    @Inject
+    BoardService boardService;
+
+    @GET
+    public Response getBoard(@QueryParam("category") String category,
+                             @QueryParam("userId") Long userId,
+                             @QueryParam("limit") @DefaultValue("20") int limit) {
+        try {
+            return Response.ok(boardService.getBoard(category, userId, limit)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+}
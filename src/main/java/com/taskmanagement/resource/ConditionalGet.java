@@ -0,0 +1,65 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.ResourceVersion;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Условный GET: ETag и Last-Modified строятся по легкой версии данных до основной выборки.
+ * Если клиент прислал совпадающие If-None-Match / If-Modified-Since, ответ 304 отдается без запроса
+ * данных и без сериализации. В ETag входят строка запроса и Accept, поэтому разные представления
+ * одного ресурса (фильтры, ?fields, CBOR) получают разные теги.
+ */
+final class ConditionalGet {
+
+    // Клиент может хранить ответ, но обязан перепроверять его по ETag
+    private static final CacheControl REVALIDATE = CacheControl.valueOf("no-cache");
+
+    private final EntityTag tag;
+    private final Date lastModified;
+
+    private ConditionalGet(EntityTag tag, Date lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    static ConditionalGet of(ResourceVersion version, UriInfo uriInfo, HttpHeaders headers) {
+        String representation = version.getValue()
+                + "|" + uriInfo.getRequestUri().getRawQuery()
+                + "|" + headers.getHeaderString(HttpHeaders.ACCEPT);
+        EntityTag tag = new EntityTag(UUID.nameUUIDFromBytes(representation.getBytes(StandardCharsets.UTF_8)).toString());
+        // В HTTP-дате нет миллисекунд: без усечения If-Modified-Since никогда бы не совпал
+        Date lastModified = null;
+        if (version.getLastModified() != null) {
+            lastModified = Date.from(version.getLastModified().atZone(ZoneId.systemDefault()).toInstant()
+                    .truncatedTo(ChronoUnit.SECONDS));
+        }
+        return new ConditionalGet(tag, lastModified);
+    }
+
+    /** 304 Not Modified, если копия клиента актуальна, иначе null */
+    Response notModified(Request request) {
+        Response.ResponseBuilder builder = lastModified != null
+                ? request.evaluatePreconditions(lastModified, tag)
+                : request.evaluatePreconditions(tag);
+        return builder != null ? builder.cacheControl(REVALIDATE).build() : null;
+    }
+
+    Response ok(Object entity) {
+        Response.ResponseBuilder builder = Response.ok(entity).tag(tag).cacheControl(REVALIDATE);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.build();
+    }
+}
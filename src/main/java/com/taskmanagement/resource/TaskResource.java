@@ -1,25 +1,42 @@
 package com.taskmanagement.resource;
 
+import com.taskmanagement.audit.TaskHistoryService;
+import com.taskmanagement.model.dto.CriticalPathResponse;
+import com.taskmanagement.model.dto.IdsRequest;
 import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.dto.TaskListResponse;
+import com.taskmanagement.model.dto.TaskStateAsOf;
 import com.taskmanagement.model.dto.TaskStatistics;
+import com.taskmanagement.model.dto.TimeEntryRequest;
 import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeEntry;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.service.DependencyService;
 import com.taskmanagement.service.StatisticsService;
 import com.taskmanagement.service.TaskService;
+import com.taskmanagement.service.TimeTrackingService;
 import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import jakarta.validation.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Path("/api/tasks")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
 public class TaskResource {
 
     @Inject
@@ -28,12 +45,62 @@ public class TaskResource {
     @Inject
     StatisticsService statisticsService;
 
+    @Inject
+    DependencyService dependencyService;
+
+    @Inject
+    TaskHistoryService taskHistoryService;
+
+    @Inject
+    TimeTrackingService timeTrackingService;
+
+    @Context
+    Request httpRequest;
+
+    @Context
+    UriInfo uriInfo;
+
+    @Context
+    HttpHeaders httpHeaders;
+
     private static final Logger LOG = LoggerFactory.getLogger(TaskResource.class);
 
+    // Ответ 409 на конфликт версии задачи (@Version): запрос можно повторить
+    private static final String CONCURRENT_UPDATE = "Task was modified concurrently, retry the request";
+
     @GET
-    public Response getAllTasks(@QueryParam("status") TaskStatus status,
+    public Response getAllTasks(@QueryParam("ids") String ids,
+                                @QueryParam("status") TaskStatus status,
                                 @QueryParam("priority") TaskPriority priority,
-                                @QueryParam("userId") Long userId) {
+                                @QueryParam("userId") Long userId,
+                                @QueryParam("compact") boolean compact,
+                                @QueryParam("fields") String fields) {
+        if (ids != null) {
+            try {
+                return Response.ok(taskService.getTasks(IdsRequest.parse(ids))).build();
+            } catch (ValidationException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(e.getMessage())
+                        .build();
+            }
+        }
+        // Версия общая для всех вариантов списка: при любом изменении задач меняются все их ETag.
+        // Multi-get по ids не версионируется: это точечная выборка, а не опрашиваемый список
+        ConditionalGet conditional = ConditionalGet.of(taskService.getTasksVersion(), uriInfo, httpHeaders);
+        Response notModified = conditional.notModified(httpRequest);
+        if (notModified != null) {
+            return notModified;
+        }
+        //?fields=id,title,status: из БД читаются только эти столбцы
+        if (fields != null) {
+            try {
+                return conditional.ok(taskService.getTaskFields(fields, status, priority, userId));
+            } catch (ValidationException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(e.getMessage())
+                        .build();
+            }
+        }
         try {
             List<Task> tasks;
 
@@ -43,7 +110,7 @@ public class TaskResource {
                 tasks = taskService.getAllTasks();
             }
 
-            return Response.ok(tasks).build();
+            return conditional.ok(list(tasks, compact));
         } catch (Exception e) {
             LOG.error("Error getting tasks", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -52,12 +119,49 @@ public class TaskResource {
         }
     }
 
+    //Несколько задач одним запросом: {"ids": [3, 1, 2]}, порядок ответа совпадает с порядком id
+    @POST
+    @Path("/_mget")
+    public Response multiGetTasks(IdsRequest request) {
+        try {
+            return Response.ok(taskService.getTasks(request != null ? request.getIds() : null)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
     @GET
     @Path("/{id}")
-    public Response getTaskById(@PathParam("id") Long id) {
+    public Response getTaskById(@PathParam("id") Long id,
+                                @QueryParam("fields") String fields) {
+        // Частичный ответ: сначала легкий запрос версии, выборка полей - только если копия клиента устарела
+        if (fields != null) {
+            try {
+                List<String> names = TaskService.parseFields(fields);
+                ConditionalGet conditional = ConditionalGet.of(taskService.getTaskVersion(id), uriInfo, httpHeaders);
+                Response notModified = conditional.notModified(httpRequest);
+                if (notModified != null) {
+                    return notModified;
+                }
+                return conditional.ok(taskService.getTaskFields(id, names));
+            } catch (ValidationException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(e.getMessage())
+                        .build();
+            } catch (NotFoundException e) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity(e.getMessage())
+                        .build();
+            }
+        }
         try {
+            // Задача по id - один запрос, версия берется из нее; при совпадении ETag пропускается сериализация
             Task task = taskService.getTaskById(id);
-            return Response.ok(task).build();
+            ConditionalGet conditional = ConditionalGet.of(taskService.getTaskVersion(task), uriInfo, httpHeaders);
+            Response notModified = conditional.notModified(httpRequest);
+            return notModified != null ? notModified : conditional.ok(task);
         } catch (Exception e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(e.getMessage())
@@ -90,6 +194,14 @@ public class TaskResource {
         try {
             Task task = taskService.updateStatus(id, newStatus);
             return Response.ok(task).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity(e.getMessage())
@@ -108,6 +220,10 @@ public class TaskResource {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(e.getMessage())
                     .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
         }
     }
 
@@ -122,6 +238,273 @@ public class TaskResource {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(e.getMessage())
                     .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/claim")
+    @Consumes(MediaType.WILDCARD)
+    public Response claimTask(@QueryParam("userId") Long userId,
+                              @QueryParam("category") String category) {
+        if (userId == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("userId is required")
+                    .build();
+        }
+        try {
+            Task task = taskService.claimNextTask(userId, category);
+            if (task == null) {
+                return Response.noContent().build();
+            }
+            return Response.ok(task).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/{id}/auto-assign")
+    @Consumes(MediaType.WILDCARD) // тела нет, Content-Type не требуется
+    public Response autoAssign(@PathParam("id") Long taskId,
+                               @QueryParam("categoryId") Long categoryId) {
+        try {
+            Task task = taskService.autoAssign(taskId, categoryId);
+            return Response.ok(task).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/subtasks")
+    public Response getSubtasks(@PathParam("id") Long id) {
+        try {
+            return Response.ok(dependencyService.getSubtasks(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/blockers")
+    public Response getBlockers(@PathParam("id") Long id) {
+        try {
+            return Response.ok(dependencyService.getBlockers(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @PUT
+    @Path("/{id}/blockers/{blockerId}")
+    @Consumes(MediaType.WILDCARD)
+    public Response addBlocker(@PathParam("id") Long id,
+                               @PathParam("blockerId") Long blockerId) {
+        try {
+            dependencyService.addBlocker(id, blockerId);
+            return Response.noContent().build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @DELETE
+    @Path("/{id}/blockers/{blockerId}")
+    public Response removeBlocker(@PathParam("id") Long id,
+                                  @PathParam("blockerId") Long blockerId) {
+        if (!dependencyService.removeBlocker(id, blockerId)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.noContent().build();
+    }
+
+    //Все задачи, транзитивно ожидающие эту
+    @GET
+    @Path("/{id}/dependents")
+    public Response getDependents(@PathParam("id") Long id) {
+        try {
+            return Response.ok(dependencyService.getDependents(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/critical-path")
+    public Response getCriticalPath(@PathParam("id") Long id) {
+        try {
+            CriticalPathResponse path = dependencyService.getCriticalPath(id);
+            return Response.ok(path).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    //Поиск по меткам: все tag, ни одного excludeTag, плюс статус, приоритет и исполнитель.
+    //С q - полнотекстовый поиск по заголовку и описанию, результаты по рангу с подсветкой
+    @GET
+    @Path("/search")
+    public Response searchTasks(@QueryParam("q") String query,
+                                @QueryParam("tag") List<String> tags,
+                                @QueryParam("excludeTag") List<String> excludedTags,
+                                @QueryParam("status") TaskStatus status,
+                                @QueryParam("priority") TaskPriority priority,
+                                @QueryParam("userId") Long userId,
+                                @QueryParam("page") @DefaultValue("0") int page,
+                                @QueryParam("size") @DefaultValue("20") int size) {
+        try {
+            if (query != null && !query.isBlank()) {
+                return Response.ok(taskService.searchText(query, tags, excludedTags, status, priority, userId, page, size))
+                        .build();
+            }
+            return Response.ok(taskService.searchTasks(tags, excludedTags, status, priority, userId, page, size)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{id}/tags")
+    public Response getTags(@PathParam("id") Long id) {
+        try {
+            return Response.ok(taskService.getTags(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @PUT
+    @Path("/{id}/tags/{tag}")
+    @Consumes(MediaType.WILDCARD)
+    public Response addTag(@PathParam("id") Long id,
+                           @PathParam("tag") String tag) {
+        try {
+            taskService.addTag(id, tag);
+            return Response.noContent().build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
+        }
+    }
+
+    @DELETE
+    @Path("/{id}/tags/{tag}")
+    public Response removeTag(@PathParam("id") Long id,
+                              @PathParam("tag") String tag) {
+        try {
+            taskService.removeTag(id, tag);
+            return Response.noContent().build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (OptimisticLockException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(CONCURRENT_UPDATE)
+                    .build();
+        }
+    }
+
+    //История изменений задачи (доступна и после удаления задачи)
+    @GET
+    @Path("/{id}/history")
+    public Response getHistory(@PathParam("id") Long id) {
+        return Response.ok(taskHistoryService.getHistory(id)).build();
+    }
+
+    //Состояние задачи на момент времени, например ?at=2026-01-31T18:00:00
+    @GET
+    @Path("/{id}/state")
+    public Response getStateAsOf(@PathParam("id") Long id,
+                                 @QueryParam("at") String at) {
+        LocalDateTime moment;
+        try {
+            moment = at != null ? LocalDateTime.parse(at) : LocalDateTime.now();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid timestamp: " + at)
+                    .build();
+        }
+        TaskStateAsOf state = taskHistoryService.getStateAsOf(id, moment);
+        if (state == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("No history for task " + id + " before " + moment)
+                    .build();
+        }
+        return Response.ok(state).build();
+    }
+
+    @GET
+    @Path("/{id}/time")
+    public Response getTimeEntries(@PathParam("id") Long id) {
+        try {
+            return Response.ok(timeTrackingService.getEntries(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @POST
+    @Path("/{id}/time")
+    public Response logTime(@PathParam("id") Long id, TimeEntryRequest request) {
+        try {
+            TimeEntry entry = timeTrackingService.logTime(id, request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(entry)
+                    .build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
         }
     }
 
@@ -140,22 +523,82 @@ public class TaskResource {
 
     @GET
     @Path("/overdue")
-    public Response getOverdueTasks() {
+    public Response getOverdueTasks(@QueryParam("compact") boolean compact) {
         List<Task> tasks = taskService.getOverdueTasks();
-        return Response.ok(tasks).build();
+        return Response.ok(list(tasks, compact)).build();
     }
 
     @GET
     @Path("/due-soon")
-    public Response getTasksDueSoon(@QueryParam("days") @DefaultValue("7") int days) {
+    public Response getTasksDueSoon(@QueryParam("days") @DefaultValue("7") int days,
+                                    @QueryParam("compact") boolean compact) {
         List<Task> tasks = taskService.getTasksDueSoon(days);
-        return Response.ok(tasks).build();
+        return Response.ok(list(tasks, compact)).build();
+    }
+
+    //Календарь по срокам: ?from=2026-11-01&to=2026-11-30, задачи дня - /calendar/{date}
+    @GET
+    @Path("/calendar")
+    public Response getCalendar(@QueryParam("from") String from,
+                                @QueryParam("to") String to,
+                                @QueryParam("userId") Long userId) {
+        if (from == null || to == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("from and to are required")
+                    .build();
+        }
+        try {
+            return Response.ok(taskService.getCalendar(LocalDate.parse(from), LocalDate.parse(to), userId)).build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date: " + e.getParsedString())
+                    .build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/calendar/{date}")
+    public Response getTasksDueOn(@PathParam("date") String date,
+                                  @QueryParam("userId") Long userId,
+                                  @QueryParam("compact") boolean compact,
+                                  @QueryParam("page") @DefaultValue("0") int page,
+                                  @QueryParam("size") @DefaultValue("100") int size) {
+        LocalDate day;
+        try {
+            day = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date: " + date)
+                    .build();
+        }
+        try {
+            return Response.ok(list(taskService.getTasksDueOn(day, userId, page, size), compact)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
     }
 
     @GET
     @Path("/statistics")
     public Response getStatistics() {
+        ConditionalGet conditional =
+                ConditionalGet.of(statisticsService.getTaskStatisticsVersion(), uriInfo, httpHeaders);
+        Response notModified = conditional.notModified(httpRequest);
+        if (notModified != null) {
+            return notModified;
+        }
         TaskStatistics stats = statisticsService.getTaskStatistics();
-        return Response.ok(stats).build();
+        return conditional.ok(stats);
+    }
+
+    //?compact=true: исполнитель и категория по id, сами объекты один раз в included
+    private static Object list(List<Task> tasks, boolean compact) {
+        return compact ? TaskListResponse.of(tasks) : tasks;
     }
 }
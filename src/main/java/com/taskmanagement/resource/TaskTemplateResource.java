@@ -0,0 +1,70 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskTemplateRequest;
+import com.taskmanagement.model.entity.TaskTemplate;
+import com.taskmanagement.service.TaskTemplateService;
+import jakarta.inject.Inject;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Шаблоны повторяющихся задач; экземпляры создает ScheduledTaskService.generateRecurringTasks
+ */
+@Path("/api/templates")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class TaskTemplateResource {
+
+    @Inject
+    TaskTemplateService templateService;
+
+    @GET
+    public Response getTemplates() {
+        return Response.ok(templateService.getActive()).build();
+    }
+
+    @GET
+    @Path("/{id}")
+    public Response getTemplate(@PathParam("id") Long id) {
+        try {
+            return Response.ok(templateService.getById(id)).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @POST
+    public Response createTemplate(TaskTemplateRequest request) {
+        try {
+            TaskTemplate template = templateService.create(request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(template)
+                    .build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Response deactivateTemplate(@PathParam("id") Long id) {
+        try {
+            templateService.deactivate(id);
+            return Response.noContent().build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+}
@@ -1,22 +1,27 @@
 package com.taskmanagement.resource;
 
+import com.taskmanagement.model.dto.IdsRequest;
 import com.taskmanagement.model.dto.UserCreateDto;
 import com.taskmanagement.model.dto.UserStatistics;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.repository.UserRepository;
 import com.taskmanagement.service.StatisticsService;
+import com.taskmanagement.service.TimeTrackingService;
 import com.taskmanagement.service.UserService;
 import jakarta.inject.Inject;
+import jakarta.validation.ValidationException;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
 @Path("/api/users")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, BinaryJacksonProvider.APPLICATION_CBOR, BinaryJacksonProvider.APPLICATION_SMILE})
 public class UserResource {
 
     @Inject
@@ -28,12 +33,37 @@ public class UserResource {
     @Inject
     StatisticsService statisticsService;
 
+    @Inject
+    TimeTrackingService timeTrackingService;
+
     @GET
-    public Response getAllUsers() {
+    public Response getAllUsers(@QueryParam("ids") String ids) {
+        if (ids != null) {
+            try {
+                return Response.ok(userService.getUsers(IdsRequest.parse(ids))).build();
+            } catch (ValidationException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(e.getMessage())
+                        .build();
+            }
+        }
         List<User> users = userRepository.findAllUser();
         return Response.ok(users).build();
     }
 
+    //Несколько пользователей одним запросом: {"ids": [3, 1, 2]}
+    @POST
+    @Path("/_mget")
+    public Response multiGetUsers(IdsRequest request) {
+        try {
+            return Response.ok(userService.getUsers(request != null ? request.getIds() : null)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
     @GET
     @Path("/{id}")
     public Response getUserById(@PathParam("id") Long id) {
@@ -55,6 +85,35 @@ public class UserResource {
         }
     }
 
+    //Часы по неделям и категориям, по умолчанию за последние 12 недель
+    @GET
+    @Path("/{id}/time")
+    public Response getWeeklyHours(@PathParam("id") Long id,
+                                   @QueryParam("from") String from,
+                                   @QueryParam("to") String to) {
+        LocalDate end;
+        LocalDate start;
+        try {
+            end = to != null ? LocalDate.parse(to) : LocalDate.now();
+            start = from != null ? LocalDate.parse(from) : end.minusWeeks(12);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Invalid date: " + e.getParsedString())
+                    .build();
+        }
+        try {
+            return Response.ok(timeTrackingService.getWeeklyHours(id, start, end)).build();
+        } catch (ValidationException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
     @POST
     public Response createUser(UserCreateDto user) {
         User saved = userService.createUser(user);
@@ -0,0 +1,283 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Автоназначение задач на наименее загруженного активного пользователя.
+ * Загрузка пользователя - сумма по открытым задачам: уровень приоритета * оценка в часах (без оценки - 1 час).
+ * Загрузка хранится в индексированных кучах (общая и по категориям) и обновляется по событиям
+ * TaskChangedEvent после коммита, поэтому выбор стоит O(1), а обновление O(log n).
+ * Индекс локален для экземпляра приложения и периодически перестраивается из БД.
+ * Для каждой открытой назначенной задачи хранится ее вклад в загрузку, и событие заменяет вклад задачи
+ * целиком, поэтому повторно примененное событие ничего не меняет. Это позволяет проигрывать события,
+ * пришедшие во время перестройки, так же как в TaskBitmapIndex.
+ */
+@ApplicationScoped
+public class AssignmentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssignmentService.class);
+
+    @Inject
+    EntityManager em;
+
+    private final UserLoadQueue global = new UserLoadQueue();
+    // Категория -> пользователи, которые уже работали с задачами этой категории
+    private final Map<Long, UserLoadQueue> byCategory = new HashMap<>();
+    private final Map<Long, Set<Long>> categoriesByUser = new HashMap<>();
+    // Задача -> вклад в загрузку исполнителя; только открытые назначенные задачи
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private boolean built;
+    // События, пришедшие во время перестройки; null - перестройка не идет. Под монитором this
+    private List<Object> pending;
+    // Перестройки идут по одной; состояние индекса защищает монитор this, чтения из БД идут без него
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Наименее загруженный активный пользователь. С категорией выбор идет среди пользователей,
+     * работавших в ней; если таких нет, среди всех. null - активных пользователей нет.
+     */
+    public Long pickUser(Long categoryId) {
+        synchronized (this) {
+            if (built) {
+                return peek(categoryId);
+            }
+        }
+        synchronized (rebuildLock) {
+            // Параллельные первые вызовы строят индекс один раз
+            if (!isBuilt()) {
+                rebuild();
+            }
+        }
+        synchronized (this) {
+            return peek(categoryId);
+        }
+    }
+
+    /** Полная перестройка индекса из БД */
+    @Transactional
+    @Scheduled(every = "${taskmanagement.assignment.rebuild-interval:10m}", delayed = "${taskmanagement.assignment.rebuild-interval:10m}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                rebuildFromDatabase();
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        List<Long> activeUsers = em.createQuery("select u.id from User u where u.active = true", Long.class)
+                .getResultList();
+        List<Object[]> openTasks = em.createQuery("select t.id, t.assignee.id, t.priority, t.estimatedHours from Task t"
+                        + " where t.assignee is not null and t.status not in :closed", Object[].class)
+                .setParameter("closed", Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED))
+                .getResultList();
+        List<Object[]> memberships = em.createQuery("select distinct t.category.id, t.assignee.id from Task t"
+                        + " where t.assignee is not null and t.category is not null", Object[].class)
+                .getResultList();
+
+        Map<Long, Double> loads = new HashMap<>(activeUsers.size() * 2);
+        for (Long userId : activeUsers) {
+            loads.put(userId, 0.0);
+        }
+        Map<Long, Contribution> newContributions = new HashMap<>(openTasks.size() * 2);
+        for (Object[] row : openTasks) {
+            Contribution contribution = new Contribution((Long) row[1], weight((TaskPriority) row[2], (Integer) row[3]));
+            newContributions.put((Long) row[0], contribution);
+            loads.computeIfPresent(contribution.userId, (id, load) -> load + contribution.weight);
+        }
+
+        int replayed;
+        synchronized (this) {
+            global.clear();
+            byCategory.clear();
+            categoriesByUser.clear();
+            contributions.clear();
+            contributions.putAll(newContributions);
+            loads.forEach(global::set);
+            for (Object[] row : memberships) {
+                joinCategory((Long) row[1], (Long) row[0]);
+            }
+            // Изменения, закоммиченные во время чтения, могли не попасть в прочитанные строки.
+            // Повторное применение уже прочитанного изменения ничего не меняет
+            replayed = pending.size();
+            for (Object event : pending) {
+                if (event instanceof TaskChangedEvent) {
+                    apply((TaskChangedEvent) event);
+                } else {
+                    apply((TasksGeneratedEvent) event);
+                }
+            }
+            built = true;
+        }
+        LOG.info("Assignment index rebuilt: {} active users, {} open tasks, {} events replayed",
+                activeUsers.size(), openTasks.size(), replayed);
+    }
+
+    void onTaskChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskChangedEvent event) {
+        synchronized (this) {
+            if (record(event)) {
+                apply(event);
+            }
+        }
+    }
+
+    void onTasksGenerated(@Observes(during = TransactionPhase.AFTER_SUCCESS) TasksGeneratedEvent event) {
+        synchronized (this) {
+            if (record(event)) {
+                apply(event);
+            }
+        }
+    }
+
+    /** Новый активный пользователь сразу участвует в выборе с нулевой загрузкой */
+    public synchronized void userAdded(User user) {
+        if (built && Boolean.TRUE.equals(user.active) && !global.contains(user.id)) {
+            global.set(user.id, 0.0);
+        }
+    }
+
+    synchronized double loadOf(Long userId) {
+        return global.load(userId);
+    }
+
+    private synchronized boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Запоминает событие для проигрывания, если идет перестройка; true - индекс построен и событие надо
+     * применить к нему сразу. До первой перестройки события не нужны: она прочитает их результат из БД.
+     * Вызывается под монитором this.
+     */
+    private boolean record(Object event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        return built;
+    }
+
+    private void apply(TaskChangedEvent event) {
+        update(event.getTaskId(), event.getAfter());
+    }
+
+    private void apply(TasksGeneratedEvent event) {
+        for (TaskSnapshot task : event.getTasks()) {
+            update(task.getId(), task);
+        }
+    }
+
+    /** Заменяет вклад задачи ее состоянием после изменения; task == null - задача удалена */
+    private void update(Long taskId, TaskSnapshot task) {
+        Contribution next = task != null && task.isActive() && task.getAssigneeId() != null
+                ? new Contribution(task.getAssigneeId(), weight(task.getPriority(), task.getEstimatedHours()))
+                : null;
+        Contribution previous = next != null ? contributions.put(taskId, next) : contributions.remove(taskId);
+        if (previous != null && !previous.equals(next)) {
+            addLoad(previous.userId, -previous.weight);
+        }
+        if (next != null && !next.equals(previous)) {
+            addLoad(next.userId, next.weight);
+        }
+        if (task != null && task.getAssigneeId() != null && task.getCategoryId() != null) {
+            joinCategory(task.getAssigneeId(), task.getCategoryId());
+        }
+    }
+
+    static double weight(TaskPriority priority, Integer estimatedHours) {
+        int level = priority != null ? priority.getLevel() : TaskPriority.MEDIUM.getLevel();
+        int hours = estimatedHours != null && estimatedHours > 0 ? estimatedHours : 1;
+        return (double) level * hours;
+    }
+
+    private Long peek(Long categoryId) {
+        if (categoryId != null) {
+            UserLoadQueue queue = byCategory.get(categoryId);
+            if (queue != null && queue.size() > 0) {
+                return queue.peek();
+            }
+        }
+        return global.peek();
+    }
+
+    private void addLoad(Long userId, double delta) {
+        if (!global.contains(userId)) {
+            return; // неактивный пользователь
+        }
+        // Сумма с плавающей точкой не должна уходить в минус из-за погрешности
+        double load = Math.max(0.0, global.load(userId) + delta);
+        global.set(userId, load);
+        Set<Long> categories = categoriesByUser.get(userId);
+        if (categories != null) {
+            for (Long categoryId : categories) {
+                byCategory.get(categoryId).set(userId, load);
+            }
+        }
+    }
+
+    private void joinCategory(Long userId, Long categoryId) {
+        if (!global.contains(userId)) {
+            return;
+        }
+        if (categoriesByUser.computeIfAbsent(userId, id -> new HashSet<>()).add(categoryId)) {
+            byCategory.computeIfAbsent(categoryId, id -> new UserLoadQueue()).set(userId, global.load(userId));
+        }
+    }
+
+    /** Вклад открытой задачи в загрузку исполнителя */
+    private static final class Contribution {
+        final Long userId;
+        final double weight;
+
+        Contribution(Long userId, double weight) {
+            this.userId = userId;
+            this.weight = weight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Contribution)) {
+                return false;
+            }
+            Contribution other = (Contribution) o;
+            return userId.equals(other.userId) && weight == other.weight;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, weight);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.AutocompleteItem;
+import com.taskmanagement.model.dto.AutocompleteResponse;
+import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Автодополнение по префиксу для пользователей (имя, email), категорий и заголовков последних задач.
+ * Ключи хранятся в отсортированных массивах PrefixIndex: имя индексируется целиком и с начала каждого слова,
+ * поэтому "pet" находит "Ivan Petrov". Запрос не обращается к БД. Новые пользователи и категории
+ * добавляются их сервисами, задачи - событиями после коммита; индекс локален для экземпляра приложения
+ * и периодически перестраивается из БД. Изменения, пришедшие во время перестройки, проигрываются на новом индексе.
+ */
+@ApplicationScoped
+public class AutocompleteService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AutocompleteService.class);
+
+    static final int MAX_LIMIT = 50;
+    // Длиннее ключи не хранятся: для выбора из списка хватает начала строки
+    static final int MAX_KEY_LENGTH = 64;
+
+    public enum Type { USER, CATEGORY, TASK }
+
+    @Inject
+    EntityManager em;
+
+    @ConfigProperty(name = "taskmanagement.autocomplete.recent-tasks", defaultValue = "10000")
+    int recentTasksLimit;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixIndex users = new PrefixIndex();
+    private PrefixIndex categories = new PrefixIndex();
+    private PrefixIndex tasks = new PrefixIndex();
+    private Map<Long, AutocompleteItem> userItems = new HashMap<>();
+    private Map<Long, AutocompleteItem> categoryItems = new HashMap<>();
+    // id -> заголовок последних задач; при переполнении вытесняются самые старые (меньший id)
+    private TreeMap<Long, String> recentTasks = new TreeMap<>();
+    private volatile boolean built;
+    // Изменения, пришедшие во время перестройки (события задач, User, Category); null - перестройка не идет. Под lock
+    private List<Object> pending;
+
+    /** Первые limit вариантов каждого запрошенного типа (type == null - все типы) в алфавитном порядке */
+    public AutocompleteResponse complete(String query, Type type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            throw new ValidationException("Query is required");
+        }
+        if (!built) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            List<AutocompleteItem> foundUsers = Collections.emptyList();
+            List<AutocompleteItem> foundCategories = Collections.emptyList();
+            List<AutocompleteItem> foundTasks = Collections.emptyList();
+            if (type == null || type == Type.USER) {
+                foundUsers = items(users.find(prefix, limit), userItems::get);
+            }
+            if (type == null || type == Type.CATEGORY) {
+                foundCategories = items(categories.find(prefix, limit), categoryItems::get);
+            }
+            if (type == null || type == Type.TASK) {
+                foundTasks = items(tasks.find(prefix, limit), id -> new AutocompleteItem(id, recentTasks.get(id), null));
+            }
+            return new AutocompleteResponse(foundUsers, foundCategories, foundTasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Полная перестройка индекса из БД */
+    @Transactional
+    @Scheduled(every = "${taskmanagement.autocomplete.rebuild-interval:10m}", delayed = "${taskmanagement.autocomplete.rebuild-interval:10m}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuildFromDatabase();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        List<Object[]> userRows = em.createQuery("select u.id, u.name, u.email from User u", Object[].class)
+                .getResultList();
+        List<Object[]> categoryRows = em.createQuery("select c.id, c.name from Category c", Object[].class)
+                .getResultList();
+        List<Object[]> taskRows = em.createQuery("select t.id, t.title from Task t order by t.id desc", Object[].class)
+                .setMaxResults(recentTasksLimit)
+                .getResultList();
+
+        PrefixIndex newUsers = new PrefixIndex();
+        PrefixIndex newCategories = new PrefixIndex();
+        PrefixIndex newTasks = new PrefixIndex();
+        Map<Long, AutocompleteItem> newUserItems = new HashMap<>(userRows.size() * 2);
+        Map<Long, AutocompleteItem> newCategoryItems = new HashMap<>();
+        TreeMap<Long, String> newRecentTasks = new TreeMap<>();
+        for (Object[] row : userRows) {
+            AutocompleteItem item = new AutocompleteItem((Long) row[0], (String) row[1], (String) row[2]);
+            newUserItems.put(item.getId(), item);
+            userKeys(item).forEach(key -> newUsers.append(key, item.getId()));
+        }
+        for (Object[] row : categoryRows) {
+            AutocompleteItem item = new AutocompleteItem((Long) row[0], (String) row[1], null);
+            newCategoryItems.put(item.getId(), item);
+            keys(item.getLabel()).forEach(key -> newCategories.append(key, item.getId()));
+        }
+        for (Object[] row : taskRows) {
+            long id = (Long) row[0];
+            newRecentTasks.put(id, (String) row[1]);
+            keys((String) row[1]).forEach(key -> newTasks.append(key, id));
+        }
+        newUsers.sort();
+        newCategories.sort();
+        newTasks.sort();
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            users = newUsers;
+            categories = newCategories;
+            tasks = newTasks;
+            userItems = newUserItems;
+            categoryItems = newCategoryItems;
+            recentTasks = newRecentTasks;
+            // Изменения, закоммиченные после выборок, в них могли не попасть; повторное применение ничего не меняет
+            replayed = pending.size();
+            for (Object change : pending) {
+                if (change instanceof TaskChangedEvent) {
+                    apply((TaskChangedEvent) change);
+                } else if (change instanceof TasksGeneratedEvent) {
+                    addTasks(((TasksGeneratedEvent) change).getTasks());
+                } else if (change instanceof User) {
+                    apply((User) change);
+                } else {
+                    apply((Category) change);
+                }
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Autocomplete index rebuilt: {} users, {} categories, {} recent tasks, {} changes replayed",
+                userRows.size(), categoryRows.size(), taskRows.size(), replayed);
+    }
+
+    public void userAdded(User user) {
+        lock.writeLock().lock();
+        try {
+            if (record(user)) {
+                apply(user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void categoryAdded(Category category) {
+        lock.writeLock().lock();
+        try {
+            if (record(category)) {
+                apply(category);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void onTaskChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskChangedEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        // Статус, приоритет и исполнитель на заголовок не влияют
+        if (before != null && after != null && Objects.equals(before.getTitle(), after.getTitle())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void onTasksGenerated(@Observes(during = TransactionPhase.AFTER_SUCCESS) TasksGeneratedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                addTasks(event.getTasks());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Запоминает изменение для проигрывания, если идет перестройка; true - индекс построен и изменение надо
+     * применить к нему сразу. До первой перестройки изменения не нужны: она прочитает их из БД.
+     * Вызывается под блокировкой записи.
+     */
+    private boolean record(Object change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        return built;
+    }
+
+    /** Ключи строки: вся строка и ее окончания с начала каждого слова, в нижнем регистре */
+    static List<String> keys(String text) {
+        String normalized = normalize(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)))) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        if (!normalized.isEmpty() && (keys.isEmpty() || !keys.get(0).equals(normalized))) {
+            keys.add(normalized);
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    // Email ищется только с начала: окончания вида "example.com" совпадали бы у всех пользователей домена
+    private static List<String> userKeys(AutocompleteItem user) {
+        List<String> keys = keys(user.getLabel());
+        String email = normalize(user.getDetail());
+        if (!email.isEmpty()) {
+            keys.add(email);
+        }
+        return keys;
+    }
+
+    private void apply(User user) {
+        AutocompleteItem item = new AutocompleteItem(user.id, user.name, user.email);
+        userItems.put(item.getId(), item);
+        users.addAll(PrefixIndex.of(userKeys(item), item.getId()));
+    }
+
+    private void apply(Category category) {
+        AutocompleteItem item = new AutocompleteItem(category.id, category.name, null);
+        categoryItems.put(item.getId(), item);
+        categories.addAll(PrefixIndex.of(keys(item.getLabel()), item.getId()));
+    }
+
+    private void apply(TaskChangedEvent event) {
+        if (event.getBefore() != null) {
+            removeTask(event.getBefore().getId());
+        }
+        if (event.getAfter() != null) {
+            addTasks(List.of(event.getAfter()));
+        }
+    }
+
+    /**
+     * Ключи всех задач пакета сливаются с индексом одним проходом, вытесненные старые задачи
+     * удаляются тоже одним проходом
+     */
+    private void addTasks(Collection<TaskSnapshot> added) {
+        PrefixIndex batch = new PrefixIndex();
+        for (TaskSnapshot task : added) {
+            long id = task.getId();
+            String title = task.getTitle();
+            if (title == null || (!recentTasks.isEmpty() && recentTasks.size() >= recentTasksLimit
+                    && id < recentTasks.firstKey())) {
+                continue;
+            }
+            recentTasks.put(id, title);
+            keys(title).forEach(key -> batch.append(key, id));
+        }
+        batch.sort();
+        tasks.addAll(batch);
+
+        PrefixIndex evicted = new PrefixIndex();
+        while (recentTasks.size() > recentTasksLimit) {
+            Map.Entry<Long, String> oldest = recentTasks.pollFirstEntry();
+            keys(oldest.getValue()).forEach(key -> evicted.append(key, oldest.getKey()));
+        }
+        evicted.sort();
+        tasks.removeAll(evicted);
+    }
+
+    private void removeTask(Long id) {
+        String title = recentTasks.remove(id);
+        if (title != null) {
+            tasks.removeAll(PrefixIndex.of(keys(title), id));
+        }
+    }
+
+    private static List<AutocompleteItem> items(List<Long> ids, Function<Long, AutocompleteItem> item) {
+        List<AutocompleteItem> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(item.apply(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.BoardCard;
+import com.taskmanagement.model.dto.BoardColumn;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.TaskRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.NotFoundException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Доска задач: все статусы колонками, в каждой общее число задач и первые limit карточек.
+ * Вся доска читается одним оконным запросом (TaskRepository.findBoard) вместо запроса на каждый статус.
+ */
+@ApplicationScoped
+public class BoardService {
+
+    static final int MAX_LIMIT = 100;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    public List<BoardColumn> getBoard(String category, Long userId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        // Категория по имени разрешается заранее: опечатка в имени - 404, а не пустая доска
+        Long categoryId = null;
+        if (category != null) {
+            categoryId = Optional.ofNullable(categoryRepository.findByName(category))
+                    .map(c -> c.id)
+                    .orElseThrow(() -> new NotFoundException("Category not found: " + category));
+        }
+
+        // Колонки всех статусов в порядке enum, в том числе пустые
+        Map<TaskStatus, BoardColumn> columns = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            columns.put(status, new BoardColumn(status, 0, new ArrayList<>()));
+        }
+        for (Object[] row : taskRepository.findBoard(categoryId, userId, limit)) {
+            BoardColumn column = columns.get(TaskStatus.valueOf((String) row[2]));
+            column.setTotal(((Number) row[8]).longValue());
+            column.getTasks().add(new BoardCard(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    row[3] != null ? TaskPriority.valueOf((String) row[3]) : null,
+                    toLocalDate(row[4]),
+                    toLong(row[5]),
+                    toLong(row[6]),
+                    row[7] != null ? ((Number) row[7]).intValue() : null));
+        }
+        return new ArrayList<>(columns.values());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.taskmanagement.service;
 
 import com.taskmanagement.model.entity.Category;
 import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.ChangeCounter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,8 @@ import java.util.List;
 @ApplicationScoped
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final AutocompleteService autocompleteService;
+    private final ChangeCounter changeCounter;
 
     public List<Category> findAll() {
         return categoryRepository.findAll().list();
@@ -35,5 +38,7 @@ public class CategoryService {
         category.name = name;
 
         categoryRepository.persist(category);
+        changeCounter.increment();
+        autocompleteService.categoryAdded(category);
     }
 }
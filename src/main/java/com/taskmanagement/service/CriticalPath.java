@@ -0,0 +1,103 @@
+package com.taskmanagement.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Критический путь до задачи: самая длинная по часам цепочка блокирующих задач, заканчивающаяся в ней.
+ * Вершины упорядочиваются топологически (алгоритм Кана), затем один проход динамического
+ * программирования, итого O(V + E) без рекурсии, так что глубина графа не ограничена стеком.
+ */
+final class CriticalPath {
+
+    private final List<Long> taskIds;
+    private final long totalHours;
+
+    private CriticalPath(List<Long> taskIds, long totalHours) {
+        this.taskIds = taskIds;
+        this.totalHours = totalHours;
+    }
+
+    /**
+     * @param targetId    задача, для которой считается путь
+     * @param targetHours вес самой задачи
+     * @param edges       ребра blocker -> blocked подграфа незакрытых блокеров
+     * @param hours       вес каждого блокера (оценка в часах, без оценки 0)
+     */
+    static CriticalPath compute(long targetId, long targetHours, long[][] edges, Map<Long, Long> hours) {
+        Map<Long, Integer> index = new HashMap<>();
+        index.put(targetId, 0);
+        for (long[] edge : edges) {
+            index.putIfAbsent(edge[0], index.size());
+            index.putIfAbsent(edge[1], index.size());
+        }
+        int n = index.size();
+        long[] ids = new long[n];
+        long[] weight = new long[n];
+        for (Map.Entry<Long, Integer> entry : index.entrySet()) {
+            ids[entry.getValue()] = entry.getKey();
+            weight[entry.getValue()] = entry.getKey() == targetId ? targetHours : hours.getOrDefault(entry.getKey(), 0L);
+        }
+
+        // Список смежности в виде CSR: для каждой вершины диапазон исходящих ребер в next
+        int[] inDegree = new int[n];
+        int[] offsets = new int[n + 1];
+        for (long[] edge : edges) {
+            offsets[index.get(edge[0]) + 1]++;
+            inDegree[index.get(edge[1])]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] next = new int[edges.length];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (long[] edge : edges) {
+            next[fill[index.get(edge[0])]++] = index.get(edge[1]);
+        }
+
+        long[] distance = new long[n];
+        int[] previous = new int[n];
+        Arrays.fill(previous, -1);
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int v = 0; v < n; v++) {
+            distance[v] = weight[v];
+            if (inDegree[v] == 0) {
+                ready.add(v);
+            }
+        }
+        while (!ready.isEmpty()) {
+            int u = ready.poll();
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = next[i];
+                // Первый блокер записывается всегда, чтобы блокеры без оценки тоже попадали в путь
+                if (previous[v] == -1 || distance[u] + weight[v] > distance[v]) {
+                    distance[v] = distance[u] + weight[v];
+                    previous[v] = u;
+                }
+                if (--inDegree[v] == 0) {
+                    ready.add(v);
+                }
+            }
+        }
+
+        List<Long> path = new ArrayList<>();
+        for (int v = 0; v != -1; v = previous[v]) {
+            path.add(ids[v]);
+        }
+        Collections.reverse(path);
+        return new CriticalPath(path, distance[0]);
+    }
+
+    List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    long getTotalHours() {
+        return totalHours;
+    }
+}
@@ -0,0 +1,119 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.CriticalPathResponse;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TaskDependency;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.TaskDependencyRepository;
+import com.taskmanagement.model.repository.TaskRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Зависимости между задачами (blocks / blocked-by), подзадачи и критический путь
+ */
+@ApplicationScoped
+public class DependencyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyService.class);
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @Inject
+    TaskDependencyRepository dependencyRepository;
+
+    //Добавление блокирующей задачи; ребро, замыкающее цикл, отклоняется
+    @Transactional
+    public TaskDependency addBlocker(Long taskId, Long blockerId) {
+        // Без блокировки две транзакции проверяют граф до вставки друг друга и вместе замыкают цикл
+        dependencyRepository.lockForEdit(taskId, blockerId);
+        Task task = getTask(taskId);
+        Task blocker = getTask(blockerId);
+
+        TaskDependency existing = dependencyRepository.findEdge(blockerId, taskId);
+        if (existing != null) {
+            return existing;
+        }
+        // Новое ребро blocker -> task замыкает цикл, если blocker уже достижим из task
+        if (dependencyRepository.isReachable(taskId, blockerId)) {
+            throw new IllegalStateException("Dependency would create a cycle");
+        }
+
+        TaskDependency dependency = new TaskDependency();
+        dependency.blocker = blocker;
+        dependency.blocked = task;
+        dependencyRepository.persist(dependency);
+
+        LOG.info("Task #{} is now blocked by #{}", taskId, blockerId);
+        return dependency;
+    }
+
+    @Transactional
+    public boolean removeBlocker(Long taskId, Long blockerId) {
+        return dependencyRepository.delete("blocker.id = ?1 and blocked.id = ?2", blockerId, taskId) > 0;
+    }
+
+    public List<Task> getBlockers(Long taskId) {
+        getTask(taskId);
+        return dependencyRepository.findBlockers(taskId);
+    }
+
+    public List<Task> getDependents(Long taskId) {
+        getTask(taskId);
+        return dependencyRepository.findDependents(taskId);
+    }
+
+    public List<Task> getSubtasks(Long taskId) {
+        getTask(taskId);
+        return taskRepository.list("parentId = ?1 order by id", taskId);
+    }
+
+    //Критический путь по оценке в часах среди незакрытых блокеров
+    public CriticalPathResponse getCriticalPath(Long taskId) {
+        Task task = getTask(taskId);
+
+        List<Object[]> rows = dependencyRepository.findUpstreamEdges(taskId);
+        Map<Long, Long> hours = new HashMap<>(rows.size() * 2);
+        Set<Long> closed = new HashSet<>();
+        for (Object[] row : rows) {
+            long blockerId = ((Number) row[0]).longValue();
+            TaskStatus status = TaskStatus.valueOf((String) row[3]);
+            if (status.isActive()) {
+                hours.put(blockerId, row[2] != null ? ((Number) row[2]).longValue() : 0L);
+            } else {
+                closed.add(blockerId);
+            }
+        }
+        // Закрытый блокер и все, что блокирует только его, на срок задачи уже не влияют
+        List<long[]> edges = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            long blockerId = ((Number) row[0]).longValue();
+            long blockedId = ((Number) row[1]).longValue();
+            if (!closed.contains(blockerId) && !closed.contains(blockedId)) {
+                edges.add(new long[]{blockerId, blockedId});
+            }
+        }
+
+        long targetHours = task.status.isActive() && task.estimatedHours != null ? task.estimatedHours : 0L;
+        CriticalPath path = CriticalPath.compute(taskId, targetHours, edges.toArray(new long[0][]), hours);
+        return new CriticalPathResponse(path.getTaskIds(), path.getTotalHours());
+    }
+
+    private Task getTask(Long id) {
+        return Optional.ofNullable(taskRepository.findById(id))
+                .orElseThrow(() -> new NotFoundException("Task not found: " + id));
+    }
+}
@@ -11,81 +11,68 @@ import org.slf4j.LoggerFactory;
 public class NotificationService {
     private static final Logger LOG = LoggerFactory.getLogger(NotificationService.class);
     //Логи тут для имитации
+    //Сообщения не собираются заранее: при выключенном уровне форматирование не выполняется
 
 
     /**
      * Уведомление о назначении задачи
      */
     public void notifyTaskAssigned(Task task) {
-        if (task.assignee == null) return;
+        if (task.assignee == null || !LOG.isInfoEnabled()) return;
 
-        String message = String.format(
-                "New task assigned to you: '%s' (Priority: %s, Due: %s)",
+        LOG.info("Notification to {}: New task assigned to you: '{}' (Priority: {}, Due: {})",
+                task.assignee.email,
                 task.title,
                 task.priority,
-                task.dueDate != null ? task.dueDate : "No deadline"
-        );
-
-        LOG.info("Notification to {}: {}", task.assignee.email, message);
+                task.dueDate != null ? task.dueDate : "No deadline");
     }
 
     /**
      * Уведомление об изменении статуса
      */
     public void notifyStatusChanged(Task task, TaskStatus oldStatus) {
-        if (task.assignee == null) return;
+        if (task.assignee == null || !LOG.isInfoEnabled()) return;
 
-        String message = String.format(
-                "Task '%s' status changed: %s -> %s",
+        LOG.info("Notification to {}: Task '{}' status changed: {} -> {}",
+                task.assignee.email,
                 task.title,
                 oldStatus,
-                task.status
-        );
-
-        LOG.info("Notification to {}: {}", task.assignee.email, message);
+                task.status);
     }
 
     /**
      * Уведомление о снятии назначения
      */
     public void notifyTaskUnassigned(Task task, User previousAssignee) {
-        String message = String.format(
-                "Task '%s' has been reassigned to %s",
-                task.title,
-                task.assignee.name
-        );
+        if (!LOG.isInfoEnabled()) return;
 
-        LOG.info("Notification to {}: {}", previousAssignee.email, message);
+        LOG.info("Notification to {}: Task '{}' has been reassigned to {}",
+                previousAssignee.email,
+                task.title,
+                task.assignee.name);
     }
 
     /**
      * Напоминание о приближающемся дедлайне
      */
     public void notifyUpcomingDeadline(Task task) {
-        if (task.assignee == null) return;
+        if (task.assignee == null || !LOG.isWarnEnabled()) return;
 
-        long daysLeft = task.getDaysUntilDue();
-        String message = String.format(
-                "Reminder: Task '%s' is due in %d day(s)",
+        LOG.warn("Notification to {}: Reminder: Task '{}' is due in {} day(s)",
+                task.assignee.email,
                 task.title,
-                daysLeft
-        );
-
-        LOG.warn("Notification to {}: {}", task.assignee.email, message);
+                task.getDaysUntilDue());
     }
 
     /**
      * Уведомление о просроченной задаче
      */
     public void notifyOverdueTask(Task task) {
-        if (task.assignee == null) return;
+        if (task.assignee == null || !LOG.isErrorEnabled()) return;
 
-        String message = String.format(
-                "Task '%s' is overdue! (Due date was: %s)",
+        LOG.error("Notification to {}: Task '{}' is overdue! (Due date was: {})",
+                task.assignee.email,
                 task.title,
-                task.dueDate
-        );
-
-        LOG.error("Notification to {}: {}", task.assignee.email, message);
+                task.dueDate);
     }
 }
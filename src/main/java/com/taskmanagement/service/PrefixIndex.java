@@ -0,0 +1,201 @@
+package com.taskmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Отсортированный массив пар (ключ, id) для поиска по префиксу: начало диапазона находится бинарным поиском,
+ * совпадения читаются подряд. Вставка и удаление сдвигают хвост массива, поэтому структура подходит
+ * для справочников, которые читаются намного чаще, чем меняются. Массовая загрузка - append и затем sort;
+ * пакет изменений (все ключи задачи, сгенерированные задачи) сливается за один проход addAll / removeAll.
+ * Не потокобезопасен, синхронизация на стороне AutocompleteService.
+ */
+final class PrefixIndex {
+
+    private String[] keys = new String[16];
+    private long[] ids = new long[16];
+    private int size;
+
+    /** Вставляет пару с сохранением порядка; повторная вставка той же пары ничего не меняет */
+    void add(String key, long id) {
+        int position = search(key, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        keys[position] = key;
+        ids[position] = id;
+        size++;
+    }
+
+    void remove(String key, long id) {
+        int position = search(key, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        keys[--size] = null;
+    }
+
+    /** Отсортированный пакет из ключей одного id */
+    static PrefixIndex of(List<String> keys, long id) {
+        PrefixIndex batch = new PrefixIndex();
+        keys.forEach(key -> batch.append(key, id));
+        batch.sort();
+        return batch;
+    }
+
+    /**
+     * Сливает отсортированный пакет за один проход с конца массива: хвост сдвигается один раз на весь пакет,
+     * а не на каждую пару. Пары, которые уже есть, пропускаются.
+     */
+    void addAll(PrefixIndex batch) {
+        String[] newKeys = new String[batch.size];
+        long[] newIds = new long[batch.size];
+        int added = 0;
+        for (int j = 0; j < batch.size; j++) {
+            if (search(batch.keys[j], batch.ids[j]) < 0) {
+                newKeys[added] = batch.keys[j];
+                newIds[added++] = batch.ids[j];
+            }
+        }
+        if (added == 0) {
+            return;
+        }
+        ensureCapacity(size + added);
+        int i = size - 1;
+        int j = added - 1;
+        for (int k = size + added - 1; j >= 0; k--) {
+            if (i >= 0 && compare(keys[i], ids[i], newKeys[j], newIds[j]) > 0) {
+                keys[k] = keys[i];
+                ids[k] = ids[i--];
+            } else {
+                keys[k] = newKeys[j];
+                ids[k] = newIds[j--];
+            }
+        }
+        size += added;
+    }
+
+    /** Удаляет пары отсортированного пакета за один проход */
+    void removeAll(PrefixIndex batch) {
+        int j = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < batch.size && compare(batch.keys[j], batch.ids[j], keys[i], ids[i]) < 0) {
+                j++;
+            }
+            if (j < batch.size && compare(batch.keys[j], batch.ids[j], keys[i], ids[i]) == 0) {
+                continue;
+            }
+            keys[count] = keys[i];
+            ids[count++] = ids[i];
+        }
+        Arrays.fill(keys, count, size, null);
+        size = count;
+    }
+
+    /** Добавляет пару в конец без сортировки; перед поиском нужен sort */
+    void append(String key, long id) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        ids[size++] = id;
+    }
+
+    /** Сортирует пары после append и убирает повторы */
+    void sort() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> keys[i]).thenComparingLong(i -> ids[i]));
+        String[] sortedKeys = new String[Math.max(size, 16)];
+        long[] sortedIds = new long[sortedKeys.length];
+        int count = 0;
+        for (Integer i : order) {
+            if (count > 0 && sortedIds[count - 1] == ids[i] && sortedKeys[count - 1].equals(keys[i])) {
+                continue;
+            }
+            sortedKeys[count] = keys[i];
+            sortedIds[count++] = ids[i];
+        }
+        keys = sortedKeys;
+        ids = sortedIds;
+        size = count;
+    }
+
+    /** Первые limit различных id с ключом, начинающимся с prefix, в порядке ключей */
+    List<Long> find(String prefix, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, 16));
+        Set<Long> seen = new HashSet<>();
+        int i = lowerBound(prefix);
+        while (i < size && result.size() < limit && keys[i].startsWith(prefix)) {
+            if (seen.add(ids[i])) {
+                result.add(ids[i]);
+            }
+            i++;
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Первая позиция с ключом не меньше prefix
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(String key, long id, String otherKey, long otherId) {
+        int compare = key.compareTo(otherKey);
+        return compare != 0 ? compare : Long.compare(id, otherId);
+    }
+
+    // Позиция пары или -(точка вставки) - 1, как в Arrays.binarySearch
+    private int search(String key, long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = keys[middle].compareTo(key);
+            if (compare == 0) {
+                compare = Long.compare(ids[middle], id);
+            }
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > keys.length) {
+            int capacity = Math.max(required, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+    }
+}
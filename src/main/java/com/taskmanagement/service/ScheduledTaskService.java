@@ -1,16 +1,22 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.logging.LogSampler;
 import com.taskmanagement.model.entity.Task;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
 import com.taskmanagement.model.repository.TaskRepository;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @ApplicationScoped
@@ -25,10 +31,27 @@ public class ScheduledTaskService {
     @Inject
     NotificationService notificationService;
 
+    @Inject
+    Event<TaskChangedEvent> taskEvents;
+
+    @Inject
+    TaskTemplateService templateService;
+
+    @ConfigProperty(name = "taskmanagement.recurrence.horizon-days", defaultValue = "14")
+    int recurrenceHorizonDays;
+
+    @ConfigProperty(name = "taskmanagement.recurrence.batch-size", defaultValue = "1000")
+    int recurrenceBatchSize;
+
     private static final Logger LOG = LoggerFactory.getLogger(ScheduledTaskService.class);
 
+    // Построчные логи внутри циклов пишем выборочно, итог по циклу пишется всегда
+    private static final LogSampler ITEM_LOG_SAMPLER = new LogSampler(100);
+
     /**
-     * Проверка и обновление просроченных задач (каждый час)
+     * Проверка и обновление просроченных задач (каждый час).
+     * Каждая задача переводится условным UPDATE по версии: задача, измененная параллельно, пропускается
+     * до следующего запуска, а не откатывает весь проход.
      */
     @Scheduled(cron = "0 0 * * * ?")
     @Transactional
@@ -36,17 +59,27 @@ public class ScheduledTaskService {
         LOG.info("Running overdue tasks check...");
 
         List<Task> overdueTasks = taskRepository.findOverdue();
+        int skipped = 0;
 
         for (Task task : overdueTasks) {
             if (task.status != TaskStatus.OVERDUE) {
+                if (!taskRepository.markOverdue(task.id, task.version)) {
+                    skipped++;
+                    continue;
+                }
+                // Строка уже обновлена запросом: изменения сущности не должны уйти в БД повторно
+                em.detach(task);
+                TaskSnapshot before = TaskSnapshot.of(task);
                 task.status = TaskStatus.OVERDUE;
-                LOG.info("Overdue task: {}", task.title);
-                em.merge(task);
+                if (LOG.isInfoEnabled() && ITEM_LOG_SAMPLER.sample()) {
+                    LOG.info("Overdue task: {} (ID: {}, sampled 1/{})", task.title, task.id, ITEM_LOG_SAMPLER.getEvery());
+                }
+                taskEvents.fire(new TaskChangedEvent(before, TaskSnapshot.of(task)));
                 notificationService.notifyOverdueTask(task);
             }
         }
 
-        LOG.info("Found {} overdue tasks", overdueTasks.size());
+        LOG.info("Found {} overdue tasks, {} changed concurrently and skipped", overdueTasks.size(), skipped);
     }
 
     /**
@@ -60,9 +93,33 @@ public class ScheduledTaskService {
 
         for (Task task : tasksDueSoon) {
             notificationService.notifyUpcomingDeadline(task);
-            LOG.info("Upcoming deadline reminder: {}", task.title);
+            if (LOG.isInfoEnabled() && ITEM_LOG_SAMPLER.sample()) {
+                LOG.info("Upcoming deadline reminder: {} (ID: {}, sampled 1/{})", task.title, task.id, ITEM_LOG_SAMPLER.getEvery());
+            }
         }
 
         LOG.info("Sent {} deadline reminders", tasksDueSoon.size());
     }
+
+    /**
+     * Генерация экземпляров повторяющихся задач на горизонт вперед (каждый день в 00:15).
+     * Каждый пакет правил обрабатывается в своей транзакции; цикл заканчивается, когда свободных правил не осталось.
+     */
+    @Scheduled(cron = "${taskmanagement.recurrence.cron:0 15 0 * * ?}")
+    public void generateRecurringTasks() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(recurrenceHorizonDays);
+        long started = System.currentTimeMillis();
+        int rules = 0;
+        int tasks = 0;
+        TaskTemplateService.GenerationResult batch;
+        do {
+            batch = templateService.generateBatch(today, horizon, recurrenceBatchSize);
+            rules += batch.getRules();
+            tasks += batch.getTasks();
+        } while (batch.getRules() == recurrenceBatchSize);
+
+        LOG.info("Generated {} recurring tasks from {} templates up to {} in {} ms",
+                tasks, rules, horizon, System.currentTimeMillis() - started);
+    }
 }
@@ -1,12 +1,16 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.model.dto.ResourceVersion;
 import com.taskmanagement.model.dto.TaskStatistics;
 import com.taskmanagement.model.dto.UserStatistics;
 import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeBucket;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.ChangeCounter;
 import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.TimeEntryRepository;
 import com.taskmanagement.model.repository.UserRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -16,19 +20,26 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class StatisticsService {
     @Inject
     TaskRepository taskRepository;
 
+    @Inject
+    ChangeCounter changeCounter;
+
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    TimeEntryRepository timeEntryRepository;
+
     private final static Logger LOG = LoggerFactory.getLogger(StatisticsService.class);
 
     /**
@@ -36,22 +47,35 @@ public class StatisticsService {
      */
     public TaskStatistics getTaskStatistics() {
         List<Task> allTasks = taskRepository.listAll();
+        LocalDate today = LocalDate.now();
 
-        long total = allTasks.size();
-        long todo = allTasks.stream().filter(t -> t.status == TaskStatus.TODO).count();
-        long inProgress = allTasks.stream().filter(t -> t.status == TaskStatus.IN_PROGRESS).count();
-        long done = allTasks.stream().filter(t -> t.status == TaskStatus.DONE).count();
-        long cancelled = allTasks.stream().filter(t -> t.status == TaskStatus.CANCELLED).count();
-        long overdue = allTasks.stream().filter(Task::isOverdue).count();
+        // Все счетчики за один проход
+        long todo = 0, inProgress = 0, done = 0, cancelled = 0, overdue = 0;
+        for (Task t : allTasks) {
+            if (t.status == TaskStatus.TODO) todo++;
+            else if (t.status == TaskStatus.IN_PROGRESS) inProgress++;
+            else if (t.status == TaskStatus.DONE) done++;
+            else if (t.status == TaskStatus.CANCELLED) cancelled++;
+
+            if (t.isOverdue(today)) overdue++;
+        }
+
+        return new TaskStatistics(allTasks.size(), todo, inProgress, done, cancelled, overdue);
+    }
 
-        return new TaskStatistics(total, todo, inProgress, done, cancelled, overdue);
+    /**
+     * Версия статистики задач для ETag: версия набора задач и текущая дата,
+     * так как число просроченных меняется в полночь без изменения задач
+     */
+    public ResourceVersion getTaskStatisticsVersion() {
+        return ResourceVersion.asOf(LocalDate.now(), String.valueOf(changeCounter.current()), null);
     }
 
     /**
      * Статистика по пользователю
      */
     public UserStatistics getUserStatistics(Long userId) {
-        LOG.info("Get user statistics for {}", userId);
+        LOG.debug("Get user statistics for {}", userId);
         MDC.put("userId", String.valueOf(userId));
 
         try {
@@ -61,39 +85,61 @@ public class StatisticsService {
             List<Task> userTasks = taskRepository.findByUser(userId);
 
             long totalTasks = userTasks.size();
-            long completedTasks = userTasks.stream()
-                    .filter(t -> t.status == TaskStatus.DONE)
-                    .count();
-            long activeTasks = userTasks.stream()
-                    .filter(t -> t.status != TaskStatus.DONE && t.status != TaskStatus.CANCELLED)
-                    .count();
-
-            // Средняя продолжительность выполнения
-            double averageCompletionTime = userTasks.stream()
-                    .filter(t -> t.status == TaskStatus.DONE && t.completedAt != null)
-                    .mapToLong(t -> Duration.between(t.createdAt, t.completedAt).toHours())
-                    .average()
-                    .orElse(0.0);
-
-            // Процент выполнения в срок
-            long completedOnTime = userTasks.stream()
-                    .filter(t -> t.status == TaskStatus.DONE
-                            && t.dueDate != null
-                            && t.completedAt != null
-                            && !t.completedAt.toLocalDate().isAfter(t.dueDate))
-                    .count();
+            long completedTasks = 0;
+            long activeTasks = 0;
+            long completionHours = 0;
+            long completedWithTime = 0;
+            long completedOnTime = 0;
+
+            for (Task t : userTasks) {
+                if (t.status == TaskStatus.DONE) {
+                    completedTasks++;
+                    if (t.completedAt != null) {
+                        // Средняя продолжительность выполнения
+                        completionHours += Duration.between(t.createdAt, t.completedAt).toHours();
+                        completedWithTime++;
+                        // Выполнена в срок
+                        if (t.dueDate != null && !t.completedAt.toLocalDate().isAfter(t.dueDate)) {
+                            completedOnTime++;
+                        }
+                    }
+                } else if (t.status != TaskStatus.CANCELLED) {
+                    activeTasks++;
+                }
+            }
+
+            double averageCompletionTime = completedWithTime > 0
+                    ? (double) completionHours / completedWithTime
+                    : 0.0;
 
             double onTimePercentage = completedTasks > 0
                     ? (completedOnTime * 100.0 / completedTasks)
                     : 0.0;
 
+            // Время и оценки - по готовым недельным итогам, без суммирования записей времени
+            long loggedMinutes = 0;
+            long estimatedMinutes = 0;
+            long estimatedLoggedMinutes = 0;
+            for (TimeBucket bucket : timeEntryRepository.findBuckets(userId)) {
+                loggedMinutes += bucket.loggedMinutes;
+                estimatedMinutes += bucket.estimatedMinutes;
+                estimatedLoggedMinutes += bucket.estimatedLoggedMinutes;
+            }
+
+            double estimateAccuracy = estimatedMinutes > 0
+                    ? Math.max(0.0, 100.0 - Math.abs(estimatedLoggedMinutes - estimatedMinutes) * 100.0 / estimatedMinutes)
+                    : 0.0;
+
             return new UserStatistics(
                     user.name,
                     totalTasks,
                     completedTasks,
                     activeTasks,
                     averageCompletionTime,
-                    onTimePercentage
+                    onTimePercentage,
+                    loggedMinutes / 60.0,
+                    estimatedMinutes / 60.0,
+                    estimateAccuracy
             );
 
         } catch (NotFoundException e) {
@@ -113,8 +159,21 @@ public class StatisticsService {
     public Map<TaskPriority, Long> getTasksByPriority() {
         List<Task> allTasks = taskRepository.listAll();
 
-        return allTasks.stream()
-                .filter(t -> t.status != TaskStatus.DONE && t.status != TaskStatus.CANCELLED)
-                .collect(Collectors.groupingBy(t -> t.priority, Collectors.counting()));
+        // Счетчики по ordinal, чтобы не создавать объекты на каждую задачу
+        TaskPriority[] priorities = TaskPriority.values();
+        long[] counts = new long[priorities.length];
+        for (Task t : allTasks) {
+            if (t.priority != null && t.status != TaskStatus.DONE && t.status != TaskStatus.CANCELLED) {
+                counts[t.priority.ordinal()]++;
+            }
+        }
+
+        Map<TaskPriority, Long> result = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : priorities) {
+            if (counts[priority.ordinal()] > 0) {
+                result.put(priority, counts[priority.ordinal()]);
+            }
+        }
+        return result;
     }
 }
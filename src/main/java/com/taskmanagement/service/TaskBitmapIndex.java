@@ -0,0 +1,341 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TaskTaggedEvent;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс задач в сжатых битовых картах (Roaring): метка, статус, приоритет и исполнитель -> id задач.
+ * Фильтр вида "метки A и B, без C, статус TODO" считается пересечением карт в памяти,
+ * из БД затем загружается только нужная страница. Индекс обновляется событиями TaskService после коммита,
+ * локален для экземпляра приложения и периодически перестраивается из БД пакетами по id. События, пришедшие
+ * во время перестройки, запоминаются и проигрываются на новом индексе, поэтому изменения, закоммиченные
+ * после чтения своего пакета, не теряются при подмене.
+ */
+@ApplicationScoped
+public class TaskBitmapIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskBitmapIndex.class);
+    private static final int REBUILD_BATCH = 5000;
+
+    @Inject
+    EntityManager em;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Roaring64Bitmap all = new Roaring64Bitmap();
+    private Map<TaskStatus, Roaring64Bitmap> byStatus = new EnumMap<>(TaskStatus.class);
+    private Map<TaskPriority, Roaring64Bitmap> byPriority = new EnumMap<>(TaskPriority.class);
+    private Map<Long, Roaring64Bitmap> byAssignee = new HashMap<>();
+    private Map<Long, Roaring64Bitmap> byTag = new HashMap<>();
+    private Map<String, Long> tagIds = new HashMap<>();
+    private volatile boolean built;
+    // События, пришедшие во время перестройки; null - перестройка не идет. Под lock
+    private List<Object> pending;
+
+    /**
+     * Задачи, у которых есть все метки tags, нет ни одной из excludedTags и совпадают статус и приоритет
+     * (null - без условия). Возвращается новая карта, ее можно использовать вне индекса.
+     */
+    public Roaring64Bitmap match(Collection<String> tags, Collection<String> excludedTags,
+                                 TaskStatus status, TaskPriority priority) {
+        return match(tags, excludedTags, status, priority, null);
+    }
+
+    /** То же с условием на исполнителя (assigneeId == null - без условия) */
+    public Roaring64Bitmap match(Collection<String> tags, Collection<String> excludedTags,
+                                 TaskStatus status, TaskPriority priority, Long assigneeId) {
+        if (!built) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            List<Roaring64Bitmap> required = new ArrayList<>();
+            if (status != null) {
+                required.add(byStatus.get(status));
+            }
+            if (priority != null) {
+                required.add(byPriority.get(priority));
+            }
+            if (assigneeId != null) {
+                required.add(byAssignee.get(assigneeId));
+            }
+            if (tags != null) {
+                for (String tag : tags) {
+                    required.add(byTag.get(tagIds.get(tag)));
+                }
+            }
+            if (required.contains(null)) {
+                // Неизвестная метка, пустой статус или исполнитель без задач: пересечение заведомо пустое
+                return new Roaring64Bitmap();
+            }
+
+            // Начинаем с самой маленькой карты, дальше пересечения только уменьшают результат
+            required.sort((a, b) -> Long.compare(a.getLongCardinality(), b.getLongCardinality()));
+            Roaring64Bitmap result;
+            if (required.isEmpty()) {
+                result = all.clone();
+            } else if (required.size() == 1) {
+                result = required.get(0).clone();
+            } else {
+                result = Roaring64Bitmap.and(required.get(0), required.get(1));
+                for (int i = 2; i < required.size() && !result.isEmpty(); i++) {
+                    result.and(required.get(i));
+                }
+            }
+
+            if (excludedTags != null) {
+                for (String tag : excludedTags) {
+                    Roaring64Bitmap excluded = byTag.get(tagIds.get(tag));
+                    if (excluded != null && !result.isEmpty()) {
+                        result.andNot(excluded);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Страница id из результата match: сначала новые задачи (больший id) */
+    public static List<Long> page(Roaring64Bitmap ids, int page, int size) {
+        long total = ids.getLongCardinality();
+        long from = (long) page * size;
+        List<Long> result = new ArrayList<>(size);
+        // select(j) - j-й по возрастанию id, поэтому глубина страницы не влияет на стоимость
+        for (long rank = total - 1 - from; rank >= 0 && result.size() < size; rank--) {
+            result.add(ids.select(rank));
+        }
+        return result;
+    }
+
+    /** Полная перестройка индекса из БД */
+    @Transactional
+    @Scheduled(every = "${taskmanagement.task-index.rebuild-interval:10m}", delayed = "${taskmanagement.task-index.rebuild-interval:10m}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuildFromDatabase();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        Roaring64Bitmap newAll = new Roaring64Bitmap();
+        Map<TaskStatus, Roaring64Bitmap> newByStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, Roaring64Bitmap> newByPriority = new EnumMap<>(TaskPriority.class);
+        Map<Long, Roaring64Bitmap> newByAssignee = new HashMap<>();
+        Map<Long, Roaring64Bitmap> newByTag = new HashMap<>();
+        Map<String, Long> newTagIds = new HashMap<>();
+        long links = 0;
+        long after = 0;
+        List<Object[]> tasks;
+        do {
+            tasks = em.createQuery("select t.id, t.status, t.priority, a.id from Task t left join t.assignee a"
+                            + " where t.id > :after order by t.id", Object[].class)
+                    .setParameter("after", after)
+                    .setMaxResults(REBUILD_BATCH)
+                    .getResultList();
+            if (tasks.isEmpty()) {
+                break;
+            }
+            long from = after;
+            for (Object[] row : tasks) {
+                long id = (Long) row[0];
+                newAll.addLong(id);
+                if (row[1] != null) {
+                    newByStatus.computeIfAbsent((TaskStatus) row[1], s -> new Roaring64Bitmap()).addLong(id);
+                }
+                if (row[2] != null) {
+                    newByPriority.computeIfAbsent((TaskPriority) row[2], p -> new Roaring64Bitmap()).addLong(id);
+                }
+                if (row[3] != null) {
+                    newByAssignee.computeIfAbsent((Long) row[3], u -> new Roaring64Bitmap()).addLong(id);
+                }
+                after = id;
+            }
+            // Метки задач того же диапазона id
+            List<Object[]> taskTags = em.createQuery("select t.id, tg.id from Task t join t.tags tg"
+                            + " where t.id > :from and t.id <= :to", Object[].class)
+                    .setParameter("from", from)
+                    .setParameter("to", after)
+                    .getResultList();
+            for (Object[] row : taskTags) {
+                newByTag.computeIfAbsent((Long) row[1], t -> new Roaring64Bitmap()).addLong((Long) row[0]);
+            }
+            links += taskTags.size();
+        } while (tasks.size() == REBUILD_BATCH);
+        List<Object[]> tags = em.createQuery("select tg.id, tg.name from Tag tg", Object[].class)
+                .getResultList();
+        for (Object[] row : tags) {
+            newTagIds.put((String) row[1], (Long) row[0]);
+        }
+        // После массовой загрузки сжимаем плотные участки в run-контейнеры
+        newAll.runOptimize();
+        newByStatus.values().forEach(Roaring64Bitmap::runOptimize);
+        newByPriority.values().forEach(Roaring64Bitmap::runOptimize);
+        newByAssignee.values().forEach(Roaring64Bitmap::runOptimize);
+        newByTag.values().forEach(Roaring64Bitmap::runOptimize);
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            all = newAll;
+            byStatus = newByStatus;
+            byPriority = newByPriority;
+            byAssignee = newByAssignee;
+            byTag = newByTag;
+            tagIds = newTagIds;
+            // Изменения, закоммиченные во время загрузки, могли не попасть в прочитанные пакеты.
+            // Повторное применение уже прочитанного изменения ничего не меняет
+            replayed = pending.size();
+            for (Object event : pending) {
+                if (event instanceof TaskChangedEvent) {
+                    apply((TaskChangedEvent) event);
+                } else if (event instanceof TasksGeneratedEvent) {
+                    apply((TasksGeneratedEvent) event);
+                } else {
+                    apply((TaskTaggedEvent) event);
+                }
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Task index rebuilt: {} tasks, {} tags, {} tag links, {} events replayed",
+                newAll.getLongCardinality(), tags.size(), links, replayed);
+    }
+
+    void onTaskChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void onTasksGenerated(@Observes(during = TransactionPhase.AFTER_SUCCESS) TasksGeneratedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void onTaskTagged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskTaggedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Запоминает событие для проигрывания, если идет перестройка; true - индекс построен и событие надо
+     * применить к нему сразу. До первой перестройки события не нужны: она прочитает их результат из БД.
+     * Вызывается под блокировкой записи.
+     */
+    private boolean record(Object event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        return built;
+    }
+
+    private void apply(TaskChangedEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        long id = event.getTaskId();
+        if (before != null) {
+            remove(byStatus.get(before.getStatus()), id);
+            remove(byPriority.get(before.getPriority()), id);
+            remove(byAssignee.get(before.getAssigneeId()), id);
+        }
+        if (after != null) {
+            all.addLong(id);
+            if (after.getStatus() != null) {
+                byStatus.computeIfAbsent(after.getStatus(), s -> new Roaring64Bitmap()).addLong(id);
+            }
+            if (after.getPriority() != null) {
+                byPriority.computeIfAbsent(after.getPriority(), p -> new Roaring64Bitmap()).addLong(id);
+            }
+            if (after.getAssigneeId() != null) {
+                byAssignee.computeIfAbsent(after.getAssigneeId(), u -> new Roaring64Bitmap()).addLong(id);
+            }
+        } else {
+            all.removeLong(id);
+            // Связи с метками удалены вместе с задачей
+            for (Roaring64Bitmap tagged : byTag.values()) {
+                tagged.removeLong(id);
+            }
+        }
+    }
+
+    private void apply(TasksGeneratedEvent event) {
+        for (TaskSnapshot task : event.getTasks()) {
+            all.addLong(task.getId());
+            byStatus.computeIfAbsent(task.getStatus(), s -> new Roaring64Bitmap()).addLong(task.getId());
+            byPriority.computeIfAbsent(task.getPriority(), p -> new Roaring64Bitmap()).addLong(task.getId());
+            if (task.getAssigneeId() != null) {
+                byAssignee.computeIfAbsent(task.getAssigneeId(), u -> new Roaring64Bitmap()).addLong(task.getId());
+            }
+        }
+    }
+
+    private void apply(TaskTaggedEvent event) {
+        tagIds.put(event.getTagName(), event.getTagId());
+        if (event.isAdded()) {
+            byTag.computeIfAbsent(event.getTagId(), t -> new Roaring64Bitmap()).addLong(event.getTaskId());
+        } else {
+            remove(byTag.get(event.getTagId()), event.getTaskId());
+        }
+    }
+
+    private static void remove(Roaring64Bitmap bitmap, long id) {
+        if (bitmap != null) {
+            bitmap.removeLong(id);
+        }
+    }
+}
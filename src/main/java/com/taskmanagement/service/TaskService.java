@@ -1,17 +1,32 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.model.dto.CalendarDay;
+import com.taskmanagement.model.dto.MultiGetResponse;
+import com.taskmanagement.model.dto.PageResponse;
+import com.taskmanagement.model.dto.ResourceVersion;
+import com.taskmanagement.model.dto.TaskBatchItem;
 import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.dto.TaskSearchHit;
 import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.Tag;
 import com.taskmanagement.model.entity.Task;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TaskTaggedEvent;
 import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.ChangeCounter;
+import com.taskmanagement.model.repository.TagRepository;
+import com.taskmanagement.model.repository.TaskDependencyRepository;
 import com.taskmanagement.model.repository.TaskRepository;
 import com.taskmanagement.model.repository.UserRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolation;
 
@@ -20,10 +35,18 @@ import jakarta.validation.Validator;
 import jakarta.ws.rs.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.slf4j.MDC;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,26 +60,107 @@ public class TaskService {
     @Inject
     TaskRepository taskRepository;
 
+    @Inject
+    ChangeCounter changeCounter;
+
     @Inject
     UserRepository userRepository;
 
     @Inject
     CategoryRepository categoryRepository;
 
+    @Inject
+    TaskDependencyRepository dependencyRepository;
+
+    @Inject
+    TagRepository tagRepository;
+
     @Inject
     NotificationService notificationService;
 
     @Inject
     Validator validator;
 
+    @Inject
+    AssignmentService assignmentService;
+
+    @Inject
+    Event<TaskChangedEvent> taskEvents;
+
+    @Inject
+    Event<TaskTaggedEvent> tagEvents;
+
+    @Inject
+    TaskBitmapIndex taskIndex;
+
+    @Inject
+    TaskTextIndex textIndex;
+
+    @Inject
+    TaskTextSearch textSearch;
+
     private static final Logger LOG = LoggerFactory.getLogger(TaskService.class);
 
+    // Самый длинный диапазон календаря за один запрос (год с запасом на високосный)
+    static final int MAX_CALENDAR_DAYS = 366;
+    // Задачи одного дня отдаются страницами: на день может прийтись сколько угодно задач
+    static final int MAX_DUE_ON_PAGE_SIZE = 200;
+
+    // Полнотекстовый поиск: ранжирование страницы стоит O(кандидатов * слов), поэтому слов и размер страницы ограничены.
+    // Тот же предел размера страницы у поиска по меткам: страница выделяется целиком (TaskBitmapIndex.page)
+    static final int MAX_SEARCH_TERMS = 10;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int SNIPPET_LENGTH = 160;
+
     //Создание задачи
     @Transactional
     public Task createTask(TaskCreateRequest request) throws ValidationException {
-        long startTime = System.currentTimeMillis();
-        LOG.info("Creating task");
-        LOG.trace("Create task request: {}", request.toString());
+        return create(request);
+    }
+
+    /**
+     * Пакетное создание (импорт через gRPC): весь пакет в одной транзакции, с теми же проверками и правилами,
+     * что у createTask. Запрос, не прошедший проверку или ссылающийся на несуществующие задачу, пользователя
+     * или категорию, отклоняется до записи в БД и не мешает остальным. Результаты - в порядке запросов.
+     */
+    @Transactional
+    public List<TaskBatchItem> createTasks(List<TaskCreateRequest> requests) {
+        List<TaskBatchItem> results = new ArrayList<>(requests.size());
+        for (TaskCreateRequest request : requests) {
+            try {
+                checkCreateRequest(request);
+            } catch (RuntimeException e) {
+                results.add(new TaskBatchItem(null, e.getMessage()));
+                continue;
+            }
+            try {
+                results.add(new TaskBatchItem(create(request).id, null));
+            } catch (NotFoundException e) {
+                results.add(new TaskBatchItem(null, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    // Проверки create без обращения к БД. В пакете выполняются заранее: отказ по ним (в том числе по сроку
+    // в прошлом или имени метки, которое create проверяет уже после записи задачи) не оставит в общей
+    // транзакции частично созданную задачу. Ссылки create проверяет до записи сам
+    private void checkCreateRequest(TaskCreateRequest request) {
+        validateTaskRequest(request);
+        if (request.getTitle() == null || request.getTitle().isEmpty()) {
+            throw new ValidationException("Title is required");
+        }
+        if (request.getTags() != null) {
+            request.getTags().forEach(name -> requireValidTag(normalizeTag(name)));
+        }
+    }
+
+    // Без @Transactional: вызывается внутри транзакции createTask или createTasks, поэтому отказ
+    // одного запроса пакета не помечает общую транзакцию на откат
+    private Task create(TaskCreateRequest request) {
+        long startTime = LOG.isDebugEnabled() ? System.currentTimeMillis() : 0;
+        LOG.debug("Creating task");
+        LOG.trace("Create task request: {}", request);
         // Валидация
         validateTaskRequest(request);
         LOG.debug("Task validate");
@@ -73,20 +177,40 @@ public class TaskService {
             task.dueDate = request.getDueDate();
             task.estimatedHours = request.getEstimatedHours();
 
+            // Родительская задача
+            if (request.getParentId() != null) {
+                task.parentId = getTaskById(request.getParentId()).id;
+            }
+
             // Назначение пользователя
             if (request.getAssigneeId() != null) {
                 task.assignee = Optional.ofNullable(userRepository.findById(request.getAssigneeId()))
                         .orElseThrow(() -> new NotFoundException("User not found"));
+            } else if (Boolean.TRUE.equals(request.getAutoAssign())) {
+                // Без свободных пользователей задача создается неназначенной
+                Long userId = assignmentService.pickUser(request.getCategoryId());
+                if (userId != null) {
+                    task.assignee = userRepository.findById(userId);
+                }
             }
 
             // Категория
             if (request.getCategoryId() != null) {
-                Category category = Optional.of(categoryRepository.findById(request.getCategoryId()))
+                Category category = Optional.ofNullable(categoryRepository.findById(request.getCategoryId()))
                         .orElseThrow(() -> new NotFoundException("Category not found"));
                 task.category = category;
             }
 
             Task saved = em.merge(task);
+            adjustActiveTaskCount(saved.assignee, saved.status.isActive() ? 1 : 0);
+            taskEvents.fire(new TaskChangedEvent(null, TaskSnapshot.of(saved)));
+
+            // Метки
+            if (request.getTags() != null) {
+                for (String name : request.getTags()) {
+                    tag(saved, name);
+                }
+            }
 
             // Уведомление
             if (saved.assignee != null) {
@@ -94,8 +218,9 @@ public class TaskService {
             }
 
             LOG.info("Created task: {} (ID: {})", saved.title, saved.id);
-            long endTime = System.currentTimeMillis();
-            LOG.info("Task created in {} ms", endTime - startTime);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Task created in {} ms", System.currentTimeMillis() - startTime);
+            }
 
             return saved;
 
@@ -114,17 +239,27 @@ public class TaskService {
     //Обновление статуса задачи
     @Transactional
     public Task updateStatus(Long taskId, TaskStatus newStatus) {
-        LOG.info("Updating status of task: {} to {}", taskId, newStatus);
+        LOG.debug("Updating status of task: {} to {}", taskId, newStatus);
         MDC.put("taskId", String.valueOf(taskId));
 
         try {
             Task task = getTaskById(taskId);
 
+            // Блокеры считаются только для завершения, остальные переходы обходятся без запроса
+            if (newStatus == TaskStatus.DONE) {
+                task.openBlockers = dependencyRepository.countOpenBlockers(taskId);
+                if (task.openBlockers > 0) {
+                    throw new IllegalStateException(
+                            String.format("Cannot complete task with %d open blockers", task.openBlockers));
+                }
+            }
+
             if (!task.canTransitionTo(newStatus)) {
                 throw new RuntimeException(
                         String.format("Cannot transition from %s to %s", task.status, newStatus));
             }
 
+            TaskSnapshot before = TaskSnapshot.of(task);
             TaskStatus oldStatus = task.status;
             task.status = newStatus;
 
@@ -132,7 +267,11 @@ public class TaskService {
                 task.complete();
             }
 
-            Task updated = em.merge(task);
+            Task updated = save(task);
+            if (oldStatus.isActive() != newStatus.isActive()) {
+                adjustActiveTaskCount(updated.assignee, newStatus.isActive() ? 1 : -1);
+            }
+            taskEvents.fire(new TaskChangedEvent(before, TaskSnapshot.of(updated)));
 
             LOG.info("Updated task #{} status: {} -> {}", taskId, oldStatus, newStatus);
 
@@ -152,10 +291,12 @@ public class TaskService {
     @Transactional
     public Task updatePriority(Long taskId, TaskPriority newPriority) {
         Task task = getTaskById(taskId);
+        TaskSnapshot before = TaskSnapshot.of(task);
         TaskPriority oldPriority = task.priority;
 
         task.priority = newPriority;
-        Task updated = em.merge(task);
+        Task updated = save(task);
+        taskEvents.fire(new TaskChangedEvent(before, TaskSnapshot.of(updated)));
 
         LOG.info("Updated task #{} priority: {} -> {}", taskId, oldPriority, newPriority);
 
@@ -165,7 +306,7 @@ public class TaskService {
     //Назначение задачи пользователю
     @Transactional
     public Task assignTask(Long taskId, Long userId) {
-        LOG.info("Assigning task {} to user {}", taskId, userId);
+        LOG.debug("Assigning task {} to user {}", taskId, userId);
         MDC.put("taskId", String.valueOf(taskId));
         MDC.put("userId", String.valueOf(userId));
         try {
@@ -173,10 +314,15 @@ public class TaskService {
             User user = Optional.of(userRepository.findById(userId))
                     .orElseThrow(() -> new NotFoundException("User not found"));
 
+            TaskSnapshot before = TaskSnapshot.of(task);
             User previousAssignee = task.assignee;
             task.assignee = user;
 
-            Task updated = em.merge(task);
+            Task updated = save(task);
+            if (updated.status.isActive()) {
+                moveActiveTask(previousAssignee, user);
+            }
+            taskEvents.fire(new TaskChangedEvent(before, TaskSnapshot.of(updated)));
 
             // Уведомление новому пользователю
             notificationService.notifyTaskAssigned(updated);
@@ -200,45 +346,235 @@ public class TaskService {
         }
     }
 
+    //Взять следующую задачу TODO в работу: назначение и перевод в IN_PROGRESS в одной транзакции.
+    //null - свободных задач нет
+    @Transactional
+    public Task claimNextTask(Long userId, String categoryName) {
+        User user = Optional.ofNullable(userRepository.findById(userId))
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        Long taskId = taskRepository.lockNextTodo(categoryName);
+        if (taskId == null) {
+            return null;
+        }
+        MDC.put("taskId", String.valueOf(taskId));
+        try {
+            Task task = getTaskById(taskId);
+            TaskSnapshot before = TaskSnapshot.of(task);
+            User previousAssignee = task.assignee;
+
+            task.assignee = user;
+            task.status = TaskStatus.IN_PROGRESS;
+            Task updated = save(task);
+            moveActiveTask(previousAssignee, user);
+            taskEvents.fire(new TaskChangedEvent(before, TaskSnapshot.of(updated)));
+
+            notificationService.notifyTaskAssigned(updated);
+            if (previousAssignee != null && !previousAssignee.id.equals(user.id)) {
+                notificationService.notifyTaskUnassigned(updated, previousAssignee);
+            }
+
+            LOG.info("Task #{} claimed by user {}", taskId, user.email);
+            return updated;
+        } finally {
+            MDC.remove("taskId");
+        }
+    }
+
+    //Автоназначение на наименее загруженного пользователя (опционально среди работавших в категории)
+    @Transactional
+    public Task autoAssign(Long taskId, Long categoryId) {
+        Long userId = Optional.ofNullable(assignmentService.pickUser(categoryId))
+                .orElseThrow(() -> new NotFoundException("No active user available for assignment"));
+        return assignTask(taskId, userId);
+    }
+
+    //Добавление метки; отсутствующая метка создается
+    @Transactional
+    public void addTag(Long taskId, String name) {
+        tag(getTaskById(taskId), name);
+        // Изменение меток увеличивает версию задачи: конфликт проверяется здесь, как в save
+        em.flush();
+    }
+
+    //Снятие метки
+    @Transactional
+    public void removeTag(Long taskId, String name) {
+        Task task = getTaskById(taskId);
+        Tag tag = tagRepository.findByName(normalizeTag(name));
+        if (tag != null && task.tags.remove(tag)) {
+            tagEvents.fire(new TaskTaggedEvent(task.id, tag.id, tag.name, false));
+            LOG.info("Removed tag '{}' from task #{}", tag.name, task.id);
+            em.flush();
+        }
+    }
+
+    //Метки задачи
+    public List<Tag> getTags(Long taskId) {
+        getTaskById(taskId);
+        return tagRepository.findByTask(taskId);
+    }
+
+    //Поиск по меткам, статусу, приоритету и исполнителю: фильтр считается в битовом индексе, из БД грузится только страница
+    public PageResponse<Task> searchTasks(List<String> tags, List<String> excludedTags,
+                                          TaskStatus status, TaskPriority priority, Long userId, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ValidationException("Invalid page");
+        }
+        Roaring64Bitmap matches = taskIndex.match(normalizeTags(tags), normalizeTags(excludedTags), status, priority, userId);
+        List<Long> ids = TaskBitmapIndex.page(matches, page, size);
+        List<Task> items = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            items.addAll(taskRepository.list("id in ?1", ids));
+            // Порядок страницы задает индекс (новые первыми), IN его не сохраняет
+            items.sort(Comparator.comparing((Task t) -> t.id).reversed());
+        }
+        return new PageResponse<>(items, page, size, matches.getLongCardinality());
+    }
+
+    //Полнотекстовый поиск по заголовку и описанию с теми же фильтрами; страница упорядочена по рангу.
+    //В Postgres - по tsvector (TaskTextSearch), иначе - по индексу в памяти
+    public PageResponse<TaskSearchHit> searchText(String query, List<String> tags, List<String> excludedTags,
+                                                  TaskStatus status, TaskPriority priority, Long userId,
+                                                  int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ValidationException("Invalid page");
+        }
+        Set<String> terms = TaskTextIndex.terms(query);
+        if (terms.isEmpty() || terms.size() > MAX_SEARCH_TERMS) {
+            throw new ValidationException("Query must contain 1-" + MAX_SEARCH_TERMS + " words of 2+ characters");
+        }
+        if (textSearch.isEnabled()) {
+            return textSearch.search(terms, normalizeTags(tags), normalizeTags(excludedTags), status, priority, userId,
+                    page, size);
+        }
+        Roaring64Bitmap matches = textIndex.match(terms);
+        boolean filtered = (tags != null && !tags.isEmpty()) || (excludedTags != null && !excludedTags.isEmpty())
+                || status != null || priority != null || userId != null;
+        if (filtered && !matches.isEmpty()) {
+            matches.and(taskIndex.match(normalizeTags(tags), normalizeTags(excludedTags), status, priority, userId));
+        }
+        List<TaskTextIndex.Hit> ranked = textIndex.rank(matches, terms, page, size);
+        List<TaskSearchHit> items = new ArrayList<>(ranked.size());
+        if (!ranked.isEmpty()) {
+            List<Long> ids = ranked.stream().map(TaskTextIndex.Hit::getId).collect(Collectors.toList());
+            Map<Long, Task> tasks = taskRepository.list("id in ?1", ids).stream()
+                    .collect(Collectors.toMap(t -> t.id, t -> t));
+            for (TaskTextIndex.Hit hit : ranked) {
+                Task task = tasks.get(hit.getId());
+                // Задача могла быть удалена после поиска по индексу
+                if (task != null) {
+                    items.add(new TaskSearchHit(task, hit.getScore(),
+                            TaskTextIndex.highlight(task.title, terms, Integer.MAX_VALUE),
+                            TaskTextIndex.highlight(task.description, terms, SNIPPET_LENGTH)));
+                }
+            }
+        }
+        return new PageResponse<>(items, page, size, matches.getLongCardinality());
+    }
+
     //Получение задачи по ID
     public Task getTaskById(Long id) {
         return Optional.ofNullable(taskRepository.findById(id))
                 .orElseThrow(() -> new NotFoundException("Task not found: " + id));
     }
 
+    //Получение задач по списку id одним запросом: порядок запроса сохраняется, отсутствующие id перечисляются отдельно
+    public MultiGetResponse<Task> getTasks(List<Long> ids) {
+        List<Long> distinct = MultiGetResponse.distinctIds(ids);
+        return MultiGetResponse.of(distinct, taskRepository.findAllByIdsInOrder(distinct));
+    }
+
+    //Версии для условного GET. Задача: номер изменения, updatedAt и счетчик активных задач вложенного исполнителя
+    public ResourceVersion getTaskVersion(Long id) {
+        Object[] row = Optional.ofNullable(taskRepository.findVersion(id))
+                .orElseThrow(() -> new NotFoundException("Task not found: " + id));
+        return taskVersion(id, (Long) row[0], (LocalDateTime) row[1], (Integer) row[2]);
+    }
+
+    //Для уже загруженной задачи версия считается без запроса
+    public ResourceVersion getTaskVersion(Task task) {
+        return taskVersion(task.id, task.version, task.updatedAt,
+                task.assignee != null ? task.assignee.activeTaskCount : null);
+    }
+
+    //Список: номер изменения задач, пользователей и категорий (ChangeCounter)
+    public ResourceVersion getTasksVersion() {
+        return ResourceVersion.asOf(LocalDate.now(), String.valueOf(changeCounter.current()), null);
+    }
+
+    private static ResourceVersion taskVersion(Long id, Long version, LocalDateTime updatedAt, Integer assigneeActiveTasks) {
+        return ResourceVersion.asOf(LocalDate.now(), id + ":" + version + ":" + assigneeActiveTasks, updatedAt);
+    }
+
     //Получение всех задач
     public List<Task> getAllTasks() {
         return taskRepository.listAll();
     }
 
+    //Страница выгрузки по возрастанию id начиная после afterId, с теми же фильтрами, что у filterTasks
+    @Transactional
+    public List<Task> getTasksAfter(Long afterId, TaskStatus status, TaskPriority priority, Long userId, int limit) {
+        return taskRepository.findAfter(afterId, status, priority, userId, limit);
+    }
+
     //Фильтрация задач
     public List<Task> filterTasks(TaskStatus status, TaskPriority priority, Long userId) {
         List<Task> tasks = taskRepository.listAll();
 
-        if (status != null) {
-            tasks = tasks.stream()
-                    .filter(t -> t.status == status)
-                    .collect(Collectors.toList());
-        }
+        // Один проход без промежуточных списков на каждый фильтр
+        return tasks.stream()
+                .filter(t -> status == null || t.status == status)
+                .filter(t -> priority == null || t.priority == priority)
+                .filter(t -> userId == null || (t.assignee != null && userId.equals(t.assignee.id)))
+                .collect(Collectors.toList());
+    }
 
-        if (priority != null) {
-            tasks = tasks.stream()
-                    .filter(t -> t.priority == priority)
-                    .collect(Collectors.toList());
-        }
+    //Получение просроченных задач
+    public List<Task> getOverdueTasks() {
+        return taskRepository.findOverdue();
+    }
+
+    //Выборка только запрошенных полей (?fields=id,title,status): лишние столбцы не читаются из БД и не сериализуются
+    public List<Map<String, Object>> getTaskFields(String fields, TaskStatus status, TaskPriority priority, Long userId) {
+        List<String> names = parseFields(fields);
+        return toFieldMaps(names, taskRepository.findFields(names, null, status, priority, userId));
+    }
 
-        if (userId != null) {
-            tasks = tasks.stream()
-                    .filter(t -> t.assignee != null && t.assignee.id.equals(userId))
-                    .collect(Collectors.toList());
+    public Map<String, Object> getTaskFields(Long id, List<String> names) {
+        List<Map<String, Object>> found = toFieldMaps(names, taskRepository.findFields(names, id, null, null, null));
+        if (found.isEmpty()) {
+            throw new NotFoundException("Task not found: " + id);
         }
+        return found.get(0);
+    }
 
-        return tasks;
+    //Разбор ?fields=: известные поля без повторов в порядке запроса
+    public static List<String> parseFields(String fields) {
+        List<String> parsed = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!TaskRepository.SPARSE_FIELDS.containsKey(name)) {
+                throw new ValidationException("Unknown field '" + name + "', expected any of "
+                        + TaskRepository.SPARSE_FIELDS.keySet());
+            }
+            if (!parsed.contains(name)) {
+                parsed.add(name);
+            }
+        }
+        return parsed;
     }
 
-    //Получение просроченных задач
-    public List<Task> getOverdueTasks() {
-        return taskRepository.findOverdue();
+    private static List<Map<String, Object>> toFieldMaps(List<String> names, List<Tuple> rows) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>(names.size() * 2);
+            for (int i = 0; i < names.size(); i++) {
+                values.put(names.get(i), row.get(i));
+            }
+            result.add(values);
+        }
+        return result;
     }
 
     //Получение задач срок которых истекает скоро
@@ -246,16 +582,98 @@ public class TaskService {
         return taskRepository.findDueSoon(days);
     }
 
+    //Календарь: число задач по дням срока, сами задачи дня отдаются отдельно (getTasksDueOn)
+    public List<CalendarDay> getCalendar(LocalDate from, LocalDate to, Long userId) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ValidationException("Invalid date range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new ValidationException("Date range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        List<Object[]> rows = taskRepository.countByDueDate(from, to, userId);
+        List<CalendarDay> days = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            days.add(new CalendarDay((LocalDate) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue()));
+        }
+        return days;
+    }
+
+    //Задачи со сроком в указанный день, страница page по size
+    public List<Task> getTasksDueOn(LocalDate date, Long userId, int page, int size) {
+        if (page < 0 || size <= 0 || size > MAX_DUE_ON_PAGE_SIZE) {
+            throw new ValidationException("Invalid page");
+        }
+        return taskRepository.findDueOn(date, userId, page, size);
+    }
+
 
     //Удаление задачи
     @Transactional
     public void deleteTask(Long id) {
         Task task = getTaskById(id);
         taskRepository.deleteById(id);
+        // Подзадачи остаются, но без родителя; связи блокировок удаляются каскадом в БД
+        taskRepository.detachSubtasks(id);
+        if (task.status.isActive()) {
+            adjustActiveTaskCount(task.assignee, -1);
+        }
+        taskEvents.fire(new TaskChangedEvent(TaskSnapshot.of(task), null));
 
         LOG.info("Deleted task: {} (ID: {})", task.title, id);
     }
 
+    // Task под оптимистической блокировкой (@Version): flush сверяет версию сразу, и параллельное изменение
+    // выходит из метода как OptimisticLockException (ресурс отвечает 409), а не ошибкой при коммите
+    private Task save(Task task) {
+        Task updated = em.merge(task);
+        em.flush();
+        return updated;
+    }
+
+    private void tag(Task task, String name) {
+        String normalized = normalizeTag(name);
+        requireValidTag(normalized);
+        Tag tag = tagRepository.findOrCreate(normalized);
+        if (task.tags.add(tag)) {
+            tagEvents.fire(new TaskTaggedEvent(task.id, tag.id, tag.name, true));
+            LOG.info("Tagged task #{} with '{}'", task.id, tag.name);
+        }
+    }
+
+    private static void requireValidTag(String normalized) {
+        if (normalized.isEmpty() || normalized.length() > 50) {
+            throw new ValidationException("Tag name must be 1-50 characters");
+        }
+    }
+
+    // Метки сравниваются без учета регистра и пробелов по краям
+    private static String normalizeTag(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> normalizeTags(List<String> names) {
+        return names == null ? null : names.stream().map(TaskService::normalizeTag).collect(Collectors.toList());
+    }
+
+    // Счетчик активных задач меняется атомарным UPDATE; у загруженного пользователя поправляем значение в памяти
+    private void adjustActiveTaskCount(User user, int delta) {
+        if (user == null || delta == 0) {
+            return;
+        }
+        userRepository.adjustActiveTaskCount(user.id, delta);
+        user.activeTaskCount += delta;
+    }
+
+    private void moveActiveTask(User from, User to) {
+        if (from == null) {
+            adjustActiveTaskCount(to, 1);
+        } else if (!from.id.equals(to.id)) {
+            userRepository.transferActiveTask(from.id, to.id);
+            from.activeTaskCount--;
+            to.activeTaskCount++;
+        }
+    }
+
     private void validateTaskRequest(TaskCreateRequest request) throws ValidationException {
         Set<ConstraintViolation<TaskCreateRequest>> violations = validator.validate(request);
         if (!violations.isEmpty()) {
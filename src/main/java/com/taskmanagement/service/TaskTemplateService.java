@@ -0,0 +1,276 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.TaskTemplateRequest;
+import com.taskmanagement.model.entity.TaskTemplate;
+import com.taskmanagement.model.enums.RecurrenceFrequency;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.TaskTemplateRepository;
+import com.taskmanagement.model.repository.UserRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.NotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Шаблоны повторяющихся задач и генерация их экземпляров.
+ * Генерация идет пакетами правил: пакет блокируется (FOR UPDATE SKIP LOCKED), экземпляры вставляются
+ * одним JDBC-батчем, в той же транзакции сдвигается generatedUntil правил. Повторный запуск и запуск
+ * на нескольких репликах не создают дублей; последняя страховка - уникальный индекс (template_id, occurrence_date).
+ */
+@ApplicationScoped
+public class TaskTemplateService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskTemplateService.class);
+
+    private static final String INSERT_TASK = "insert into tasks (title, description, status, priority, user_id, category_id,"
+            + " due_date, estimated_hours, template_id, occurrence_date, create_date, update_date)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TaskTemplateRepository templateRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @Inject
+    Event<TasksGeneratedEvent> generatedEvents;
+
+    @Transactional
+    public TaskTemplate create(TaskTemplateRequest request) {
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new ValidationException("Title is required");
+        }
+        if (request.getFrequency() == null) {
+            throw new ValidationException("Frequency is required");
+        }
+        if (request.getInterval() != null && request.getInterval() < 1) {
+            throw new ValidationException("Interval must be positive");
+        }
+        LocalDate startDate = request.getStartDate() != null ? request.getStartDate() : LocalDate.now();
+        if (request.getEndDate() != null && request.getEndDate().isBefore(startDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+
+        TaskTemplate template = new TaskTemplate();
+        template.title = request.getTitle();
+        template.description = request.getDescription();
+        template.priority = request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM;
+        template.estimatedHours = request.getEstimatedHours();
+        template.frequency = request.getFrequency();
+        template.interval = request.getInterval() != null ? request.getInterval() : 1;
+        template.startDate = startDate;
+        template.endDate = request.getEndDate();
+        if (request.getAssigneeId() != null) {
+            template.assignee = Optional.ofNullable(userRepository.findById(request.getAssigneeId()))
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+        }
+        if (request.getCategoryId() != null) {
+            template.category = Optional.ofNullable(categoryRepository.findById(request.getCategoryId()))
+                    .orElseThrow(() -> new NotFoundException("Category not found"));
+        }
+        templateRepository.persist(template);
+
+        LOG.info("Created {} task template: {} (ID: {})", template.frequency, template.title, template.id);
+        return template;
+    }
+
+    public TaskTemplate getById(Long id) {
+        return Optional.ofNullable(templateRepository.findById(id))
+                .orElseThrow(() -> new NotFoundException("Template not found: " + id));
+    }
+
+    public List<TaskTemplate> getActive() {
+        return templateRepository.findActive();
+    }
+
+    //Отключение шаблона: уже созданные экземпляры остаются
+    @Transactional
+    public void deactivate(Long id) {
+        getById(id).active = false;
+    }
+
+    /**
+     * Создает экземпляры для пакета из не более batchSize правил на интервал [today, horizon].
+     * Прошедшие даты не догоняются: серия продолжается с сегодняшнего дня.
+     */
+    @Transactional
+    public GenerationResult generateBatch(LocalDate today, LocalDate horizon, int batchSize) {
+        List<Object[]> rules = templateRepository.lockDue(horizon, batchSize);
+        if (rules.isEmpty()) {
+            return new GenerationResult(0, 0);
+        }
+
+        List<TaskSnapshot> instances = new ArrayList<>();
+        List<Long> instanceTemplates = new ArrayList<>();
+        for (Object[] rule : rules) {
+            long templateId = ((Number) rule[0]).longValue();
+            RecurrenceFrequency frequency = RecurrenceFrequency.valueOf((String) rule[7]);
+            int interval = ((Number) rule[8]).intValue();
+            LocalDate startDate = toLocalDate(rule[9]);
+            LocalDate endDate = toLocalDate(rule[10]);
+            LocalDate generatedUntil = toLocalDate(rule[11]);
+
+            LocalDate from = generatedUntil != null && !generatedUntil.isBefore(today) ? generatedUntil.plusDays(1) : today;
+            LocalDate until = endDate != null && endDate.isBefore(horizon) ? endDate : horizon;
+            for (long n = frequency.firstIndexOnOrAfter(startDate, interval, from); ; n++) {
+                LocalDate date = frequency.occurrence(startDate, interval, n);
+                if (date.isAfter(until)) {
+                    break;
+                }
+                instances.add(new TaskSnapshot(null, (String) rule[1], (String) rule[2], TaskStatus.TODO,
+                        rule[3] != null ? TaskPriority.valueOf((String) rule[3]) : TaskPriority.MEDIUM, toLong(rule[4]), toLong(rule[5]), date, toInteger(rule[6])));
+                instanceTemplates.add(templateId);
+            }
+        }
+
+        List<TaskSnapshot> created = em.unwrap(Session.class).doReturningWork(connection -> {
+            List<TaskSnapshot> result = insertInstances(connection, instances, instanceTemplates);
+            markGenerated(connection, rules, horizon);
+            adjustActiveTaskCounts(connection, result);
+            return result;
+        });
+        if (!created.isEmpty()) {
+            generatedEvents.fire(new TasksGeneratedEvent(created));
+        }
+        return new GenerationResult(rules.size(), created.size());
+    }
+
+    private List<TaskSnapshot> insertInstances(Connection connection, List<TaskSnapshot> instances,
+                                               List<Long> templateIds) throws SQLException {
+        List<TaskSnapshot> created = new ArrayList<>(instances.size());
+        if (instances.isEmpty()) {
+            return created;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < instances.size(); i++) {
+                TaskSnapshot task = instances.get(i);
+                ps.setString(1, task.getTitle());
+                ps.setString(2, task.getDescription());
+                ps.setString(3, task.getStatus().name());
+                ps.setString(4, task.getPriority().name());
+                setNullableLong(ps, 5, task.getAssigneeId());
+                setNullableLong(ps, 6, task.getCategoryId());
+                ps.setDate(7, Date.valueOf(task.getDueDate()));
+                if (task.getEstimatedHours() != null) {
+                    ps.setInt(8, task.getEstimatedHours());
+                } else {
+                    ps.setNull(8, Types.INTEGER);
+                }
+                ps.setLong(9, templateIds.get(i));
+                ps.setDate(10, Date.valueOf(task.getDueDate()));
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            // Ключи возвращаются в порядке строк батча
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next()) {
+                    TaskSnapshot task = instances.get(i++);
+                    created.add(new TaskSnapshot(keys.getLong("id"), task.getTitle(), task.getDescription(),
+                            task.getStatus(), task.getPriority(), task.getAssigneeId(), task.getCategoryId(),
+                            task.getDueDate(), task.getEstimatedHours()));
+                }
+            }
+        }
+        return created;
+    }
+
+    private void markGenerated(Connection connection, List<Object[]> rules, LocalDate horizon) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "update task_templates set generated_until = ? where id = ?")) {
+            for (Object[] rule : rules) {
+                ps.setDate(1, Date.valueOf(horizon));
+                ps.setLong(2, ((Number) rule[0]).longValue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Счетчик активных задач исполнителей: одно обновление на исполнителя, а не на задачу
+    private void adjustActiveTaskCounts(Connection connection, List<TaskSnapshot> created) throws SQLException {
+        Map<Long, Integer> perAssignee = new HashMap<>();
+        for (TaskSnapshot task : created) {
+            if (task.getAssigneeId() != null) {
+                perAssignee.merge(task.getAssigneeId(), 1, Integer::sum);
+            }
+        }
+        if (perAssignee.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "update users set active_task_count = active_task_count + ? where id = ?")) {
+            for (Map.Entry<Long, Integer> entry : perAssignee.entrySet()) {
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
+    }
+
+    /** Итог пакета: обработано правил и создано задач */
+    @Getter
+    @AllArgsConstructor
+    public static class GenerationResult {
+        private final int rules;
+        private final int tasks;
+    }
+}
@@ -0,0 +1,390 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TasksGeneratedEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Полнотекстовый индекс задач в памяти: слово -> битовые карты задач, где оно встречается в заголовке и в описании.
+ * Запрос находит задачи, содержащие все слова; ранг - сумма idf слов, совпадение в заголовке весит больше.
+ * Как и TaskBitmapIndex, обновляется событиями TaskService после коммита, локален для экземпляра приложения
+ * и периодически перестраивается из БД пакетами по id, чтобы не держать в памяти все описания сразу;
+ * события, пришедшие во время перестройки, проигрываются на новом индексе.
+ * Используется только без Postgres (H2): в Postgres поиск идет по tsvector, см. TaskTextSearch.
+ */
+@ApplicationScoped
+public class TaskTextIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskTextIndex.class);
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 50;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final int REBUILD_BATCH = 5000;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TaskTextSearch textSearch;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Roaring64Bitmap all = new Roaring64Bitmap();
+    private Map<String, Roaring64Bitmap> titleTerms = new HashMap<>();
+    private Map<String, Roaring64Bitmap> bodyTerms = new HashMap<>();
+    private volatile boolean built;
+    // События, пришедшие во время перестройки; null - перестройка не идет. Под lock
+    private List<Object> pending;
+
+    /** Задача из результата поиска и ее ранг */
+    @Getter
+    @AllArgsConstructor
+    public static final class Hit {
+        private final long id;
+        private final double score;
+    }
+
+    /** Слова текста в нижнем регистре без повторов; слишком короткие и длинные отбрасываются */
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            int length = matcher.end() - matcher.start();
+            if (length >= MIN_TERM_LENGTH && length <= MAX_TERM_LENGTH) {
+                terms.add(matcher.group().toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    /** Задачи, содержащие все слова в заголовке или описании. Возвращается новая карта */
+    public Roaring64Bitmap match(Collection<String> terms) {
+        if (!built) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            List<Roaring64Bitmap> required = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Roaring64Bitmap withTerm = union(term);
+                if (withTerm.isEmpty()) {
+                    return withTerm;
+                }
+                required.add(withTerm);
+            }
+            if (required.isEmpty()) {
+                return new Roaring64Bitmap();
+            }
+            required.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+            Roaring64Bitmap result = required.get(0);
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result.and(required.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Страница кандидатов по убыванию ранга (при равенстве - новые первыми).
+     * Полностью сортируются только первые (page + 1) * size задач, остальные отсекаются кучей.
+     */
+    public List<Hit> rank(Roaring64Bitmap candidates, Collection<String> terms, int page, int size) {
+        long limit = Math.min((long) (page + 1) * size, candidates.getLongCardinality());
+        if (limit <= (long) page * size) {
+            return Collections.emptyList();
+        }
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::getScore).thenComparingLong(Hit::getId);
+        PriorityQueue<Hit> top = new PriorityQueue<>((int) limit, order);
+        lock.readLock().lock();
+        try {
+            double documents = Math.max(all.getLongCardinality(), 1);
+            List<Roaring64Bitmap> inTitle = new ArrayList<>(terms.size());
+            double[] idf = new double[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                inTitle.add(titleTerms.get(term));
+                idf[i++] = Math.log(1 + documents / Math.max(union(term).getLongCardinality(), 1));
+            }
+            candidates.forEach(id -> {
+                double score = 0;
+                for (int t = 0; t < idf.length; t++) {
+                    Roaring64Bitmap title = inTitle.get(t);
+                    score += idf[t] * (title != null && title.contains(id) ? TITLE_WEIGHT : 1.0);
+                }
+                if (top.size() < limit) {
+                    top.add(new Hit(id, score));
+                } else if (score > top.peek().getScore()
+                        || (score == top.peek().getScore() && id > top.peek().getId())) {
+                    top.poll();
+                    top.add(new Hit(id, score));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> ordered = new ArrayList<>(top);
+        ordered.sort(order.reversed());
+        return ordered.subList(page * size, ordered.size());
+    }
+
+    /**
+     * Фрагмент текста до maxLength символов вокруг первого совпадения; найденные слова обернуты в &lt;em&gt;,
+     * остальной текст экранирован для вставки в HTML. null, если текста нет.
+     */
+    public static String highlight(String text, Set<String> terms, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                // Немного контекста перед первым совпадением
+                start = Math.max(0, matcher.start() - maxLength / 4);
+                break;
+            }
+        }
+        int end = (int) Math.min(text.length(), (long) start + maxLength);
+        String fragment = text.substring(start, end);
+
+        StringBuilder result = new StringBuilder(fragment.length() + 16);
+        if (start > 0) {
+            result.append("...");
+        }
+        int position = 0;
+        matcher = WORD.matcher(fragment);
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                escape(fragment, position, matcher.start(), result);
+                result.append("<em>");
+                escape(fragment, matcher.start(), matcher.end(), result);
+                result.append("</em>");
+                position = matcher.end();
+            }
+        }
+        escape(fragment, position, fragment.length(), result);
+        if (end < text.length()) {
+            result.append("...");
+        }
+        return result.toString();
+    }
+
+    /** Полная перестройка индекса из БД */
+    @Transactional
+    @Scheduled(every = "${taskmanagement.text-index.rebuild-interval:1h}", delayed = "${taskmanagement.text-index.rebuild-interval:1h}")
+    public synchronized void rebuild() {
+        if (textSearch != null && textSearch.isEnabled()) {
+            return; // индекс в памяти не нужен, пока не построен - события не копятся
+        }
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            rebuildFromDatabase();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        Roaring64Bitmap newAll = new Roaring64Bitmap();
+        Map<String, Roaring64Bitmap> newTitleTerms = new HashMap<>();
+        Map<String, Roaring64Bitmap> newBodyTerms = new HashMap<>();
+        long after = 0;
+        List<Object[]> batch;
+        do {
+            batch = em.createQuery("select t.id, t.title, t.description from Task t where t.id > :after order by t.id",
+                            Object[].class)
+                    .setParameter("after", after)
+                    .setMaxResults(REBUILD_BATCH)
+                    .getResultList();
+            for (Object[] row : batch) {
+                long id = (Long) row[0];
+                newAll.addLong(id);
+                addTerms(newTitleTerms, (String) row[1], id);
+                addTerms(newBodyTerms, (String) row[2], id);
+                after = id;
+            }
+        } while (batch.size() == REBUILD_BATCH);
+        newAll.runOptimize();
+        newTitleTerms.values().forEach(Roaring64Bitmap::runOptimize);
+        newBodyTerms.values().forEach(Roaring64Bitmap::runOptimize);
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            all = newAll;
+            titleTerms = newTitleTerms;
+            bodyTerms = newBodyTerms;
+            // Изменения, закоммиченные во время загрузки, могли не попасть в прочитанные пакеты
+            replayed = pending.size();
+            for (Object event : pending) {
+                if (event instanceof TaskChangedEvent) {
+                    apply((TaskChangedEvent) event);
+                } else {
+                    apply((TasksGeneratedEvent) event);
+                }
+            }
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Text index rebuilt: {} tasks, {} title terms, {} description terms, {} events replayed",
+                newAll.getLongCardinality(), newTitleTerms.size(), newBodyTerms.size(), replayed);
+    }
+
+    void onTaskChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) TaskChangedEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        // Смена статуса, приоритета или исполнителя текст не трогает
+        if (before != null && after != null
+                && Objects.equals(before.getTitle(), after.getTitle())
+                && Objects.equals(before.getDescription(), after.getDescription())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void onTasksGenerated(@Observes(during = TransactionPhase.AFTER_SUCCESS) TasksGeneratedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (record(event)) {
+                apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Запоминает событие для проигрывания, если идет перестройка; true - индекс построен и событие надо
+     * применить к нему сразу. Вызывается под блокировкой записи.
+     */
+    private boolean record(Object event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        return built;
+    }
+
+    // Повторное применение: слова старого текста снимаются, нового - ставятся, результат тот же
+    private void apply(TaskChangedEvent event) {
+        TaskSnapshot before = event.getBefore();
+        TaskSnapshot after = event.getAfter();
+        long id = event.getTaskId();
+        if (before != null) {
+            removeTerms(titleTerms, before.getTitle(), id);
+            removeTerms(bodyTerms, before.getDescription(), id);
+        }
+        if (after != null) {
+            all.addLong(id);
+            addTerms(titleTerms, after.getTitle(), id);
+            addTerms(bodyTerms, after.getDescription(), id);
+        } else {
+            all.removeLong(id);
+        }
+    }
+
+    private void apply(TasksGeneratedEvent event) {
+        for (TaskSnapshot task : event.getTasks()) {
+            all.addLong(task.getId());
+            addTerms(titleTerms, task.getTitle(), task.getId());
+            addTerms(bodyTerms, task.getDescription(), task.getId());
+        }
+    }
+
+    // Задачи со словом в заголовке или описании; вызывается под блокировкой чтения
+    private Roaring64Bitmap union(String term) {
+        Roaring64Bitmap title = titleTerms.get(term);
+        Roaring64Bitmap body = bodyTerms.get(term);
+        if (title == null) {
+            return body != null ? body.clone() : new Roaring64Bitmap();
+        }
+        return body != null ? Roaring64Bitmap.or(title, body) : title.clone();
+    }
+
+    private static void addTerms(Map<String, Roaring64Bitmap> index, String text, long id) {
+        for (String term : terms(text)) {
+            index.computeIfAbsent(term, t -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private static void removeTerms(Map<String, Roaring64Bitmap> index, String text, long id) {
+        for (String term : terms(text)) {
+            Roaring64Bitmap ids = index.get(term);
+            if (ids != null) {
+                ids.removeLong(id);
+                if (ids.isEmpty()) {
+                    index.remove(term);
+                }
+            }
+        }
+    }
+
+    static void escape(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                out.append("&lt;");
+            } else if (c == '>') {
+                out.append("&gt;");
+            } else if (c == '&') {
+                out.append("&amp;");
+            } else if (c == '"') {
+                out.append("&quot;");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+}
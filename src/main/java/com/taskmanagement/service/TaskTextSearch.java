@@ -0,0 +1,187 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.PageResponse;
+import com.taskmanagement.model.dto.TaskSearchHit;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.TaskRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Полнотекстовый поиск средствами Postgres: tsvector заголовка (вес A) и описания (вес B) хранится
+ * в генерируемом столбце tasks.search_vector с GIN-индексом, ранг считает ts_rank, подсветку - ts_headline.
+ * Индекс общий для всех экземпляров и обновляется в той же транзакции, что и задача.
+ * В H2 (тесты, профиль h2) tsvector нет, там работает TaskTextIndex в памяти.
+ */
+@ApplicationScoped
+public class TaskTextSearch {
+
+    // Словарь simple: без стемминга и стоп-слов, как у TaskTextIndex.terms
+    private static final String VECTOR = "setweight(to_tsvector('simple', coalesce(title, '')), 'A')"
+            + " || setweight(to_tsvector('simple', coalesce(description, '')), 'B')";
+    private static final String QUERY = "to_tsquery('simple', :query)";
+    // Границы совпадений - управляющие символы: вывод ts_headline не экранирован, <em> расставляется после экранирования
+    private static final char START = '\u0002';
+    private static final char STOP = '\u0003';
+    private static final String TITLE_OPTIONS = "StartSel=\"" + START + "\", StopSel=\"" + STOP + "\", HighlightAll=true";
+    private static final String SNIPPET_OPTIONS = "StartSel=\"" + START + "\", StopSel=\"" + STOP + "\", MaxWords=30, MinWords=10";
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    public boolean isEnabled() {
+        return "postgresql".equals(dbKind);
+    }
+
+    // Столбец создается после схемы Hibernate, которому он не принадлежит
+    void onStart(@Observes StartupEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        QuarkusTransaction.requiringNew().run(() -> {
+            em.createNativeQuery("alter table tasks add column if not exists search_vector tsvector"
+                    + " generated always as (" + VECTOR + ") stored").executeUpdate();
+            em.createNativeQuery("create index if not exists idx_tasks_search on tasks using gin (search_vector)")
+                    .executeUpdate();
+        });
+    }
+
+    /** Страница задач, содержащих все слова terms, по убыванию ранга (при равенстве - новые первыми) */
+    public PageResponse<TaskSearchHit> search(Collection<String> terms, List<String> tags, List<String> excludedTags,
+                                              TaskStatus status, TaskPriority priority, Long userId,
+                                              int page, int size) {
+        String filter = filter(tags, excludedTags, status, priority, userId);
+        Query count = em.createNativeQuery("select count(*) from tasks t where t.search_vector @@ " + QUERY + filter);
+        long total = ((Number) bind(count, terms, tags, excludedTags, status, priority, userId).getSingleResult())
+                .longValue();
+        if (total <= (long) page * size) {
+            return new PageResponse<>(List.of(), page, size, total);
+        }
+
+        // Подсветка считается только для строк страницы, а не для всех совпадений
+        Query pageQuery = em.createNativeQuery("select p.id, p.rank,"
+                        + " ts_headline('simple', coalesce(t.title, ''), " + QUERY + ", :titleOptions),"
+                        + " case when t.description is null then null"
+                        + " else ts_headline('simple', t.description, " + QUERY + ", :snippetOptions) end"
+                        + " from (select t.id, ts_rank(t.search_vector, " + QUERY + ") rank from tasks t"
+                        + " where t.search_vector @@ " + QUERY + filter
+                        + " order by rank desc, t.id desc limit :size offset :offset) p"
+                        + " join tasks t on t.id = p.id"
+                        + " order by p.rank desc, p.id desc")
+                .setParameter("titleOptions", TITLE_OPTIONS)
+                .setParameter("snippetOptions", SNIPPET_OPTIONS)
+                .setParameter("size", size)
+                .setParameter("offset", page * size);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = bind(pageQuery, terms, tags, excludedTags, status, priority, userId).getResultList();
+
+        List<TaskSearchHit> items = new ArrayList<>(rows.size());
+        if (!rows.isEmpty()) {
+            List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+            Map<Long, Task> tasks = taskRepository.list("id in ?1", ids).stream()
+                    .collect(Collectors.toMap(t -> t.id, Function.identity()));
+            for (Object[] row : rows) {
+                Task task = tasks.get(((Number) row[0]).longValue());
+                // Задача могла быть удалена между запросами
+                if (task != null) {
+                    items.add(new TaskSearchHit(task, ((Number) row[1]).doubleValue(),
+                            highlight((String) row[2]), highlight((String) row[3])));
+                }
+            }
+        }
+        return new PageResponse<>(items, page, size, total);
+    }
+
+    /** Запрос to_tsquery: все слова через AND. Слова из TaskTextIndex.terms - только буквы и цифры */
+    static String tsQuery(Collection<String> terms) {
+        return String.join(" & ", terms);
+    }
+
+    /** Вывод ts_headline для HTML: текст экранируется, границы совпадений заменяются на &lt;em&gt; */
+    static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(headline.length() + 16);
+        int position = 0;
+        for (int i = 0; i < headline.length(); i++) {
+            char c = headline.charAt(i);
+            if (c == START || c == STOP) {
+                TaskTextIndex.escape(headline, position, i, result);
+                result.append(c == START ? "<em>" : "</em>");
+                position = i + 1;
+            }
+        }
+        TaskTextIndex.escape(headline, position, headline.length(), result);
+        return result.toString();
+    }
+
+    private static String filter(List<String> tags, List<String> excludedTags,
+                                 TaskStatus status, TaskPriority priority, Long userId) {
+        StringBuilder filter = new StringBuilder();
+        if (status != null) {
+            filter.append(" and t.status = :status");
+        }
+        if (priority != null) {
+            filter.append(" and t.priority = :priority");
+        }
+        if (userId != null) {
+            filter.append(" and t.user_id = :userId");
+        }
+        if (tags != null) {
+            for (int i = 0; i < tags.size(); i++) {
+                filter.append(" and exists (select 1 from task_tags tt join tags tg on tg.id = tt.tag_id")
+                        .append(" where tt.task_id = t.id and tg.name = :tag").append(i).append(")");
+            }
+        }
+        if (excludedTags != null && !excludedTags.isEmpty()) {
+            filter.append(" and not exists (select 1 from task_tags tt join tags tg on tg.id = tt.tag_id")
+                    .append(" where tt.task_id = t.id and tg.name in (:excludedTags))");
+        }
+        return filter.toString();
+    }
+
+    private static Query bind(Query query, Collection<String> terms, List<String> tags, List<String> excludedTags,
+                              TaskStatus status, TaskPriority priority, Long userId) {
+        query.setParameter("query", tsQuery(terms));
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+        if (priority != null) {
+            query.setParameter("priority", priority.name());
+        }
+        if (userId != null) {
+            query.setParameter("userId", userId);
+        }
+        if (tags != null) {
+            for (int i = 0; i < tags.size(); i++) {
+                query.setParameter("tag" + i, tags.get(i));
+            }
+        }
+        if (excludedTags != null && !excludedTags.isEmpty()) {
+            query.setParameter("excludedTags", excludedTags);
+        }
+        return query;
+    }
+}
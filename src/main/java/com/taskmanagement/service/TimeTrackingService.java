@@ -0,0 +1,121 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.dto.TimeEntryRequest;
+import com.taskmanagement.model.dto.WeeklyHours;
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeBucket;
+import com.taskmanagement.model.entity.TimeEntry;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.TimeEntryRepository;
+import com.taskmanagement.model.repository.UserRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ValidationException;
+import jakarta.ws.rs.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Учет времени по задачам. Итоги ведутся при вставке записи в той же транзакции:
+ * actualHours задачи и недельные итоги пользователя по категории (TimeBucket) обновляются атомарно в БД,
+ * поэтому параллельные записи не теряют минут, а отчеты не пересчитывают сырые записи.
+ */
+@ApplicationScoped
+public class TimeTrackingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimeTrackingService.class);
+
+    // Одна запись - не больше суток
+    static final int MAX_MINUTES = 24 * 60;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    TimeEntryRepository timeEntryRepository;
+
+    @Transactional
+    public TimeEntry logTime(Long taskId, TimeEntryRequest request) {
+        if (request.getMinutes() == null || request.getMinutes() < 1 || request.getMinutes() > MAX_MINUTES) {
+            throw new ValidationException("Minutes must be between 1 and " + MAX_MINUTES);
+        }
+        LocalDate workDate = request.getWorkDate() != null ? request.getWorkDate() : LocalDate.now();
+        if (workDate.isAfter(LocalDate.now())) {
+            throw new ValidationException("Work date cannot be in the future");
+        }
+        Task task = Optional.ofNullable(taskRepository.findById(taskId))
+                .orElseThrow(() -> new NotFoundException("Task not found: " + taskId));
+        User user;
+        if (request.getUserId() != null) {
+            user = Optional.ofNullable(userRepository.findById(request.getUserId()))
+                    .orElseThrow(() -> new NotFoundException("User not found"));
+        } else if (task.assignee != null) {
+            user = task.assignee;
+        } else {
+            throw new ValidationException("User is required for unassigned task");
+        }
+
+        int minutes = request.getMinutes();
+        TimeEntry entry = new TimeEntry();
+        entry.task = task;
+        entry.user = user;
+        entry.workDate = workDate;
+        entry.minutes = minutes;
+        entry.note = request.getNote();
+        timeEntryRepository.persist(entry);
+
+        // Оценка задачи учитывается один раз на задачу: в неделе и у пользователя первой записи по ней
+        boolean first = taskRepository.addLoggedMinutes(task.id, minutes);
+        boolean estimated = task.estimatedHours != null;
+        long estimateMinutes = estimated && first ? task.estimatedHours * 60L : 0;
+        timeEntryRepository.addToBucket(user.id, weekStart(workDate),
+                task.category != null ? task.category.id : TimeBucket.NO_CATEGORY,
+                minutes, estimateMinutes, estimated ? minutes : 0);
+
+        LOG.info("Logged {} min on task #{} by user #{}", minutes, task.id, user.id);
+        return entry;
+    }
+
+    public List<TimeEntry> getEntries(Long taskId) {
+        Optional.ofNullable(taskRepository.findById(taskId))
+                .orElseThrow(() -> new NotFoundException("Task not found: " + taskId));
+        return timeEntryRepository.findByTask(taskId);
+    }
+
+    /** Часы пользователя по неделям и категориям за [from, to]; читаются готовые недельные итоги */
+    public List<WeeklyHours> getWeeklyHours(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("Period start is after its end");
+        }
+        Optional.ofNullable(userRepository.findById(userId))
+                .orElseThrow(() -> new NotFoundException("User not found"));
+
+        List<TimeBucket> buckets = timeEntryRepository.findBuckets(userId, weekStart(from), weekStart(to));
+        List<WeeklyHours> result = new ArrayList<>(buckets.size());
+        for (TimeBucket bucket : buckets) {
+            result.add(new WeeklyHours(bucket.weekStart,
+                    bucket.categoryId != TimeBucket.NO_CATEGORY ? bucket.categoryId : null,
+                    bucket.loggedMinutes / 60.0,
+                    bucket.entries,
+                    bucket.estimatedMinutes / 60.0,
+                    bucket.estimatedLoggedMinutes / 60.0));
+        }
+        return result;
+    }
+
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
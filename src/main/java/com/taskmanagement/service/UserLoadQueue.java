@@ -0,0 +1,132 @@
+package com.taskmanagement.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Индексированная min-куча загрузки пользователей.
+ * Позиция каждого пользователя хранится в карте, поэтому изменение ключа и удаление стоят O(log n),
+ * а наименее загруженный пользователь берется за O(1). При равной загрузке выигрывает меньший id.
+ * Не потокобезопасна, синхронизация на стороне AssignmentService.
+ */
+final class UserLoadQueue {
+
+    private long[] userIds = new long[16];
+    private double[] loads = new double[16];
+    private int size;
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /** Добавляет пользователя или меняет его загрузку */
+    void set(long userId, double load) {
+        Integer position = positions.get(userId);
+        if (position == null) {
+            ensureCapacity();
+            userIds[size] = userId;
+            loads[size] = load;
+            positions.put(userId, size);
+            siftUp(size++);
+            return;
+        }
+        double old = loads[position];
+        loads[position] = load;
+        if (load < old) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    void remove(long userId) {
+        Integer position = positions.remove(userId);
+        if (position == null) {
+            return;
+        }
+        int last = --size;
+        if (position != last) {
+            long moved = userIds[last];
+            move(last, position);
+            siftUp(position);
+            siftDown(positions.get(moved));
+        }
+    }
+
+    boolean contains(long userId) {
+        return positions.containsKey(userId);
+    }
+
+    /** Текущая загрузка пользователя или NaN, если его нет в очереди */
+    double load(long userId) {
+        Integer position = positions.get(userId);
+        return position != null ? loads[position] : Double.NaN;
+    }
+
+    /** Наименее загруженный пользователь или null для пустой очереди */
+    Long peek() {
+        return size > 0 ? userIds[0] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+        positions.clear();
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && less(left + 1, left) ? left + 1 : left;
+            if (!less(smallest, index)) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        int byLoad = Double.compare(loads[a], loads[b]);
+        return byLoad != 0 ? byLoad < 0 : userIds[a] < userIds[b];
+    }
+
+    private void swap(int a, int b) {
+        long userId = userIds[a];
+        double load = loads[a];
+        userIds[a] = userIds[b];
+        loads[a] = loads[b];
+        userIds[b] = userId;
+        loads[b] = load;
+        positions.put(userIds[a], a);
+        positions.put(userIds[b], b);
+    }
+
+    private void move(int from, int to) {
+        userIds[to] = userIds[from];
+        loads[to] = loads[from];
+        positions.put(userIds[to], to);
+    }
+
+    private void ensureCapacity() {
+        if (size == userIds.length) {
+            userIds = Arrays.copyOf(userIds, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+        }
+    }
+}
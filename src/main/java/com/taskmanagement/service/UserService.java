@@ -1,5 +1,6 @@
 package com.taskmanagement.service;
 
+import com.taskmanagement.model.dto.MultiGetResponse;
 import com.taskmanagement.model.dto.UserCreateDto;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.repository.UserRepository;
@@ -9,11 +10,20 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
 
 @ApplicationScoped
 @AllArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
+    private final AssignmentService assignmentService;
+    private final AutocompleteService autocompleteService;
+
+    //Пользователи по списку id одним запросом, в порядке запроса
+    public MultiGetResponse<User> getUsers(List<Long> ids) {
+        List<Long> distinct = MultiGetResponse.distinctIds(ids);
+        return MultiGetResponse.of(distinct, userRepository.findAllByIdsInOrder(distinct));
+    }
 
     public User createUser(UserCreateDto userCreate) {
         User user = new User();
@@ -25,6 +35,9 @@ public class UserService {
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        assignmentService.userAdded(saved);
+        autocompleteService.userAdded(saved);
+        return saved;
     }
 }
@@ -0,0 +1,182 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.vertx.http.HttpServerStart;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Прогрев после старта: загрузка справочников, индексы автоназначения, поиска и автодополнения,
+ * подготовка запросов TaskRepository и синтетические запросы к основным эндпоинтам.
+ * Все запросы прогрева постраничные: он не читает таблицу задач целиком ни на одном экземпляре.
+ * Включается профилем warmup (quarkus.profile=prod,warmup); пока прогрев не завершен, readiness остается DOWN.
+ */
+@ApplicationScoped
+public class WarmupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmupService.class);
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @Inject
+    AssignmentService assignmentService;
+
+    @Inject
+    TaskBitmapIndex taskIndex;
+
+    @Inject
+    TaskTextIndex textIndex;
+
+    @Inject
+    AutocompleteService autocompleteService;
+
+    // Размер страницы в запросах прогрева: план запроса тот же, что у полной выборки
+    static final int PAGE_SIZE = 20;
+
+    @ConfigProperty(name = "taskmanagement.warmup.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "taskmanagement.warmup.iterations", defaultValue = "10")
+    int iterations;
+
+    @ConfigProperty(name = "taskmanagement.warmup.due-soon-days", defaultValue = "7")
+    int dueSoonDays;
+
+    // Полный пересчет по таблице задач блокирует всех пользователей, поэтому только по явному включению:
+    // один раз после появления столбца active_task_count или для исправления расхождений
+    @ConfigProperty(name = "taskmanagement.warmup.recalculate-counters", defaultValue = "false")
+    boolean recalculateCounters;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean complete;
+    private volatile long durationMs = -1;
+
+    // Эндпоинты прогреваются по HTTP, поэтому ждем запуска сервера, а не StartupEvent.
+    // Событие асинхронное: прогрев выполняется в отдельном потоке и не задерживает старт
+    void onHttpStart(@ObservesAsync HttpServerStart event) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+        warmUp(event.options().getPort());
+    }
+
+    void warmUp(int port) {
+        long start = System.nanoTime();
+        try {
+            if (recalculateCounters) {
+                int users = userRepository.recalculateActiveTaskCounts();
+                LOG.debug("Warm-up recalculated active task counters for {} users", users);
+            }
+            List<Long> userIds = QuarkusTransaction.requiringNew().call(this::loadReferenceData);
+            assignmentService.rebuild();
+            taskIndex.rebuild();
+            textIndex.rebuild();
+            autocompleteService.rebuild();
+            for (int i = 0; i < iterations; i++) {
+                Long userId = userIds.isEmpty() ? null : userIds.get(i % userIds.size());
+                QuarkusTransaction.requiringNew().run(() -> primeQueries(userId));
+            }
+            if (port > 0) {
+                exerciseEndpoints(port, userIds.isEmpty() ? null : userIds.get(0));
+            }
+            durationMs = (System.nanoTime() - start) / 1_000_000;
+            LOG.info("Warm-up finished in {} ms ({} active users)", durationMs, userIds.size());
+        } catch (Exception e) {
+            // Прогрев не обязателен: при ошибке все равно открываем трафик
+            LOG.warn("Warm-up failed, continuing without it", e);
+        } finally {
+            complete = true;
+        }
+    }
+
+    /** Загружает категории (кэш второго уровня) и страницу активных пользователей, возвращает их id */
+    List<Long> loadReferenceData() {
+        List<Category> categories = categoryRepository.listAll();
+        List<User> users = userRepository.find("active", true).page(0, PAGE_SIZE).list();
+        List<Long> ids = new ArrayList<>(users.size());
+        for (User user : users) {
+            ids.add(user.id);
+        }
+        LOG.debug("Warm-up loaded {} categories and {} active users", categories.size(), users.size());
+        return ids;
+    }
+
+    void primeQueries(Long userId) {
+        taskRepository.overdue().page(0, PAGE_SIZE).list();
+        taskRepository.dueSoon(dueSoonDays).page(0, PAGE_SIZE).list();
+        taskRepository.byUser(userId != null ? userId : -1L).page(0, PAGE_SIZE).list();
+    }
+
+    // Только ограниченные ответы: полные списки (/api/tasks, /overdue, /due-soon, /api/users) растут вместе с БД
+    void exerciseEndpoints(int port, Long userId) throws Exception {
+        LocalDate today = LocalDate.now();
+        List<String> paths = new ArrayList<>(List.of(
+                "/api/tasks/search?status=TODO&size=" + PAGE_SIZE,
+                "/api/tasks/search?q=task&size=" + PAGE_SIZE,
+                "/api/autocomplete?q=a",
+                "/api/boards?limit=" + PAGE_SIZE,
+                "/api/tasks/calendar?from=" + today + "&to=" + today.plusMonths(1),
+                "/api/tasks/calendar/" + today + "?size=" + PAGE_SIZE,
+                "/api/tasks/statistics",
+                "/categories"));
+        if (userId != null) {
+            paths.add("/api/users?ids=" + userId);
+            paths.add("/api/users/" + userId + "/statistics");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < iterations; i++) {
+            for (String path : paths) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    LOG.warn("Warm-up request {} returned {}", path, response.statusCode());
+                }
+            }
+        }
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanagement.audit;
+
+import com.taskmanagement.model.dto.TaskStateAsOf;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class TaskEventCodecTest {
+
+    @Test
+    void shouldRoundTripAllFields() {
+        LocalDate dueDate = LocalDate.of(2026, 12, 31);
+        byte[] payload = TaskEventCodec.encode(TaskEventCodec.ALL, TaskStatus.IN_PROGRESS, TaskPriority.URGENT, 123456L, dueDate);
+
+        TaskStateAsOf state = new TaskStateAsOf();
+        int mask = TaskEventCodec.apply(payload, state);
+
+        Assertions.assertEquals(TaskEventCodec.ALL, mask);
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, state.getStatus());
+        Assertions.assertEquals(TaskPriority.URGENT, state.getPriority());
+        Assertions.assertEquals(123456L, state.getAssigneeId());
+        Assertions.assertEquals(dueDate, state.getDueDate());
+        Assertions.assertTrue(payload.length <= 9, "payload is " + payload.length + " bytes");
+    }
+
+    @Test
+    void shouldEncodeOnlyChangedFieldsAndKeepOthers() {
+        TaskSnapshot before = snapshot(TaskStatus.TODO, 5L, LocalDate.of(1969, 7, 20));
+        TaskSnapshot after = snapshot(TaskStatus.DONE, 5L, LocalDate.of(1969, 7, 20));
+        int changes = TaskEventCodec.changes(before, after);
+        byte[] payload = TaskEventCodec.encode(changes, after.getStatus(), after.getPriority(), after.getAssigneeId(), after.getDueDate());
+
+        TaskStateAsOf state = new TaskStateAsOf();
+        state.setAssigneeId(5L);
+        TaskEventCodec.apply(payload, state);
+
+        Assertions.assertEquals(List.of("status"), TaskEventCodec.fieldNames(changes));
+        Assertions.assertEquals(2, payload.length);
+        Assertions.assertEquals(TaskStatus.DONE, state.getStatus());
+        Assertions.assertEquals(5L, state.getAssigneeId());
+    }
+
+    @Test
+    void shouldEncodeClearedValuesAndDatesBefore1970() {
+        LocalDate moonLanding = LocalDate.of(1969, 7, 20);
+        TaskStateAsOf state = new TaskStateAsOf();
+        state.setAssigneeId(7L);
+
+        TaskEventCodec.apply(TaskEventCodec.encode(TaskEventCodec.ASSIGNEE | TaskEventCodec.DUE_DATE,
+                null, null, null, moonLanding), state);
+
+        Assertions.assertNull(state.getAssigneeId());
+        Assertions.assertEquals(moonLanding, state.getDueDate());
+        Assertions.assertEquals(0, TaskEventCodec.changes(snapshot(TaskStatus.TODO, null, null), snapshot(TaskStatus.TODO, null, null)));
+    }
+
+    private static TaskSnapshot snapshot(TaskStatus status, Long assigneeId, LocalDate dueDate) {
+        return new TaskSnapshot(1L, "Task", null, status, TaskPriority.MEDIUM, assigneeId, null, dueDate, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskmanagement.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ActorInterceptorTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExposeActorFromMetadataToTheCall() {
+        AtomicReference<String> seen = new AtomicReference<>();
+        ServerCallHandler<Object, Object> handler = (call, headers) -> {
+            seen.set(ActorInterceptor.ACTOR.get());
+            return new ServerCall.Listener<>() {
+            };
+        };
+        Metadata headers = new Metadata();
+        headers.put(ActorInterceptor.ACTOR_KEY, "importer");
+
+        new ActorInterceptor().interceptCall(Mockito.mock(ServerCall.class), headers, handler);
+        Assertions.assertEquals("importer", seen.get());
+
+        new ActorInterceptor().interceptCall(Mockito.mock(ServerCall.class), new Metadata(), handler);
+        Assertions.assertEquals("anonymous", seen.get());
+    }
+}
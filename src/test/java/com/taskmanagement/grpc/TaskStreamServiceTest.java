@@ -0,0 +1,127 @@
+package com.taskmanagement.grpc;
+
+import com.taskmanagement.model.dto.UserCreateDto;
+import io.grpc.Context;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Потоковый импорт и выгрузка в одном процессе: пакеты по batch-size (в тестах 2), отказы по позиции,
+ * выгрузка страницами по page-size с фильтром и продолжением после after_id
+ */
+@QuarkusTest
+public class TaskStreamServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Inject
+    @GrpcService
+    TaskStreamService service;
+
+    @Test
+    void shouldImportInBatchesAndReportRejections() {
+        long userId = createUser();
+        String dueDate = LocalDate.now().plusDays(3).toString();
+
+        CreateTasksReply reply = service.createTasks(Multi.createFrom().items(
+                        request("Imported 1", userId).setDueDate(dueDate).setPriority(Priority.HIGH).build(),
+                        request("", userId).build(),
+                        request("Imported 2", userId).addTags("import").build(),
+                        request("Bad date", userId).setDueDate("31.12.2030").build(),
+                        request("Missing assignee", 999_999_999L).build(),
+                        request("Imported 3", userId).build()))
+                .await().atMost(TIMEOUT);
+
+        Assertions.assertEquals(6, reply.getReceived());
+        Assertions.assertEquals(3, reply.getCreated());
+        Assertions.assertEquals(List.of(1L, 3L, 4L),
+                reply.getRejectedList().stream().map(Rejection::getIndex).toList());
+
+        List<TaskMessage> exported = service.listTasks(ListTasksRequest.newBuilder().setAssigneeId(userId).build())
+                .collect().asList().await().atMost(TIMEOUT);
+
+        Assertions.assertEquals(reply.getTaskIdsList(), exported.stream().map(TaskMessage::getId).toList());
+        Assertions.assertEquals("Imported 1", exported.get(0).getTitle());
+        Assertions.assertEquals(Priority.HIGH, exported.get(0).getPriority());
+        Assertions.assertEquals(dueDate, exported.get(0).getDueDate());
+        Assertions.assertEquals(Status.TODO, exported.get(0).getStatus());
+
+        List<TaskMessage> resumed = service.listTasks(ListTasksRequest.newBuilder()
+                        .setAssigneeId(userId)
+                        .setAfterId(reply.getTaskIds(0))
+                        .setPriority(Priority.MEDIUM)
+                        .build())
+                .collect().asList().await().atMost(TIMEOUT);
+
+        Assertions.assertEquals(reply.getTaskIdsList().subList(1, 3), resumed.stream().map(TaskMessage::getId).toList());
+    }
+
+    @Test
+    void shouldRejectOnlyTheRequestTheDatabaseRefuses() throws Exception {
+        long userId = createUser();
+
+        // Заголовок длиннее столбца title: проверки сервиса проходит, отказ приходит от БД и откатывает пакет
+        CreateTasksReply reply = Context.current().withValue(ActorInterceptor.ACTOR, "importer").call(() ->
+                service.createTasks(Multi.createFrom().items(
+                        request("Saved 1", userId).build(),
+                        request("x".repeat(300), userId).build(),
+                        request("Saved 2", userId).build())))
+                .await().atMost(TIMEOUT);
+
+        Assertions.assertEquals(3, reply.getReceived());
+        Assertions.assertEquals(2, reply.getCreated());
+        Assertions.assertEquals(List.of(1L), reply.getRejectedList().stream().map(Rejection::getIndex).toList());
+
+        given()
+                .pathParam("id", reply.getTaskIds(0))
+                .when()
+                .get("/api/tasks/{id}/history")
+                .then()
+                .statusCode(200)
+                .body("[0].actor", equalTo("importer"));
+    }
+
+    @Test
+    void shouldRejectUnknownFilterValue() {
+        ListTasksRequest request = ListTasksRequest.newBuilder().setStatusValue(42).build();
+
+        StatusRuntimeException error = Assertions.assertThrows(StatusRuntimeException.class,
+                () -> service.listTasks(request).collect().asList().await().atMost(TIMEOUT));
+
+        Assertions.assertEquals(io.grpc.Status.Code.INVALID_ARGUMENT, error.getStatus().getCode());
+    }
+
+    private static CreateTaskRequest.Builder request(String title, long userId) {
+        return CreateTaskRequest.newBuilder().setTitle(title).setAssigneeId(userId);
+    }
+
+    private long createUser() {
+        UserCreateDto user = new UserCreateDto();
+        user.setName("Stream Importer");
+        user.setEmail("grpc-" + UUID.randomUUID() + "@example.com");
+        int id = given()
+                .contentType(ContentType.JSON)
+                .body(user)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+        return id;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanagement.load;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Бенчмарк конкуренции за очередь задач: сотни параллельных POST /api/tasks/claim.
+ * Проверяет отсутствие двойного назначения и пишет задержки в target/claim-report.json:
+ * <pre>
+ * mvn test -Pload -Dtest=ClaimContentionTest -Dload.claimers=200 -Dload.tasks=200000
+ * </pre>
+ */
+@QuarkusTest
+@TestProfile(LoadTestProfile.class)
+@Tag("load")
+public class ClaimContentionTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Test
+    void shouldClaimWithoutDoubleAssignment() throws Exception {
+        int users = Integer.getInteger("load.users", 1_000);
+        int tasks = Integer.getInteger("load.tasks", 50_000);
+        int claimers = Integer.getInteger("load.claimers", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 30));
+
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(dataSource, 7).generate(users, 10, tasks);
+
+        Map<LoadDriver.Operation, Integer> weights = new EnumMap<>(LoadDriver.Operation.class);
+        weights.put(LoadDriver.Operation.CLAIM, 1);
+        LoadDriver driver = new LoadDriver(baseUri, dataset, weights);
+        LoadDriver.Report report = driver.run(claimers, warmup, duration);
+
+        System.out.println(report.toTable());
+        System.out.printf("Claimed %d tasks, %d empty claims, %d duplicates%n",
+                driver.claimedCount(), driver.emptyClaims(), driver.duplicateClaims());
+        report.writeJson(Path.of("target", "claim-report.json"));
+
+        Assertions.assertEquals(0, driver.duplicateClaims(), "Same task was claimed more than once");
+        Assertions.assertTrue(report.totalErrors() <= report.totalRequests() / 100,
+                "Too many failed claims: " + report.totalErrors() + " of " + report.totalRequests());
+    }
+}
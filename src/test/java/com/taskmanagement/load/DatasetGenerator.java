@@ -0,0 +1,216 @@
+package com.taskmanagement.load;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Заполняет БД синтетическими пользователями, категориями и задачами через пакетные JDBC-вставки.
+ * Распределения приближены к реальным: большинство задач открыты или выполнены,
+ * нагрузка по исполнителям перекошена (несколько "тяжелых" пользователей), часть задач без срока.
+ * Работает и на H2, и на Postgres (для Postgres стоит добавить reWriteBatchedInserts=true в URL).
+ */
+public class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final DataSource dataSource;
+    private final SplittableRandom random;
+
+    public DatasetGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Сгенерированный набор: диапазоны идентификаторов для нагрузочного драйвера
+     */
+    public record Dataset(long[] userIds, long[] categoryIds, long minTaskId, long maxTaskId) {
+    }
+
+    public Dataset generate(int users, int categories, int tasks) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+
+            insertUsers(connection, runId, users);
+            insertCategories(connection, runId, categories);
+            long[] userIds = selectIds(connection, "SELECT id FROM users WHERE email LIKE ? ORDER BY id", "load-" + runId + "-%", users);
+            long[] categoryIds = selectIds(connection, "SELECT id FROM categories WHERE name LIKE ? ORDER BY id", "load-" + runId + "-%", categories);
+
+            insertTasks(connection, tasks, userIds, categoryIds);
+            updateActiveTaskCounts(connection);
+
+            long minTaskId;
+            long maxTaskId;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT MIN(id), MAX(id) FROM tasks")) {
+                rs.next();
+                minTaskId = rs.getLong(1);
+                maxTaskId = rs.getLong(2);
+            }
+            connection.commit();
+            return new Dataset(userIds, categoryIds, minTaskId, maxTaskId);
+        }
+    }
+
+    private void insertUsers(Connection connection, String runId, int count) throws SQLException {
+        String sql = "INSERT INTO users (email, name, active, create_date) VALUES (?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "load-" + runId + "-" + i + "@example.com");
+                ps.setString(2, "Load User " + i);
+                // Около 5% пользователей неактивны
+                ps.setBoolean(3, random.nextInt(20) != 0);
+                ps.setTimestamp(4, now);
+                ps.addBatch();
+                flushIfFull(connection, ps, i + 1);
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertCategories(Connection connection, String runId, int count) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO categories (name) VALUES (?)")) {
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "load-" + runId + "-" + i);
+                ps.addBatch();
+                flushIfFull(connection, ps, i + 1);
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private void insertTasks(Connection connection, int count, long[] userIds, long[] categoryIds) throws SQLException {
+        String sql = "INSERT INTO tasks (title, description, status, priority, user_id, category_id, due_date, "
+                + "completed_date, estimated_hours, actual_hours, create_date, update_date) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                TaskStatus status = nextStatus();
+                LocalDateTime created = now.minusMinutes(random.nextInt(1, 60 * 24 * 180));
+                LocalDate dueDate = nextDueDate(today, status);
+                int estimated = random.nextInt(1, 41);
+
+                ps.setString(1, "Load task " + i);
+                ps.setString(2, "Synthetic task generated for load testing #" + i);
+                ps.setString(3, status.name());
+                ps.setString(4, nextPriority().name());
+                setNullableLong(ps, 5, random.nextInt(100) < 85 ? skewedPick(userIds) : null);
+                setNullableLong(ps, 6, random.nextInt(100) < 70 ? categoryIds[random.nextInt(categoryIds.length)] : null);
+                if (dueDate != null) {
+                    ps.setDate(7, Date.valueOf(dueDate));
+                } else {
+                    ps.setNull(7, Types.DATE);
+                }
+                if (status == TaskStatus.DONE) {
+                    ps.setTimestamp(8, Timestamp.valueOf(created.plusHours(random.nextInt(1, 24 * 20))));
+                    ps.setInt(10, Math.max(1, estimated + random.nextInt(-estimated / 2 - 1, estimated)));
+                } else {
+                    ps.setNull(8, Types.TIMESTAMP);
+                    ps.setNull(10, Types.INTEGER);
+                }
+                ps.setInt(9, estimated);
+                ps.setTimestamp(11, Timestamp.valueOf(created));
+                ps.setTimestamp(12, Timestamp.valueOf(created));
+                ps.addBatch();
+                flushIfFull(connection, ps, i + 1);
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    // Задачи вставляются в обход TaskService, поэтому счетчики пользователей заполняются одним UPDATE
+    private void updateActiveTaskCounts(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE users u SET active_task_count = (SELECT COUNT(*) FROM tasks t"
+                    + " WHERE t.user_id = u.id AND t.status NOT IN ('DONE', 'CANCELLED'))");
+        }
+        connection.commit();
+    }
+
+    private void flushIfFull(Connection connection, PreparedStatement ps, int added) throws SQLException {
+        if (added % BATCH_SIZE == 0) {
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private TaskStatus nextStatus() {
+        int roll = random.nextInt(100);
+        if (roll < 35) return TaskStatus.TODO;
+        if (roll < 55) return TaskStatus.IN_PROGRESS;
+        if (roll < 90) return TaskStatus.DONE;
+        if (roll < 95) return TaskStatus.CANCELLED;
+        return TaskStatus.OVERDUE;
+    }
+
+    private TaskPriority nextPriority() {
+        int roll = random.nextInt(100);
+        if (roll < 25) return TaskPriority.LOW;
+        if (roll < 70) return TaskPriority.MEDIUM;
+        if (roll < 92) return TaskPriority.HIGH;
+        return TaskPriority.URGENT;
+    }
+
+    private LocalDate nextDueDate(LocalDate today, TaskStatus status) {
+        if (random.nextInt(10) == 0) {
+            return null;
+        }
+        if (status == TaskStatus.OVERDUE) {
+            return today.minusDays(random.nextInt(1, 30));
+        }
+        // Основная масса сроков в ближайшие полтора месяца, хвост в прошлом для выполненных
+        return today.plusDays(random.nextInt(-20, 46));
+    }
+
+    /**
+     * Перекошенный выбор: квадрат равномерной величины смещает выбор к началу массива
+     */
+    private long skewedPick(long[] ids) {
+        double u = random.nextDouble();
+        return ids[(int) (u * u * ids.length)];
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static long[] selectIds(Connection connection, String sql, String pattern, int expected) throws SQLException {
+        long[] ids = new long[expected];
+        int n = 0;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, pattern);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next() && n < expected) {
+                    ids[n++] = rs.getLong(1);
+                }
+            }
+        }
+        return n == expected ? ids : Arrays.copyOf(ids, n);
+    }
+}
@@ -0,0 +1,340 @@
+package com.taskmanagement.load;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Нагрузочный драйвер: воспроизводит смешанную нагрузку на REST API в том же JVM
+ * и считает пропускную способность и перцентили задержек по каждому эндпоинту.
+ */
+public class LoadDriver {
+
+    /**
+     * Операции смешанной нагрузки с весами по умолчанию
+     */
+    public enum Operation {
+        LIST(2),
+        FILTER(20),
+        CREATE(25),
+        STATUS(20),
+        ASSIGN(20),
+        STATISTICS(13),
+        // Взятие задачи в работу (SKIP LOCKED); в смешанной нагрузке по умолчанию выключено
+        CLAIM(0);
+
+        final int defaultWeight;
+
+        Operation(int defaultWeight) {
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final TaskStatus[] FILTER_STATUSES = {TaskStatus.TODO, TaskStatus.IN_PROGRESS, TaskStatus.DONE};
+
+    private final URI baseUri;
+    private final DatasetGenerator.Dataset dataset;
+    private final Map<Operation, Integer> weights;
+    private final HttpClient client;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    // Задачи, созданные драйвером в статусе TODO: на них безопасно выполнять переход TODO -> IN_PROGRESS
+    private final ConcurrentLinkedQueue<Long> createdTasks = new ConcurrentLinkedQueue<>();
+    // Задачи, полученные через claim: повторное получение той же задачи означает двойное назначение
+    private final Set<Long> claimedTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicateClaims = new AtomicInteger();
+    private final AtomicInteger emptyClaims = new AtomicInteger();
+
+    public LoadDriver(URI baseUri, DatasetGenerator.Dataset dataset, Map<Operation, Integer> weights) {
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.weights = weights;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+    }
+
+    public static Map<Operation, Integer> defaultWeights() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.defaultWeight);
+        }
+        return weights;
+    }
+
+    /**
+     * Прогрев без записи результатов, затем замер заданной длительности
+     */
+    public Report run(int threads, Duration warmup, Duration duration) throws InterruptedException {
+        drive(threads, warmup, false);
+        long started = System.nanoTime();
+        drive(threads, duration, true);
+        return new Report(recorders, System.nanoTime() - started);
+    }
+
+    private void drive(int threads, Duration duration, boolean record) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick();
+                    long start = System.nanoTime();
+                    boolean ok = execute(operation);
+                    if (record) {
+                        recorders.get(operation).record(System.nanoTime() - start, ok);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private Operation pick() {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.FILTER;
+    }
+
+    private boolean execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (operation) {
+                case LIST:
+                    return send(get("/api/tasks")) == 200;
+                case FILTER:
+                    return send(get("/api/tasks?status=" + FILTER_STATUSES[random.nextInt(FILTER_STATUSES.length)]
+                            + "&userId=" + randomUser())) == 200;
+                case CREATE:
+                    return create();
+                case STATUS:
+                    Long taskId = createdTasks.poll();
+                    if (taskId == null) {
+                        return create();
+                    }
+                    return send(put("/api/tasks/" + taskId + "/status?status=" + TaskStatus.IN_PROGRESS)) == 200;
+                case ASSIGN:
+                    long id = random.nextLong(dataset.minTaskId(), dataset.maxTaskId() + 1);
+                    int code = send(put("/api/tasks/" + id + "/assign?userId=" + randomUser()));
+                    // Задача могла быть удалена другими тестами: 404 не считаем ошибкой нагрузки
+                    return code == 200 || code == 404;
+                case STATISTICS:
+                    return send(get("/api/tasks/statistics")) == 200;
+                case CLAIM:
+                    return claim();
+                default:
+                    return false;
+            }
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean create() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = String.format(Locale.ROOT,
+                "{\"title\":\"Load created %d\",\"description\":\"created by load driver\",\"priority\":\"%s\","
+                        + "\"dueDate\":\"%s\",\"assigneeId\":%d,\"estimatedHours\":%d}",
+                random.nextInt(), TaskPriority.values()[random.nextInt(TaskPriority.values().length)],
+                LocalDate.now().plusDays(random.nextInt(1, 30)), randomUser(), random.nextInt(1, 20));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        Matcher matcher = ID_PATTERN.matcher(response.body());
+        if (matcher.find()) {
+            createdTasks.add(Long.parseLong(matcher.group(1)));
+        }
+        return true;
+    }
+
+    private boolean claim() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/tasks/claim?userId=" + randomUser()))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 204) {
+            emptyClaims.incrementAndGet();
+            return true;
+        }
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        Matcher matcher = ID_PATTERN.matcher(response.body());
+        if (matcher.find() && !claimedTasks.add(Long.parseLong(matcher.group(1)))) {
+            duplicateClaims.incrementAndGet();
+        }
+        return true;
+    }
+
+    public int claimedCount() {
+        return claimedTasks.size();
+    }
+
+    public int duplicateClaims() {
+        return duplicateClaims.get();
+    }
+
+    public int emptyClaims() {
+        return emptyClaims.get();
+    }
+
+    private long randomUser() {
+        long[] users = dataset.userIds();
+        return users[ThreadLocalRandom.current().nextInt(users.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest put(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Накопитель задержек одной операции
+     */
+    static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized int errors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Итог прогона: по каждой операции число запросов, ошибки, RPS и перцентили в миллисекундах
+     */
+    public static final class Report {
+
+        public record Line(Operation operation, int requests, int errors, double throughput,
+                           double p50, double p90, double p99, double max) {
+        }
+
+        private final List<Line> lines = new ArrayList<>();
+
+        Report(Map<Operation, Recorder> recorders, long elapsedNanos) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+                long[] sorted = entry.getValue().snapshot();
+                if (sorted.length == 0) {
+                    continue;
+                }
+                lines.add(new Line(entry.getKey(), sorted.length, entry.getValue().errors(), sorted.length / seconds,
+                        percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                        sorted[sorted.length - 1] / 1_000_000.0));
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        public List<Line> lines() {
+            return lines;
+        }
+
+        public int totalRequests() {
+            return lines.stream().mapToInt(Line::requests).sum();
+        }
+
+        public int totalErrors() {
+            return lines.stream().mapToInt(Line::errors).sum();
+        }
+
+        public String toTable() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "%-12s %9s %7s %10s %9s %9s %9s %9s%n",
+                    "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+            for (Line line : lines) {
+                sb.append(String.format(Locale.ROOT, "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        line.operation(), line.requests(), line.errors(), line.throughput(),
+                        line.p50(), line.p90(), line.p99(), line.max()));
+            }
+            return sb.toString();
+        }
+
+        public void writeJson(Path path) throws IOException {
+            StringBuilder sb = new StringBuilder("[\n");
+            for (int i = 0; i < lines.size(); i++) {
+                Line line = lines.get(i);
+                sb.append(String.format(Locale.ROOT,
+                        "  {\"operation\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughput\":%.2f,"
+                                + "\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"max\":%.3f}%s%n",
+                        line.operation(), line.requests(), line.errors(), line.throughput(),
+                        line.p50(), line.p90(), line.p99(), line.max(), i < lines.size() - 1 ? "," : ""));
+            }
+            sb.append("]\n");
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, sb.toString());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanagement.load;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Сквозной нагрузочный тест: генерация набора данных и смешанная нагрузка на REST API.
+ * Запускается только профилем load:
+ * <pre>
+ * mvn test -Pload -Dload.tasks=1000000 -Dload.duration-seconds=60 -Dload.weights=LIST=0,FILTER=30
+ * </pre>
+ * Для локального Postgres достаточно переопределить datasource:
+ * -Dquarkus.datasource.db-kind=postgresql -Dquarkus.datasource.jdbc.url=jdbc:postgresql://localhost:5432/load
+ */
+@QuarkusTest
+@TestProfile(LoadTestProfile.class)
+@Tag("load")
+public class LoadTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Test
+    void shouldSustainMixedWorkload() throws Exception {
+        int users = Integer.getInteger("load.users", 1_000);
+        int categories = Integer.getInteger("load.categories", 50);
+        int tasks = Integer.getInteger("load.tasks", 100_000);
+        int threads = Integer.getInteger("load.threads", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 30));
+
+        long generationStart = System.nanoTime();
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(dataSource, 42).generate(users, categories, tasks);
+        System.out.printf("Generated %d users, %d categories, %d tasks in %d ms%n", users, categories, tasks,
+                (System.nanoTime() - generationStart) / 1_000_000);
+
+        LoadDriver.Report report = new LoadDriver(baseUri, dataset, weights(System.getProperty("load.weights")))
+                .run(threads, warmup, duration);
+
+        System.out.println(report.toTable());
+        report.writeJson(Path.of("target", "load-report.json"));
+
+        Assertions.assertTrue(report.totalRequests() > 0, "Load driver did not complete any request");
+        Assertions.assertTrue(report.totalErrors() <= report.totalRequests() / 100,
+                "Too many failed requests: " + report.totalErrors() + " of " + report.totalRequests());
+    }
+
+    /**
+     * Веса операций в формате "FILTER=20,CREATE=25"; не указанные операции берут вес по умолчанию
+     */
+    private static Map<LoadDriver.Operation, Integer> weights(String spec) {
+        Map<LoadDriver.Operation, Integer> weights = LoadDriver.defaultWeights();
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(LoadDriver.Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskmanagement.load;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+// Профиль нагрузочного теста: без логирования SQL, чтобы вывод в консоль не искажал задержки
+public class LoadTestProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.hibernate-orm.log.sql", "false",
+                "taskmanagement.query-stats.headers", "false"
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package com.taskmanagement.load;
+
+import com.taskmanagement.service.ScheduledTaskService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Генерация экземпляров для большого числа активных правил: два генератора параллельно (как две реплики),
+ * затем повторный прогон. Проверяет, что каждое правило дало ровно один экземпляр, и печатает время:
+ * <pre>
+ * mvn test -Pload -Dtest=RecurrenceGenerationTest -Dload.templates=100000
+ * </pre>
+ */
+@QuarkusTest
+@TestProfile(LoadTestProfile.class)
+@Tag("load")
+public class RecurrenceGenerationTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ScheduledTaskService scheduledTaskService;
+
+    @Test
+    void shouldGenerateEachOccurrenceOnce() throws Exception {
+        int templates = Integer.getInteger("load.templates", 100_000);
+        long minTemplateId = insertMonthlyTemplates(templates);
+
+        ExecutorService replicas = Executors.newFixedThreadPool(2);
+        long start = System.nanoTime();
+        try {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(scheduledTaskService::generateRecurringTasks, replicas),
+                    CompletableFuture.runAsync(scheduledTaskService::generateRecurringTasks, replicas)).join();
+        } finally {
+            replicas.shutdown();
+        }
+        long parallelMs = (System.nanoTime() - start) / 1_000_000;
+
+        // На H2 LIMIT применяется до SKIP LOCKED, и генератор может закончить раньше; повторный прогон добирает остаток
+        start = System.nanoTime();
+        scheduledTaskService.generateRecurringTasks();
+        long rerunMs = (System.nanoTime() - start) / 1_000_000;
+
+        long instances = countInstances(minTemplateId);
+        System.out.printf("%d templates: parallel run %d ms, re-run %d ms, %d instances%n",
+                templates, parallelMs, rerunMs, instances);
+        Assertions.assertEquals(templates, instances);
+    }
+
+    // Ежемесячные правила с началом сегодня: ровно один экземпляр в 14-дневном горизонте
+    private long insertMonthlyTemplates(int count) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement("insert into task_templates"
+                    + " (title, priority, frequency, interval_count, start_date, active) values (?, 'MEDIUM', 'MONTHLY', 1, ?, true)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < count; i++) {
+                    ps.setString(1, "Monthly report " + i);
+                    ps.setDate(2, Date.valueOf(LocalDate.now()));
+                    ps.addBatch();
+                    if ((i + 1) % 5_000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("select min(id) from task_templates where title like 'Monthly report %'")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private long countInstances(long minTemplateId) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("select count(*) from tasks where template_id >= ?")) {
+            ps.setLong(1, minTemplateId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
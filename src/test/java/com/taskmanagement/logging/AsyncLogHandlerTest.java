@@ -0,0 +1,116 @@
+package com.taskmanagement.logging;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.MDC;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+public class AsyncLogHandlerTest {
+
+    private AsyncLogHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        if (handler != null) {
+            handler.close();
+        }
+        MDC.clear();
+    }
+
+    @Test
+    void shouldDeliverRecordsWithMdcCapturedAtCallSite() throws InterruptedException {
+        RecordingHandler target = new RecordingHandler(null);
+        handler = new AsyncLogHandler(16, new Handler[]{target});
+
+        MDC.put("taskId", "42");
+        handler.publish(record(Level.INFO, "Updated task #{0}", 42));
+        MDC.remove("taskId");
+
+        Assertions.assertTrue(target.awaitRecords(1));
+        ExtLogRecord delivered = target.records.get(0);
+        Assertions.assertEquals("42", delivered.getMdc("taskId"));
+        Assertions.assertEquals("Updated task #42", delivered.getFormattedMessage());
+    }
+
+    @Test
+    void shouldDropInfoRecordsAndCountThemWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler target = new RecordingHandler(release);
+        handler = new AsyncLogHandler(2, new Handler[]{target});
+
+        for (int i = 0; i < 20; i++) {
+            handler.publish(record(Level.INFO, "message {0}", i));
+        }
+        release.countDown();
+
+        Assertions.assertTrue(handler.getDroppedCount() > 0);
+        Assertions.assertTrue(target.awaitRecords(20 - (int) handler.getDroppedCount()));
+    }
+
+    @Test
+    void shouldNotDropWarnings() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler target = new RecordingHandler(release);
+        handler = new AsyncLogHandler(1, new Handler[]{target});
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 5; i++) {
+                handler.publish(record(Level.WARNING, "warning {0}", i));
+            }
+        });
+        producer.start();
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(5));
+
+        Assertions.assertTrue(target.awaitRecords(5));
+        Assertions.assertEquals(0, handler.getDroppedCount());
+    }
+
+    private static ExtLogRecord record(Level level, String message, Object parameter) {
+        ExtLogRecord record = new ExtLogRecord(level, message, ExtLogRecord.FormatStyle.MESSAGE_FORMAT,
+                AsyncLogHandlerTest.class.getName());
+        record.setParameters(new Object[]{parameter});
+        return record;
+    }
+
+    /**
+     * Целевой обработчик; при заданной защелке блокирует первую запись, имитируя медленный вывод
+     */
+    private static final class RecordingHandler extends ExtHandler {
+        private final List<ExtLogRecord> records = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void doPublish(ExtLogRecord record) {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            records.add(record);
+        }
+
+        boolean awaitRecords(int expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (records.size() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return records.size() >= expected;
+        }
+    }
+}
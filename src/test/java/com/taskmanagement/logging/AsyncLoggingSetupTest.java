@@ -0,0 +1,33 @@
+package com.taskmanagement.logging;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.jboss.logmanager.LogContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.logging.Handler;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+public class AsyncLoggingSetupTest {
+
+    @Test
+    void shouldWrapRootHandlersWithAsyncHandler() {
+        Handler[] handlers = LogContext.getLogContext().getLogger("").getHandlers();
+
+        Assertions.assertEquals(1, handlers.length);
+        Assertions.assertInstanceOf(AsyncLogHandler.class, handlers[0]);
+    }
+
+    @Test
+    void shouldExposeDroppedEventsMetric() {
+        given()
+                .when()
+                .get("/q/metrics")
+                .then()
+                .statusCode(200)
+                .body(containsString("log_events_dropped"));
+    }
+}
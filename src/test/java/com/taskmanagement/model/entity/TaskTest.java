@@ -52,6 +52,16 @@ public class TaskTest {
         Assertions.assertEquals(expected, result);
     }
 
+    @Test
+    void shouldNotCompleteWithOpenBlockers() {
+        Task task = new Task();
+        task.status = TaskStatus.IN_PROGRESS;
+        task.openBlockers = 1;
+
+        Assertions.assertFalse(task.canTransitionTo(TaskStatus.DONE));
+        Assertions.assertTrue(task.canTransitionTo(TaskStatus.CANCELLED));
+    }
+
     @Test
     void shouldBeUrgentWhenPriorityIsUrgent() {
         Task task = new Task();
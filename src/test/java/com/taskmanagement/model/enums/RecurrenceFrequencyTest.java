@@ -0,0 +1,29 @@
+package com.taskmanagement.model.enums;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+public class RecurrenceFrequencyTest {
+
+    @Test
+    void shouldKeepDayOfMonthAfterShortMonths() {
+        LocalDate start = LocalDate.of(2026, 1, 31);
+
+        Assertions.assertEquals(LocalDate.of(2026, 2, 28), RecurrenceFrequency.MONTHLY.occurrence(start, 1, 1));
+        Assertions.assertEquals(LocalDate.of(2026, 3, 31), RecurrenceFrequency.MONTHLY.occurrence(start, 1, 2));
+    }
+
+    @Test
+    void shouldFindFirstOccurrenceOnOrAfterDate() {
+        LocalDate start = LocalDate.of(2026, 1, 1); // четверг
+
+        Assertions.assertEquals(0, RecurrenceFrequency.WEEKLY.firstIndexOnOrAfter(start, 1, LocalDate.of(2025, 12, 1)));
+        Assertions.assertEquals(1, RecurrenceFrequency.WEEKLY.firstIndexOnOrAfter(start, 1, LocalDate.of(2026, 1, 8)));
+        Assertions.assertEquals(2, RecurrenceFrequency.WEEKLY.firstIndexOnOrAfter(start, 1, LocalDate.of(2026, 1, 9)));
+        // Каждые 3 дня: 1, 4, 7, 10 января
+        long n = RecurrenceFrequency.DAILY.firstIndexOnOrAfter(start, 3, LocalDate.of(2026, 1, 8));
+        Assertions.assertEquals(LocalDate.of(2026, 1, 10), RecurrenceFrequency.DAILY.occurrence(start, 3, n));
+    }
+}
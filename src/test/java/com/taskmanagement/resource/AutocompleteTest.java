@@ -0,0 +1,63 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.taskmanagement.resource.TestData.createTask;
+import static com.taskmanagement.resource.TestData.createUser;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Автодополнение пользователей, категорий и задач из индекса в памяти
+ */
+@QuarkusTest
+public class AutocompleteTest {
+
+    @Test
+    void shouldCompleteWordsOfNamesWithoutQueries() {
+        // Уникальный префикс, чтобы не пересекаться с данными других тестов
+        String word = "ac" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        int userId = createUser("Ivan " + word + "ov", word + "@example.com");
+        given().contentType(ContentType.JSON).body(word + " board").post("/categories").then().statusCode(200);
+        int taskId = createTask("Prepare " + word + " release");
+
+        // Прогрев запроса: индекс мог еще не быть построен
+        given().queryParam("q", word).get("/api/autocomplete").then().statusCode(200);
+        Response response = given()
+                .queryParam("q", word.toUpperCase())
+                .when()
+                .get("/api/autocomplete");
+
+        response.then()
+                .statusCode(200)
+                .body("users.id", contains(userId))
+                .body("users.detail", contains(word + "@example.com"))
+                .body("categories.label", contains(word + " board"))
+                .body("tasks.id", contains(taskId));
+        Assertions.assertEquals("0", response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+
+        given()
+                .queryParam("q", "ivan " + word)
+                .queryParam("type", "USER")
+                .when()
+                .get("/api/autocomplete")
+                .then()
+                .statusCode(200)
+                .body("users.id", contains(userId))
+                .body("tasks", empty());
+    }
+
+    @Test
+    void shouldRejectEmptyQueryAndInvalidLimit() {
+        given().when().get("/api/autocomplete").then().statusCode(400);
+        given().queryParam("q", "a").queryParam("limit", 0).when().get("/api/autocomplete").then().statusCode(400);
+    }
+}
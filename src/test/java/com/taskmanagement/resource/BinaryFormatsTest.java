@@ -0,0 +1,101 @@
+package com.taskmanagement.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Согласование формата: CBOR и Smile по Accept/Content-Type, сжатие по Accept-Encoding
+ */
+@QuarkusTest
+public class BinaryFormatsTest {
+
+    @Test
+    void shouldCreateAndReadTaskInCbor() throws Exception {
+        ObjectMapper cbor = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Binary task");
+        request.setPriority(TaskPriority.HIGH);
+        request.setDueDate(LocalDate.of(2031, 7, 1));
+
+        byte[] created = given()
+                .contentType(BinaryJacksonProvider.APPLICATION_CBOR)
+                .accept(BinaryJacksonProvider.APPLICATION_CBOR)
+                .body(cbor.writeValueAsBytes(request))
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(201)
+                .contentType(BinaryJacksonProvider.APPLICATION_CBOR)
+                .extract()
+                .asByteArray();
+        JsonNode task = cbor.readTree(created);
+        Assertions.assertEquals("Binary task", task.get("title").asText());
+        Assertions.assertEquals("HIGH", task.get("priority").asText());
+
+        byte[] read = given()
+                .accept(BinaryJacksonProvider.APPLICATION_CBOR)
+                .when()
+                .get("/api/tasks/" + task.get("id").asLong())
+                .then()
+                .statusCode(200)
+                .extract()
+                .asByteArray();
+        Assertions.assertEquals("2031-07-01", cbor.readTree(read).get("dueDate").asText());
+    }
+
+    @Test
+    void shouldServeStatisticsInSmileAndJson() throws Exception {
+        byte[] smile = given()
+                .accept(BinaryJacksonProvider.APPLICATION_SMILE)
+                .when()
+                .get("/api/tasks/statistics")
+                .then()
+                .statusCode(200)
+                .contentType(BinaryJacksonProvider.APPLICATION_SMILE)
+                .extract()
+                .asByteArray();
+        String json = given()
+                .accept("application/json")
+                .when()
+                .get("/api/tasks/statistics")
+                .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+
+        Assertions.assertEquals(JsonMapper.builder().build().readTree(json), new SmileMapper().readTree(smile));
+    }
+
+    @Test
+    void shouldRejectMalformedBinaryBodyAndCompressJson() {
+        given()
+                .contentType(BinaryJacksonProvider.APPLICATION_CBOR)
+                .body(new byte[]{(byte) 0xff, 0x01})
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(400);
+
+        given()
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/api/tasks")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"));
+    }
+}
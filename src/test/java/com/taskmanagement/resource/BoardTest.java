@@ -0,0 +1,82 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Доска задач: колонки по статусам, ограничение карточек и сортировка внутри колонки
+ */
+@QuarkusTest
+public class BoardTest {
+
+    @Test
+    void shouldReturnLimitedColumnsInSingleQuery() {
+        long userId = createUser();
+        // LOW и поздняя HIGH в лимит колонки не попадают
+        createTask(userId, TaskPriority.LOW, null);
+        createTask(userId, TaskPriority.HIGH, LocalDate.now().plusDays(5));
+        int urgent = createTask(userId, TaskPriority.URGENT, null);
+        int highSooner = createTask(userId, TaskPriority.HIGH, LocalDate.now().plusDays(1));
+        int started = createTask(userId, TaskPriority.LOW, null);
+        given().pathParam("id", started).queryParam("status", "IN_PROGRESS").put("/api/tasks/{id}/status");
+
+        Response response = given()
+                .queryParam("userId", userId)
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/boards");
+
+        response.then()
+                .statusCode(200)
+                .body("status", contains("TODO", "IN_PROGRESS", "DONE", "CANCELLED", "OVERDUE"))
+                .body("[0].total", equalTo(4))
+                .body("[0].tasks.id", contains(urgent, highSooner))
+                .body("[1].total", equalTo(1))
+                .body("[1].tasks.id", contains(started))
+                .body("[2].total", equalTo(0))
+                .body("[2].tasks", empty());
+
+        int queries = Integer.parseInt(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        Assertions.assertEquals(1, queries, "GET /api/boards issued " + queries + " statements");
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownCategory() {
+        given()
+                .queryParam("category", "missing-" + UUID.randomUUID())
+                .when()
+                .get("/api/boards")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void shouldRejectInvalidLimit() {
+        given().queryParam("limit", 0).when().get("/api/boards").then().statusCode(400);
+        given().queryParam("limit", 101).when().get("/api/boards").then().statusCode(400);
+    }
+
+    private int createTask(long userId, TaskPriority priority, LocalDate dueDate) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(priority + " task");
+        request.setAssigneeId(userId);
+        request.setPriority(priority);
+        request.setDueDate(dueDate);
+        return postTask(request);
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+
+/**
+ * Календарь по срокам: счетчики по дням одним запросом и задачи отдельного дня
+ */
+@QuarkusTest
+public class CalendarTest {
+
+    @Test
+    void shouldCountTasksPerDayInSingleQuery() {
+        long userId = createUser();
+        LocalDate first = LocalDate.now().plusDays(3);
+        LocalDate second = first.plusDays(2);
+        createTask(userId, TaskPriority.LOW, first);
+        int done = createTask(userId, TaskPriority.HIGH, first);
+        createTask(userId, TaskPriority.MEDIUM, second);
+        // За пределами диапазона
+        createTask(userId, TaskPriority.MEDIUM, second.plusDays(1));
+        given().pathParam("id", done).queryParam("status", "IN_PROGRESS").put("/api/tasks/{id}/status");
+        given().pathParam("id", done).queryParam("status", "DONE").put("/api/tasks/{id}/status");
+
+        Response response = given()
+                .queryParam("from", first.toString())
+                .queryParam("to", second.toString())
+                .queryParam("userId", userId)
+                .when()
+                .get("/api/tasks/calendar");
+
+        response.then()
+                .statusCode(200)
+                .body("date", contains(first.toString(), second.toString()))
+                .body("total", contains(2, 1))
+                .body("open", contains(1, 1));
+
+        int queries = Integer.parseInt(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        Assertions.assertEquals(1, queries, "GET /api/tasks/calendar issued " + queries + " statements");
+    }
+
+    @Test
+    void shouldReturnTasksOfOneDayByPriority() {
+        long userId = createUser();
+        LocalDate day = LocalDate.now().plusDays(10);
+        int low = createTask(userId, TaskPriority.LOW, day);
+        int urgent = createTask(userId, TaskPriority.URGENT, day);
+        createTask(userId, TaskPriority.HIGH, day.plusDays(1));
+
+        given()
+                .pathParam("date", day.toString())
+                .queryParam("userId", userId)
+                .when()
+                .get("/api/tasks/calendar/{date}")
+                .then()
+                .statusCode(200)
+                .body("id", contains(urgent, low));
+    }
+
+    @Test
+    void shouldPageTasksOfOneDay() {
+        long userId = createUser();
+        LocalDate day = LocalDate.now().plusDays(12);
+        int low = createTask(userId, TaskPriority.LOW, day);
+        int high = createTask(userId, TaskPriority.HIGH, day);
+        int medium = createTask(userId, TaskPriority.MEDIUM, day);
+
+        given().pathParam("date", day.toString()).queryParam("userId", userId).queryParam("size", 2)
+                .when().get("/api/tasks/calendar/{date}")
+                .then().statusCode(200).body("id", contains(high, medium));
+        given().pathParam("date", day.toString()).queryParam("userId", userId)
+                .queryParam("page", 1).queryParam("size", 2)
+                .when().get("/api/tasks/calendar/{date}")
+                .then().statusCode(200).body("id", contains(low));
+        given().pathParam("date", day.toString()).queryParam("size", 0)
+                .when().get("/api/tasks/calendar/{date}").then().statusCode(400);
+    }
+
+    @Test
+    void shouldRejectInvalidRange() {
+        LocalDate today = LocalDate.now();
+        given().when().get("/api/tasks/calendar").then().statusCode(400);
+        given().queryParam("from", "yesterday").queryParam("to", today.toString())
+                .when().get("/api/tasks/calendar").then().statusCode(400);
+        given().queryParam("from", today.toString()).queryParam("to", today.minusDays(1).toString())
+                .when().get("/api/tasks/calendar").then().statusCode(400);
+        given().queryParam("from", today.toString()).queryParam("to", today.plusYears(2).toString())
+                .when().get("/api/tasks/calendar").then().statusCode(400);
+        given().pathParam("date", "31-01-2026").when().get("/api/tasks/calendar/{date}").then().statusCode(400);
+    }
+
+    private int createTask(long userId, TaskPriority priority, LocalDate dueDate) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(priority + " task");
+        request.setAssigneeId(userId);
+        request.setPriority(priority);
+        request.setDueDate(dueDate);
+        return postTask(request);
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Компактный список задач: ссылки на исполнителя по id и один экземпляр пользователя в included
+ */
+@QuarkusTest
+public class CompactTaskListTest {
+
+    @Test
+    void shouldSideLoadSharedAssigneeOnce() {
+        // Отдельная дата, чтобы в выборку не попали задачи других тестов
+        LocalDate day = LocalDate.of(2031, 3, 17);
+        int userId = createUser();
+        int first = createTask("Compact first", userId, day);
+        int second = createTask("Compact second", userId, day);
+
+        given()
+                .queryParam("compact", true)
+                .when()
+                .get("/api/tasks/calendar/" + day)
+                .then()
+                .statusCode(200)
+                .body("tasks.id", contains(first, second))
+                .body("tasks.assigneeId", everyItem(equalTo(userId)))
+                .body("tasks", everyItem(not(hasKey("assignee"))))
+                .body("included.users", aMapWithSize(1))
+                .body("included.users." + userId + ".id", equalTo(userId));
+
+        String full = given().when().get("/api/tasks/calendar/" + day).then().statusCode(200).extract().asString();
+        String compact = given().queryParam("compact", true).when().get("/api/tasks/calendar/" + day)
+                .then().statusCode(200).extract().asString();
+        Assertions.assertTrue(compact.length() < full.length(),
+                "compact " + compact.length() + " bytes, full " + full.length() + " bytes");
+    }
+
+    private int createTask(String title, int userId, LocalDate dueDate) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setAssigneeId((long) userId);
+        request.setDueDate(dueDate);
+        return postTask(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.taskmanagement.resource.TestData.createTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.emptyOrNullString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Условный GET: 304 без тела при совпадении ETag / Last-Modified, новый ETag после изменения
+ */
+@QuarkusTest
+public class ConditionalGetTest {
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedTask() {
+        int taskId = createTask("Conditional");
+
+        Response first = given().pathParam("id", taskId).when().get("/api/tasks/{id}");
+        first.then().statusCode(200).header("ETag", not(emptyOrNullString()));
+        String etag = first.getHeader("ETag");
+        String lastModified = first.getHeader("Last-Modified");
+
+        given()
+                .pathParam("id", taskId)
+                .header("If-None-Match", etag)
+                .when()
+                .get("/api/tasks/{id}")
+                .then()
+                .statusCode(304)
+                .body(emptyOrNullString());
+        given()
+                .pathParam("id", taskId)
+                .header("If-Modified-Since", lastModified)
+                .when()
+                .get("/api/tasks/{id}")
+                .then()
+                .statusCode(304);
+
+        given().pathParam("id", taskId).queryParam("priority", "HIGH").put("/api/tasks/{id}/priority")
+                .then().statusCode(200);
+
+        Response changed = given().pathParam("id", taskId).header("If-None-Match", etag).when().get("/api/tasks/{id}");
+        changed.then().statusCode(200);
+        Assertions.assertNotEquals(etag, changed.getHeader("ETag"));
+    }
+
+    @Test
+    void shouldSkipListQueryWhenNothingChanged() {
+        createTask("Conditional list");
+        String etag = given().when().get("/api/tasks").then().statusCode(200).extract().header("ETag");
+        // Другое представление того же списка - другой тег
+        String sparseEtag = given().queryParam("fields", "id").when().get("/api/tasks")
+                .then().statusCode(200).extract().header("ETag");
+        Assertions.assertNotEquals(etag, sparseEtag);
+
+        Response notModified = given().header("If-None-Match", etag).when().get("/api/tasks");
+        notModified.then().statusCode(304);
+        // Только запрос версии, сами задачи не выбираются
+        Assertions.assertEquals("1", notModified.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+
+        createTask("Conditional list change");
+        given().header("If-None-Match", etag).when().get("/api/tasks").then().statusCode(200);
+    }
+
+    @Test
+    void shouldRevalidateStatistics() {
+        String etag = given().when().get("/api/tasks/statistics").then().statusCode(200).extract().header("ETag");
+
+        given().header("If-None-Match", etag).when().get("/api/tasks/statistics").then().statusCode(304);
+        createTask("Conditional statistics");
+        given().header("If-None-Match", etag).when().get("/api/tasks/statistics").then().statusCode(200);
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.IdsRequest;
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.taskmanagement.resource.TestData.createTask;
+import static com.taskmanagement.resource.TestData.createUser;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Multi-get задач и пользователей: один запрос в БД, порядок запроса и список отсутствующих id
+ */
+@QuarkusTest
+public class MultiGetTest {
+
+    private static final long MISSING_ID = 999_999_999L;
+
+    @Test
+    void shouldGetTasksInRequestedOrderWithSingleQuery() {
+        int first = createTask("First");
+        int second = createTask("Second");
+        int third = createTask("Third");
+
+        Response response = given()
+                .queryParam("ids", third + "," + MISSING_ID + "," + first + "," + third)
+                .when()
+                .get("/api/tasks");
+
+        response.then()
+                .statusCode(200)
+                .body("items.id", contains(third, first))
+                .body("missing", contains((int) MISSING_ID));
+        int queries = Integer.parseInt(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        Assertions.assertEquals(1, queries, "GET /api/tasks?ids= issued " + queries + " statements");
+
+        IdsRequest request = new IdsRequest();
+        request.setIds(List.of((long) second, (long) first));
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/tasks/_mget")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(second, first))
+                .body("missing", empty());
+    }
+
+    @Test
+    void shouldGetUsersInRequestedOrder() {
+        int first = createUser();
+        int second = createUser();
+
+        given()
+                .queryParam("ids", second + ", " + first + "," + MISSING_ID)
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(second, first))
+                .body("missing", contains((int) MISSING_ID));
+
+        IdsRequest request = new IdsRequest();
+        request.setIds(List.of((long) first));
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/users/_mget")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(first));
+    }
+
+    @Test
+    void shouldRejectInvalidIdLists() {
+        given().queryParam("ids", "1,abc").when().get("/api/tasks").then().statusCode(400);
+        given().queryParam("ids", "").when().get("/api/users").then().statusCode(400);
+        given().contentType(ContentType.JSON).body("{}").when().post("/api/tasks/_mget").then().statusCode(400);
+
+        IdsRequest tooMany = new IdsRequest();
+        tooMany.setIds(LongStream.rangeClosed(1, 501).boxed().toList());
+        given().contentType(ContentType.JSON).body(tooMany).when().post("/api/users/_mget").then().statusCode(400);
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Фиксирует бюджет SQL-запросов для основных эндпоинтов (по заголовку X-Query-Count)
+ */
+@QuarkusTest
+public class QueryBudgetTest {
+
+    @Test
+    void shouldExposeQueryStatsHeaders() {
+        Response response = given()
+                .when()
+                .get("/api/tasks")
+                .then()
+                .statusCode(200)
+                .extract()
+                .response();
+
+        Assertions.assertNotNull(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        Assertions.assertNotNull(response.getHeader(QueryStatsFilter.QUERY_TIME_HEADER));
+        Assertions.assertNotNull(response.getHeader(QueryStatsFilter.ENTITIES_LOADED_HEADER));
+    }
+
+    @Test
+    void shouldGetTaskByIdWithinBudget() {
+        int taskId = createTask(createUser());
+
+        int queries = queryCount(given().pathParam("id", taskId).when().get("/api/tasks/{id}"));
+
+        Assertions.assertTrue(queries <= 1, "GET /api/tasks/{id} issued " + queries + " statements");
+    }
+
+    @Test
+    void shouldCreateAndAssignTaskWithinBudget() {
+        long userId = createUser();
+
+        Response created = given()
+                .contentType(ContentType.JSON)
+                .body(taskRequest(userId))
+                .when()
+                .post("/api/tasks");
+        int createQueries = queryCount(created);
+        int taskId = created.then().statusCode(201).extract().path("id");
+
+        int assignQueries = queryCount(given()
+                .pathParam("id", taskId)
+                .queryParam("userId", createUser())
+                .when()
+                .put("/api/tasks/{id}/assign"));
+
+        // +1 оператор на атомарное обновление счетчика активных задач исполнителя, +1 на запись в журнал task_events,
+        // +1 на счетчик изменений для ETag списков (ChangeCounter)
+        Assertions.assertTrue(createQueries <= 5, "POST /api/tasks issued " + createQueries + " statements");
+        Assertions.assertTrue(assignQueries <= 6, "PUT /api/tasks/{id}/assign issued " + assignQueries + " statements");
+    }
+
+    @Test
+    void shouldGetUserStatisticsWithinBudget() {
+        long userId = createUser();
+        createTask(userId);
+        createTask(userId);
+
+        int queries = queryCount(given().pathParam("id", userId).when().get("/api/users/{id}/statistics"));
+
+        // пользователь, его задачи и недельные итоги учета времени
+        Assertions.assertTrue(queries <= 3, "GET /api/users/{id}/statistics issued " + queries + " statements");
+    }
+
+    @Test
+    void shouldNotIssueQueryPerAssigneeWhenListingTasks() {
+        int before = queryCount(given().when().get("/api/tasks"));
+
+        // Задачи с разными исполнителями не должны давать отдельный запрос на каждого (N+1)
+        for (int i = 0; i < 20; i++) {
+            createTask(createUser());
+        }
+
+        int after = queryCount(given().when().get("/api/tasks"));
+
+        // Допускаем только пакетную догрузку исполнителей (batch fetch)
+        Assertions.assertTrue(after - before <= 2,
+                "GET /api/tasks grew from " + before + " to " + after + " statements");
+    }
+
+    @Test
+    void shouldListUsersWithActiveTaskCountInSingleQuery() {
+        long userId = createUser();
+        createTask(userId);
+        int doneTaskId = createTask(userId);
+        given().pathParam("id", doneTaskId).queryParam("status", "IN_PROGRESS").put("/api/tasks/{id}/status");
+        given().pathParam("id", doneTaskId).queryParam("status", "DONE").put("/api/tasks/{id}/status");
+
+        given()
+                .pathParam("id", userId)
+                .when()
+                .get("/api/users/{id}")
+                .then()
+                .statusCode(200)
+                .body("activeTaskCount", equalTo(1));
+
+        int queries = queryCount(given().when().get("/api/users"));
+
+        Assertions.assertTrue(queries <= 1, "GET /api/users issued " + queries + " statements");
+    }
+
+    private int queryCount(Response response) {
+        return Integer.parseInt(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+    }
+
+    private int createTask(long userId) {
+        return postTask(taskRequest(userId));
+    }
+
+    private TaskCreateRequest taskRequest(long userId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Budget Task");
+        request.setAssigneeId(userId);
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.monitoring.QueryStatsFilter;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Sparse fieldsets: в ответе только запрошенные поля, выборка - один запрос без join (плюс версия для ETag)
+ */
+@QuarkusTest
+public class SparseFieldsTest {
+
+    @Test
+    void shouldReturnOnlyRequestedFields() {
+        int userId = createUser();
+        int first = createTask("Sparse first", userId);
+        int second = createTask("Sparse second", userId);
+
+        Response response = given()
+                .queryParam("userId", userId)
+                .queryParam("fields", "id, title,status,dueDate,assigneeId,title")
+                .when()
+                .get("/api/tasks");
+
+        response.then()
+                .statusCode(200)
+                .body("id", contains(first, second))
+                .body("title", contains("Sparse first", "Sparse second"))
+                .body("[0].status", equalTo("TODO"))
+                .body("[0].dueDate", equalTo("2031-05-20"))
+                .body("[0].assigneeId", equalTo(userId));
+        Map<String, Object> task = response.jsonPath().getMap("[0]");
+        Assertions.assertEquals(Set.of("id", "title", "status", "dueDate", "assigneeId"), task.keySet());
+        int queries = Integer.parseInt(response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        // версия списка для ETag и сама выборка полей
+        Assertions.assertEquals(2, queries, "GET /api/tasks?fields= issued " + queries + " statements");
+
+        given()
+                .queryParam("fields", "title")
+                .when()
+                .get("/api/tasks/" + second)
+                .then()
+                .statusCode(200)
+                .body("title", equalTo("Sparse second"))
+                .body("size()", equalTo(1));
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsAndMissingTask() {
+        given().queryParam("fields", "id,assignee").when().get("/api/tasks").then().statusCode(400);
+        given().queryParam("fields", "").when().get("/api/tasks/1").then().statusCode(400);
+        given().queryParam("fields", "id").when().get("/api/tasks/999999999").then().statusCode(404);
+    }
+
+    private int createTask(String title, int userId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setDescription("Long description nobody reads in lists");
+        request.setAssigneeId((long) userId);
+        request.setDueDate(LocalDate.of(2031, 5, 20));
+        return postTask(request);
+    }
+}
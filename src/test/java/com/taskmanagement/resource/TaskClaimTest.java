@@ -0,0 +1,140 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.enums.TaskPriority;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.taskmanagement.resource.TestData.createCategory;
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Взятие задач в работу: порядок выбора и отсутствие двойного назначения при параллельных вызовах
+ */
+@QuarkusTest
+public class TaskClaimTest {
+
+    @Test
+    void shouldClaimHighestPriorityEarliestDueTask() {
+        String category = createCategory("claim");
+        long categoryId = categoryId(category);
+        long userId = createUser();
+
+        createTask(categoryId, TaskPriority.LOW, LocalDate.now().plusDays(1));
+        int later = createTask(categoryId, TaskPriority.URGENT, LocalDate.now().plusDays(5));
+        int sooner = createTask(categoryId, TaskPriority.URGENT, LocalDate.now().plusDays(2));
+
+        claim(userId, category)
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(sooner))
+                .body("status", equalTo("IN_PROGRESS"))
+                .body("assignee.id", equalTo((int) userId));
+
+        claim(userId, category).then().statusCode(200).body("id", equalTo(later));
+    }
+
+    @Test
+    void shouldNotClaimSameTaskTwiceUnderConcurrency() throws Exception {
+        String category = createCategory("claim");
+        long categoryId = categoryId(category);
+        int taskCount = 40;
+        for (int i = 0; i < taskCount; i++) {
+            createTask(categoryId, TaskPriority.values()[i % TaskPriority.values().length], null);
+        }
+        long userId = createUser();
+
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                while (true) {
+                    Response response = claim(userId, category);
+                    if (response.statusCode() == 204) {
+                        return;
+                    }
+                    Assertions.assertEquals(200, response.statusCode(), response.asString());
+                    if (!claimed.add(response.path("id"))) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(0, duplicates.get());
+        Assertions.assertEquals(taskCount, claimed.size());
+    }
+
+    @Test
+    void shouldNotClaimTaskAssignedToSomeoneElse() {
+        String category = createCategory("claim");
+        long owner = createUser();
+        int assigned = createTask(categoryId(category), TaskPriority.URGENT, null);
+        given().pathParam("id", assigned).queryParam("userId", owner).put("/api/tasks/{id}/assign")
+                .then().statusCode(200);
+
+        claim(createUser(), category).then().statusCode(204);
+
+        given().when().get("/api/tasks/" + assigned).then()
+                .body("status", equalTo("TODO"))
+                .body("assignee.id", equalTo((int) owner));
+    }
+
+    @Test
+    void shouldRequireUserId() {
+        given()
+                .when()
+                .post("/api/tasks/claim")
+                .then()
+                .statusCode(400);
+    }
+
+    private Response claim(long userId, String category) {
+        return given()
+                .queryParam("userId", userId)
+                .queryParam("category", category)
+                .when()
+                .post("/api/tasks/claim");
+    }
+
+    private long categoryId(String name) {
+        int id = given()
+                .when()
+                .get("/categories")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("find { it.name == '" + name + "' }.id");
+        return id;
+    }
+
+    private int createTask(long categoryId, TaskPriority priority, LocalDate dueDate) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Claimable task");
+        request.setCategoryId(categoryId);
+        request.setPriority(priority);
+        request.setDueDate(dueDate);
+        return postTask(request);
+    }
+}
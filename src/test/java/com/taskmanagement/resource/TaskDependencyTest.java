@@ -0,0 +1,157 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Зависимости задач: блокировки, циклы, транзитивные зависимые, критический путь и подзадачи
+ */
+@QuarkusTest
+public class TaskDependencyTest {
+
+    @Test
+    void shouldTrackBlockersAndRejectCycles() {
+        int a = createTask("A", 4, null);
+        int b = createTask("B", 2, null);
+        int c = createTask("C", 1, null);
+
+        addBlocker(b, a).then().statusCode(204);
+        addBlocker(c, b).then().statusCode(204);
+
+        // A <- C замкнул бы цикл A -> B -> C -> A
+        addBlocker(a, c).then().statusCode(409).body(containsString("cycle"));
+        addBlocker(a, a).then().statusCode(409);
+
+        given().pathParam("id", a).when().get("/api/tasks/{id}/dependents")
+                .then()
+                .statusCode(200)
+                .body("id", contains(b, c));
+
+        given().pathParam("id", c).when().get("/api/tasks/{id}/blockers")
+                .then()
+                .statusCode(200)
+                .body("id", contains(b));
+    }
+
+    @Test
+    void shouldRejectCycleClosedByConcurrentEdges() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 10; round++) {
+                int a = createTask("A" + round, null, null);
+                int b = createTask("B" + round, null, null);
+                // Встречные ребра стартуют одновременно: проверка цикла каждого не должна пропустить другое
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> results = new ArrayList<>();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return addBlocker(a, b).statusCode();
+                }));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return addBlocker(b, a).statusCode();
+                }));
+                start.countDown();
+
+                int created = 0;
+                for (Future<Integer> result : results) {
+                    int status = result.get();
+                    if (status == 204) {
+                        created++;
+                    } else {
+                        assertEquals(409, status);
+                    }
+                }
+                assertEquals(1, created, "Exactly one of the opposite edges must be added");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotCompleteTaskWithOpenBlockers() {
+        int blocker = createTask("Blocker", null, null);
+        int blocked = createTask("Blocked", null, null);
+        addBlocker(blocked, blocker).then().statusCode(204);
+
+        setStatus(blocked, "IN_PROGRESS").then().statusCode(200);
+        setStatus(blocked, "DONE").then().statusCode(409).body(containsString("open blockers"));
+
+        setStatus(blocker, "IN_PROGRESS").then().statusCode(200);
+        setStatus(blocker, "DONE").then().statusCode(200);
+        setStatus(blocked, "DONE").then().statusCode(200);
+    }
+
+    @Test
+    void shouldComputeCriticalPathByEstimatedHours() {
+        int design = createTask("Design", 8, null);
+        int backend = createTask("Backend", 16, null);
+        int frontend = createTask("Frontend", 4, null);
+        int release = createTask("Release", 1, null);
+        addBlocker(backend, design);
+        addBlocker(frontend, design);
+        addBlocker(release, backend);
+        addBlocker(release, frontend);
+
+        given().pathParam("id", release).when().get("/api/tasks/{id}/critical-path")
+                .then()
+                .statusCode(200)
+                .body("taskIds", contains(design, backend, release))
+                .body("totalHours", equalTo(25));
+    }
+
+    @Test
+    void shouldListSubtasksAndBlockParentCompletion() {
+        int parent = createTask("Parent", null, null);
+        int child = createTask("Child", null, parent);
+
+        given().pathParam("id", parent).when().get("/api/tasks/{id}/subtasks")
+                .then()
+                .statusCode(200)
+                .body("id", contains(child));
+
+        setStatus(parent, "IN_PROGRESS").then().statusCode(200);
+        setStatus(parent, "DONE").then().statusCode(409);
+    }
+
+    private Response addBlocker(int taskId, int blockerId) {
+        return given()
+                .pathParam("id", taskId)
+                .pathParam("blockerId", blockerId)
+                .when()
+                .put("/api/tasks/{id}/blockers/{blockerId}");
+    }
+
+    private Response setStatus(int taskId, String status) {
+        return given()
+                .pathParam("id", taskId)
+                .queryParam("status", status)
+                .when()
+                .put("/api/tasks/{id}/status");
+    }
+
+    private int createTask(String title, Integer estimatedHours, Integer parentId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setEstimatedHours(estimatedHours);
+        request.setParentId(parentId != null ? parentId.longValue() : null);
+        return postTask(request);
+    }
+}
@@ -0,0 +1,136 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.audit.ActorFilter;
+import com.taskmanagement.audit.TaskHistoryService;
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.dto.TaskStateAsOf;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Журнал изменений задачи: история по полям и восстановление состояния на момент времени
+ */
+@QuarkusTest
+public class TaskHistoryTest {
+
+    @Inject
+    TaskHistoryService historyService;
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    void shouldRecordWhoChangedWhat() throws InterruptedException {
+        int taskId = createTask();
+        setStatus(taskId, "IN_PROGRESS", "alice");
+        given().header(ActorFilter.ACTOR_HEADER, "bob")
+                .pathParam("id", taskId).queryParam("priority", "URGENT")
+                .put("/api/tasks/{id}/priority").then().statusCode(200);
+
+        given().pathParam("id", taskId).when().get("/api/tasks/{id}/history")
+                .then()
+                .statusCode(200)
+                .body("type", contains("CREATED", "UPDATED", "UPDATED"))
+                .body("actor", contains("creator", "alice", "bob"))
+                .body("[1].changed", contains("status"))
+                .body("[1].status", equalTo("IN_PROGRESS"))
+                .body("[2].changed", contains("priority"))
+                .body("[2].priority", equalTo("URGENT"));
+    }
+
+    @Test
+    void shouldRebuildStateAsOfTimestamp() throws InterruptedException {
+        int taskId = createTask();
+        Thread.sleep(5);
+        LocalDateTime afterCreate = LocalDateTime.now();
+        Thread.sleep(5);
+        setStatus(taskId, "IN_PROGRESS", "alice");
+        Thread.sleep(5);
+        LocalDateTime afterStart = LocalDateTime.now();
+        Thread.sleep(5);
+        given().pathParam("id", taskId).when().delete("/api/tasks/{id}").then().statusCode(204);
+
+        state(taskId, afterCreate)
+                .body("exists", equalTo(true))
+                .body("status", equalTo("TODO"))
+                .body("changedBy", equalTo("creator"));
+        state(taskId, afterStart)
+                .body("status", equalTo("IN_PROGRESS"))
+                .body("changedBy", equalTo("alice"));
+        state(taskId, LocalDateTime.now())
+                .body("exists", equalTo(false));
+
+        given().pathParam("id", taskId).queryParam("at", "2000-01-01T00:00:00")
+                .when().get("/api/tasks/{id}/state").then().statusCode(404);
+        given().pathParam("id", taskId).queryParam("at", "yesterday")
+                .when().get("/api/tasks/{id}/state").then().statusCode(400);
+    }
+
+    @Test
+    void shouldReplayFromSnapshot() throws InterruptedException {
+        int taskId = createTask();
+        for (String status : new String[]{"IN_PROGRESS", "TODO", "IN_PROGRESS"}) {
+            setStatus(taskId, status, "alice");
+        }
+        Thread.sleep(5);
+        // В тестах снимок пишется без задержки и уже после двух изменений
+        Assertions.assertTrue(historyService.writeSnapshots() >= 1);
+        // Повторный прогон начинается с последнего снимка в журнале и задачу второй раз не снимает
+        historyService.writeSnapshots();
+        Thread.sleep(5);
+        setStatus(taskId, "DONE", "bob");
+
+        long snapshots = ((Number) em.createNativeQuery(
+                        "select count(*) from task_events where task_id = :id and event_type = 4")
+                .setParameter("id", taskId)
+                .getSingleResult()).longValue();
+        Assertions.assertEquals(1, snapshots);
+
+        TaskStateAsOf state = historyService.getStateAsOf(taskId, LocalDateTime.now());
+        Assertions.assertEquals("DONE", state.getStatus().name());
+        Assertions.assertEquals("bob", state.getChangedBy());
+        Assertions.assertEquals("MEDIUM", state.getPriority().name());
+    }
+
+    private ValidatableResponse state(int taskId, LocalDateTime at) {
+        return given().pathParam("id", taskId).queryParam("at", at.toString())
+                .when().get("/api/tasks/{id}/state")
+                .then()
+                .statusCode(200);
+    }
+
+    private void setStatus(int taskId, String status, String actor) throws InterruptedException {
+        // Метки времени в журнале с точностью до микросекунд, разводим соседние изменения
+        Thread.sleep(2);
+        given().header(ActorFilter.ACTOR_HEADER, actor)
+                .pathParam("id", taskId).queryParam("status", status)
+                .when().put("/api/tasks/{id}/status")
+                .then().statusCode(200);
+    }
+
+    private int createTask() {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Audited");
+        return given()
+                .header(ActorFilter.ACTOR_HEADER, "creator")
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
@@ -10,6 +10,7 @@ import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -349,4 +350,94 @@ public class TaskResourceTest {
                 .statusCode(200)
                 .body("size()", greaterThanOrEqualTo(3));
     }
+
+    @Test
+    @Order(18)
+    @DisplayName("Should auto-assign task to user working in the category")
+    void shouldAutoAssignWithinCategory() {
+        String categoryName = "auto-assign-" + UUID.randomUUID();
+        given()
+                .contentType(ContentType.JSON)
+                .body(categoryName)
+                .when()
+                .post("/categories")
+                .then()
+                .statusCode(200);
+        int categoryId = given()
+                .when()
+                .get("/categories")
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("find { it.name == '" + categoryName + "' }.id");
+
+        UserCreateDto user = new UserCreateDto();
+        user.setName("Category Expert");
+        user.setEmail("expert-" + UUID.randomUUID() + "@example.com");
+        int expertId = given()
+                .contentType(ContentType.JSON)
+                .body(user)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        TaskCreateRequest first = new TaskCreateRequest();
+        first.setTitle("Category task");
+        first.setCategoryId((long) categoryId);
+        first.setAssigneeId((long) expertId);
+        given().contentType(ContentType.JSON).body(first).when().post("/api/tasks").then().statusCode(201);
+
+        TaskCreateRequest second = new TaskCreateRequest();
+        second.setTitle("Unassigned category task");
+        second.setCategoryId((long) categoryId);
+        int taskId = given()
+                .contentType(ContentType.JSON)
+                .body(second)
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        given()
+                .pathParam("id", taskId)
+                .queryParam("categoryId", categoryId)
+                .when()
+                .post("/api/tasks/{id}/auto-assign")
+                .then()
+                .statusCode(200)
+                .body("assignee.id", equalTo(expertId));
+    }
+
+    @Test
+    @Order(19)
+    void shouldAutoAssignOnCreate() {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Auto-assigned task");
+        request.setAutoAssign(true);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(201)
+                .body("assignee.id", notNullValue());
+    }
+
+    @Test
+    @Order(20)
+    void shouldReturn404WhenAutoAssigningMissingTask() {
+        given()
+                .pathParam("id", 999999)
+                .when()
+                .post("/api/tasks/{id}/auto-assign")
+                .then()
+                .statusCode(404);
+    }
 }
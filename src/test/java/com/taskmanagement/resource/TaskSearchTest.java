@@ -0,0 +1,74 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Полнотекстовый поиск по заголовку и описанию: ранжирование, фильтры и подсветка
+ */
+@QuarkusTest
+public class TaskSearchTest {
+
+    @Test
+    void shouldRankTitleMatchesFirstAndHighlight() {
+        // Уникальное слово, чтобы не пересекаться с задачами других тестов
+        String word = "w" + UUID.randomUUID().toString().replace("-", "");
+        long userId = createUser();
+
+        int inDescription = createTask("Refactor module", "Split " + word + " into <parts>", null);
+        int inTitle = createTask("Migrate " + word, "Move data", userId);
+        createTask("Unrelated", "Nothing to see", userId);
+
+        given()
+                .queryParam("q", word.toUpperCase())
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(2))
+                .body("items.task.id", contains(inTitle, inDescription))
+                .body("items[0].title", equalTo("Migrate <em>" + word + "</em>"))
+                .body("items[1].snippet", equalTo("Split <em>" + word + "</em> into &lt;parts&gt;"));
+
+        given()
+                .queryParam("q", word)
+                .queryParam("userId", userId)
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(1))
+                .body("items.task.id", contains(inTitle));
+
+        given()
+                .queryParam("q", word + " move")
+                .queryParam("status", "TODO")
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("items.task.id", contains(inTitle));
+    }
+
+    @Test
+    void shouldRejectQueryWithoutWords() {
+        given().queryParam("q", "a !").when().get("/api/tasks/search").then().statusCode(400);
+    }
+
+    private int createTask(String title, String description, Long userId) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setAssigneeId(userId);
+        return postTask(request);
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Метки задач и поиск по ним через битовый индекс
+ */
+@QuarkusTest
+public class TaskTagTest {
+
+    @Test
+    void shouldSearchByTagsStatusAndExcludedTags() {
+        // Уникальные метки, чтобы не пересекаться с задачами других тестов
+        String api = "api-" + UUID.randomUUID();
+        String urgent = "urgent-" + UUID.randomUUID();
+
+        int first = createTask("First", List.of(api));
+        int second = createTask("Second", List.of(api, urgent));
+        int third = createTask("Third", List.of(api.toUpperCase()));
+        given().pathParam("id", third).queryParam("status", "IN_PROGRESS").put("/api/tasks/{id}/status");
+
+        given()
+                .queryParam("tag", api)
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(3))
+                .body("items.id", contains(third, second, first));
+
+        given()
+                .queryParam("tag", api)
+                .queryParam("excludeTag", urgent)
+                .queryParam("status", "TODO")
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(1))
+                .body("items.id", contains(first));
+
+        given()
+                .queryParam("tag", api)
+                .queryParam("page", 1)
+                .queryParam("size", 2)
+                .when()
+                .get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(3))
+                .body("items.id", contains(first));
+    }
+
+    @Test
+    void shouldAddAndRemoveTags() {
+        String tag = "tag-" + UUID.randomUUID();
+        int taskId = createTask("Tagged", List.of());
+
+        given().pathParam("id", taskId).pathParam("tag", tag)
+                .when().put("/api/tasks/{id}/tags/{tag}")
+                .then().statusCode(204);
+
+        given().pathParam("id", taskId).when().get("/api/tasks/{id}/tags")
+                .then()
+                .statusCode(200)
+                .body("name", contains(tag));
+        given().queryParam("tag", tag).when().get("/api/tasks/search")
+                .then()
+                .body("items.id", contains(taskId));
+
+        given().pathParam("id", taskId).pathParam("tag", tag)
+                .when().delete("/api/tasks/{id}/tags/{tag}")
+                .then().statusCode(204);
+
+        given().queryParam("tag", tag).when().get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(0))
+                .body("items", empty());
+    }
+
+    @Test
+    void shouldDropDeletedTaskFromIndex() {
+        String tag = "deleted-" + UUID.randomUUID();
+        int taskId = createTask("To delete", List.of(tag));
+
+        given().pathParam("id", taskId).when().delete("/api/tasks/{id}").then().statusCode(204);
+
+        given().queryParam("tag", tag).when().get("/api/tasks/search")
+                .then()
+                .statusCode(200)
+                .body("total", equalTo(0));
+    }
+
+    @Test
+    void shouldRejectInvalidPage() {
+        given().queryParam("size", 0).when().get("/api/tasks/search").then().statusCode(400);
+        given().queryParam("size", 2_000_000_000).when().get("/api/tasks/search").then().statusCode(400);
+    }
+
+    private int createTask(String title, List<String> tags) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        request.setTags(tags);
+        return postTask(request);
+    }
+}
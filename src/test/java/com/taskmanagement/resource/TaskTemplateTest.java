@@ -0,0 +1,105 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskTemplateRequest;
+import com.taskmanagement.model.enums.RecurrenceFrequency;
+import com.taskmanagement.service.ScheduledTaskService;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Шаблоны повторяющихся задач: генерация экземпляров на горизонт и идемпотентность повторного запуска
+ */
+@QuarkusTest
+public class TaskTemplateTest {
+
+    @Inject
+    ScheduledTaskService scheduledTaskService;
+
+    @Inject
+    EntityManager em;
+
+    @Test
+    void shouldGenerateInstancesOnceUpToHorizon() {
+        long userId = createUser();
+        int daily = createTemplate(RecurrenceFrequency.DAILY, 1, LocalDate.now(), null, userId);
+        int weekly = createTemplate(RecurrenceFrequency.WEEKLY, 1, LocalDate.now().minusDays(3), null, null);
+        int ending = createTemplate(RecurrenceFrequency.DAILY, 2, LocalDate.now(), LocalDate.now().plusDays(4), null);
+
+        scheduledTaskService.generateRecurringTasks();
+        scheduledTaskService.generateRecurringTasks();
+
+        // Горизонт 14 дней включая сегодня; прошедшие даты не догоняются
+        Assertions.assertEquals(15, instances(daily));
+        Assertions.assertEquals(2, instances(weekly));
+        Assertions.assertEquals(3, instances(ending));
+
+        given().pathParam("id", userId).when().get("/api/users/{id}")
+                .then()
+                .statusCode(200)
+                .body("activeTaskCount", equalTo(15));
+
+        Number firstInstance = (Number) em.createQuery(
+                        "select min(t.id) from Task t where t.templateId = :templateId")
+                .setParameter("templateId", (long) daily)
+                .getSingleResult();
+        given().pathParam("id", firstInstance.longValue()).when().get("/api/tasks/{id}/history")
+                .then()
+                .statusCode(200)
+                .body("[0].type", equalTo("CREATED"))
+                .body("[0].actor", equalTo("system"));
+    }
+
+    @Test
+    void shouldStopGeneratingForDeactivatedTemplate() {
+        int templateId = createTemplate(RecurrenceFrequency.DAILY, 1, LocalDate.now().plusDays(30), null, null);
+        given().pathParam("id", templateId).when().delete("/api/templates/{id}").then().statusCode(204);
+
+        scheduledTaskService.generateRecurringTasks();
+
+        Assertions.assertEquals(0, instances(templateId));
+    }
+
+    @Test
+    void shouldRejectTemplateWithoutFrequency() {
+        TaskTemplateRequest request = new TaskTemplateRequest();
+        request.setTitle("No frequency");
+        given().contentType(ContentType.JSON).body(request)
+                .when().post("/api/templates")
+                .then().statusCode(400);
+    }
+
+    private long instances(int templateId) {
+        return em.createQuery("select count(t) from Task t where t.templateId = :templateId", Long.class)
+                .setParameter("templateId", (long) templateId)
+                .getSingleResult();
+    }
+
+    private int createTemplate(RecurrenceFrequency frequency, int interval, LocalDate start, LocalDate end, Long assigneeId) {
+        TaskTemplateRequest request = new TaskTemplateRequest();
+        request.setTitle(frequency + " check");
+        request.setFrequency(frequency);
+        request.setInterval(interval);
+        request.setStartDate(start);
+        request.setEndDate(end);
+        request.setAssigneeId(assigneeId);
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/templates")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
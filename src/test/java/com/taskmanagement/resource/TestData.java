@@ -0,0 +1,69 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.dto.UserCreateDto;
+import io.restassured.http.ContentType;
+
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Общая подготовка данных REST-тестов: пользователи, категории и задачи создаются через API.
+ * Почта и имена категорий уникальны, поэтому тесты не зависят от того, что уже лежит в общей БД.
+ */
+final class TestData {
+
+    private TestData() {
+    }
+
+    static int createUser() {
+        return createUser("Test User", "user-" + UUID.randomUUID() + "@example.com");
+    }
+
+    static int createUser(String name, String email) {
+        UserCreateDto user = new UserCreateDto();
+        user.setName(name);
+        user.setEmail(email);
+        return given()
+                .contentType(ContentType.JSON)
+                .body(user)
+                .when()
+                .post("/api/users")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+
+    /** Категория с уникальным именем prefix-UUID; возвращает имя */
+    static String createCategory(String prefix) {
+        String name = prefix + "-" + UUID.randomUUID();
+        given()
+                .contentType(ContentType.JSON)
+                .body(name)
+                .when()
+                .post("/categories")
+                .then()
+                .statusCode(200);
+        return name;
+    }
+
+    static int createTask(String title) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle(title);
+        return postTask(request);
+    }
+
+    static int postTask(TaskCreateRequest request) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/api/tasks")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
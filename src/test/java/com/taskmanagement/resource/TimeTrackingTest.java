@@ -0,0 +1,127 @@
+package com.taskmanagement.resource;
+
+import com.taskmanagement.model.dto.TaskCreateRequest;
+import com.taskmanagement.model.dto.TimeEntryRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static com.taskmanagement.resource.TestData.createUser;
+import static com.taskmanagement.resource.TestData.postTask;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Учет времени: actualHours задачи, недельные итоги и точность оценок пользователя
+ */
+@QuarkusTest
+public class TimeTrackingTest {
+
+    @Test
+    void shouldRollUpLoggedTimeIntoTaskAndWeeklyBuckets() {
+        long userId = createUser();
+        int taskId = createTask(userId, 4);
+        LocalDate thisWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate lastWeek = thisWeek.minusWeeks(1);
+
+        logTime(taskId, null, 90, lastWeek).statusCode(201).body("userId", equalTo((int) userId));
+        logTime(taskId, userId, 120, LocalDate.now()).statusCode(201);
+        logTime(taskId, userId, 60, LocalDate.now()).statusCode(201);
+
+        // 270 минут округляются до 5 часов
+        given().pathParam("id", taskId).when().get("/api/tasks/{id}")
+                .then()
+                .statusCode(200)
+                .body("loggedMinutes", equalTo(270))
+                .body("actualHours", equalTo(5));
+
+        given().pathParam("id", taskId).when().get("/api/tasks/{id}/time")
+                .then()
+                .statusCode(200)
+                .body("minutes", contains(90, 120, 60))
+                .body("userId", contains((int) userId, (int) userId, (int) userId));
+
+        given().pathParam("id", userId).queryParam("from", lastWeek.toString()).when().get("/api/users/{id}/time")
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(2))
+                .body("weekStart", contains(lastWeek.toString(), thisWeek.toString()))
+                .body("hours", contains(1.5f, 3.0f))
+                .body("entries", contains(1, 2))
+                // Оценка учитывается в неделю первой записи
+                .body("estimatedHours", contains(4.0f, 0.0f));
+
+        // Оценка 4 ч, списано 4.5 ч: точность 87.5%
+        given().pathParam("id", userId).when().get("/api/users/{id}/statistics")
+                .then()
+                .statusCode(200)
+                .body("loggedHours", equalTo(4.5f))
+                .body("estimatedHours", equalTo(4.0f))
+                .body("estimateAccuracyPercentage", equalTo(87.5f));
+    }
+
+    @Test
+    void shouldCountEstimateOncePerTask() {
+        long assigneeId = createUser();
+        long helperId = createUser();
+        int taskId = createTask(assigneeId, 3);
+
+        logTime(taskId, assigneeId, 60, null).statusCode(201);
+        logTime(taskId, helperId, 30, null).statusCode(201);
+
+        // Оценка уже учтена у первой записи по задаче; у второго пользователя только списанное время
+        given().pathParam("id", assigneeId).when().get("/api/users/{id}/time")
+                .then()
+                .statusCode(200)
+                .body("estimatedHours", contains(3.0f));
+        given().pathParam("id", helperId).when().get("/api/users/{id}/time")
+                .then()
+                .statusCode(200)
+                .body("hours", contains(0.5f))
+                .body("estimatedHours", contains(0.0f));
+    }
+
+    @Test
+    void shouldRejectInvalidTimeEntries() {
+        long userId = createUser();
+        int taskId = createTask(userId, null);
+
+        logTime(taskId, userId, 0, null).statusCode(400);
+        logTime(taskId, userId, 25 * 60, null).statusCode(400);
+        logTime(taskId, userId, 30, LocalDate.now().plusDays(1)).statusCode(400);
+        logTime(taskId, 999999L, 30, null).statusCode(404);
+        logTime(999999, userId, 30, null).statusCode(404);
+
+        given().pathParam("id", userId).queryParam("from", "yesterday").when().get("/api/users/{id}/time")
+                .then()
+                .statusCode(400);
+    }
+
+    private io.restassured.response.ValidatableResponse logTime(int taskId, Long userId, int minutes, LocalDate workDate) {
+        TimeEntryRequest request = new TimeEntryRequest();
+        request.setUserId(userId);
+        request.setMinutes(minutes);
+        request.setWorkDate(workDate);
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .pathParam("id", taskId)
+                .when()
+                .post("/api/tasks/{id}/time")
+                .then();
+    }
+
+    private int createTask(long assigneeId, Integer estimatedHours) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setTitle("Tracked task");
+        request.setAssigneeId(assigneeId);
+        request.setEstimatedHours(estimatedHours);
+        return postTask(request);
+    }
+}
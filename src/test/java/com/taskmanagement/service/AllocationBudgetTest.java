@@ -0,0 +1,177 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeBucket;
+import com.taskmanagement.model.entity.User;
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.TimeEntryRepository;
+import com.taskmanagement.model.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Бюджеты выделения памяти на операцию для горячих путей сервисов.
+ * Бюджеты лежат в allocation-budgets.properties; превышение роняет сборку.
+ */
+public class AllocationBudgetTest {
+
+    private static final int TASKS = 10_000;
+
+    private static Properties budgets;
+
+    private TaskService taskService;
+    private StatisticsService statisticsService;
+    private NotificationService notificationService;
+    private Task assignedTask;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(AllocationMeter.isSupported(), "Thread allocation counters are not available");
+
+        List<Task> tasks = createTasks();
+        User user = tasks.get(0).assignee;
+        assignedTask = tasks.get(0);
+
+        // Заглушки вместо моков Mockito: моки сами выделяют память на каждый вызов
+        TaskRepository taskRepository = new TaskRepository() {
+            @Override
+            public List<Task> listAll() {
+                return tasks;
+            }
+
+            @Override
+            public List<Task> findByUser(Long id) {
+                return tasks.subList(0, TASKS / 10);
+            }
+        };
+        UserRepository userRepository = new UserRepository() {
+            @Override
+            public User findById(Long id) {
+                return user;
+            }
+        };
+
+        // Недельные итоги за год по двум категориям
+        List<TimeBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < 104; i++) {
+            TimeBucket bucket = new TimeBucket();
+            bucket.loggedMinutes = 600;
+            bucket.estimatedMinutes = i % 2 == 0 ? 480 : 0;
+            bucket.estimatedLoggedMinutes = 540;
+            buckets.add(bucket);
+        }
+        TimeEntryRepository timeEntryRepository = new TimeEntryRepository() {
+            @Override
+            public List<TimeBucket> findBuckets(Long userId) {
+                return buckets;
+            }
+        };
+
+        taskService = new TaskService();
+        taskService.taskRepository = taskRepository;
+
+        statisticsService = new StatisticsService();
+        statisticsService.taskRepository = taskRepository;
+        statisticsService.userRepository = userRepository;
+        statisticsService.timeEntryRepository = timeEntryRepository;
+
+        notificationService = new NotificationService();
+    }
+
+    @Test
+    void filterByStatusShouldStayWithinBudget() {
+        assertWithinBudget("taskService.filterTasks.status",
+                () -> taskService.filterTasks(TaskStatus.TODO, null, null));
+    }
+
+    @Test
+    void filterByAllCriteriaShouldStayWithinBudget() {
+        assertWithinBudget("taskService.filterTasks.all",
+                () -> taskService.filterTasks(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 3L));
+    }
+
+    @Test
+    void taskStatisticsShouldStayWithinBudget() {
+        assertWithinBudget("statisticsService.getTaskStatistics",
+                () -> statisticsService.getTaskStatistics());
+    }
+
+    @Test
+    void tasksByPriorityShouldStayWithinBudget() {
+        assertWithinBudget("statisticsService.getTasksByPriority",
+                () -> statisticsService.getTasksByPriority());
+    }
+
+    @Test
+    void userStatisticsShouldStayWithinBudget() {
+        assertWithinBudget("statisticsService.getUserStatistics",
+                () -> statisticsService.getUserStatistics(1L));
+    }
+
+    @Test
+    void assignmentNotificationShouldStayWithinBudget() {
+        assertWithinBudget("notificationService.notifyTaskAssigned",
+                () -> notificationService.notifyTaskAssigned(assignedTask));
+    }
+
+    private void assertWithinBudget(String operation, Runnable runnable) {
+        long budget = Long.parseLong(budgets.getProperty(operation));
+        long allocated = AllocationMeter.bytesPerOperation(runnable);
+
+        System.out.printf("Allocation %s: %d bytes/op (budget %d)%n", operation, allocated, budget);
+        Assertions.assertTrue(allocated <= budget,
+                operation + " allocated " + allocated + " bytes/op, budget is " + budget);
+    }
+
+    private static List<Task> createTasks() {
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.id = (long) i;
+            user.name = "User " + i;
+            user.email = "user" + i + "@example.com";
+            users.add(user);
+        }
+
+        List<Task> tasks = new ArrayList<>(TASKS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.id = (long) i;
+            task.title = "Task " + i;
+            task.status = statuses[i % statuses.length];
+            task.priority = priorities[i % priorities.length];
+            task.assignee = users.get(i % users.size());
+            task.dueDate = LocalDate.now().plusDays(i % 30 - 10);
+            task.createdAt = now.minusHours(48);
+            if (task.status == TaskStatus.DONE) {
+                task.completedAt = now.minusHours(i % 24);
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
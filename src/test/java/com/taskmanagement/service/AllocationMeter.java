@@ -0,0 +1,38 @@
+package com.taskmanagement.service;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Замер байт, выделенных текущим потоком на одну операцию (счетчики HotSpot ThreadMXBean).
+ * Перед замером операция прогревается, чтобы JIT успел применить escape analysis.
+ */
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    private AllocationMeter() {
+    }
+
+    static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    static long bytesPerOperation(Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        long after = THREADS.getThreadAllocatedBytes(threadId);
+
+        return (after - before) / MEASURED_ITERATIONS;
+    }
+}
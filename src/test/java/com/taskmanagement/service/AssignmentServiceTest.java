@@ -0,0 +1,83 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AssignmentServiceTest {
+
+    private AssignmentService service;
+    private TypedQuery<Object[]> rows;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Два активных пользователя без задач
+        TypedQuery<Long> users = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(users.getResultList()).thenReturn(List.of(1L, 2L));
+        rows = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(rows.getResultList()).thenReturn(List.of());
+        service = new AssignmentService();
+        service.em = Mockito.mock(EntityManager.class);
+        Mockito.when(service.em.createQuery(Mockito.anyString(), Mockito.eq(Long.class))).thenReturn(users);
+        Mockito.when(service.em.createQuery(Mockito.anyString(), Mockito.eq(Object[].class))).thenReturn(rows);
+        service.rebuild();
+    }
+
+    @Test
+    void shouldReplayChangesCommittedDuringRebuild() {
+        // Задача назначена, пока перестройка читает БД, и в прочитанные строки не попала
+        Mockito.when(rows.getResultList()).thenAnswer(invocation -> {
+            service.onTaskChanged(new TaskChangedEvent(null, snapshot(10, TaskStatus.TODO, 1L)));
+            return List.of();
+        }).thenReturn(List.of());
+
+        service.rebuild();
+
+        Assertions.assertEquals(AssignmentService.weight(TaskPriority.HIGH, 2), service.loadOf(1L));
+        Assertions.assertEquals(2L, service.pickUser(null));
+    }
+
+    @Test
+    void shouldNotCountReplayedChangeTwice() {
+        // Изменение закоммичено во время чтения и уже попало в прочитанные строки
+        List<Object[]> openTasks = new ArrayList<>();
+        openTasks.add(new Object[]{10L, 1L, TaskPriority.HIGH, 2});
+        Mockito.when(rows.getResultList()).thenAnswer(invocation -> {
+            service.onTaskChanged(new TaskChangedEvent(null, snapshot(10, TaskStatus.TODO, 1L)));
+            return openTasks;
+        }).thenReturn(List.of());
+
+        service.rebuild();
+
+        Assertions.assertEquals(AssignmentService.weight(TaskPriority.HIGH, 2), service.loadOf(1L));
+    }
+
+    @Test
+    void shouldMoveLoadOnReassignAndRemoveOnDone() {
+        TaskSnapshot first = snapshot(10, TaskStatus.TODO, 1L);
+        service.onTaskChanged(new TaskChangedEvent(null, first));
+        TaskSnapshot second = snapshot(10, TaskStatus.IN_PROGRESS, 2L);
+        service.onTaskChanged(new TaskChangedEvent(first, second));
+
+        Assertions.assertEquals(0.0, service.loadOf(1L));
+        Assertions.assertEquals(AssignmentService.weight(TaskPriority.HIGH, 2), service.loadOf(2L));
+
+        service.onTaskChanged(new TaskChangedEvent(second, snapshot(10, TaskStatus.DONE, 2L)));
+        Assertions.assertEquals(0.0, service.loadOf(2L));
+    }
+
+    private static TaskSnapshot snapshot(long id, TaskStatus status, Long assigneeId) {
+        return new TaskSnapshot(id, "Task " + id, null, status, TaskPriority.HIGH, assigneeId, null, null, 2);
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class CriticalPathTest {
+
+    @Test
+    void shouldPickLongestChainByHours() {
+        // 1 -> 2 -> 4 и 1 -> 3 -> 4: через 3 дольше
+        long[][] edges = {{1, 2}, {2, 4}, {1, 3}, {3, 4}};
+        Map<Long, Long> hours = Map.of(1L, 2L, 2L, 1L, 3L, 5L);
+
+        CriticalPath path = CriticalPath.compute(4L, 3L, edges, hours);
+
+        Assertions.assertEquals(List.of(1L, 3L, 4L), path.getTaskIds());
+        Assertions.assertEquals(10L, path.getTotalHours());
+    }
+
+    @Test
+    void shouldReturnTaskItselfWithoutBlockers() {
+        CriticalPath path = CriticalPath.compute(7L, 4L, new long[0][], Map.of());
+
+        Assertions.assertEquals(List.of(7L), path.getTaskIds());
+        Assertions.assertEquals(4L, path.getTotalHours());
+    }
+
+    @Test
+    void shouldHandleDeepAndWideGraphQuickly() {
+        // 50 000 вершин: цепочка глубиной 10 000 плюс случайные ребра "вперед" (граф остается ацикличным)
+        int nodes = 50_000;
+        Random random = new Random(1);
+        List<long[]> edges = new ArrayList<>();
+        Map<Long, Long> hours = new HashMap<>();
+        for (long v = 1; v < nodes; v++) {
+            hours.put(v, 1L + random.nextInt(8));
+            if (v < 10_000) {
+                edges.add(new long[]{v, v + 1});
+            }
+            long to = v + 1 + random.nextInt(nodes - (int) v);
+            edges.add(new long[]{v, to});
+        }
+        long target = nodes;
+
+        long start = System.nanoTime();
+        CriticalPath path = CriticalPath.compute(target, 1L, edges.toArray(new long[0][]), hours);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertEquals(target, path.getTaskIds().get(path.getTaskIds().size() - 1));
+        Assertions.assertTrue(path.getTotalHours() >= 10_000, "Chain of 10 000 tasks must be on the path");
+        Assertions.assertTrue(elapsedMs < 1_000, "Critical path took " + elapsedMs + " ms");
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PrefixIndexTest {
+
+    @Test
+    void shouldFindDistinctIdsInKeyOrder() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("petrov", 2L);
+        index.add("ivan petrov", 2L);
+        index.add("pavel", 3L);
+        index.add("petr", 1L);
+        index.add("petr", 1L);
+
+        Assertions.assertEquals(List.of(1L, 2L), index.find("pet", 10));
+        Assertions.assertEquals(List.of(3L, 1L), index.find("p", 2));
+        Assertions.assertEquals(List.of(2L), index.find("ivan p", 10));
+        Assertions.assertTrue(index.find("z", 10).isEmpty());
+        Assertions.assertEquals(4, index.size());
+
+        index.remove("petr", 1L);
+        Assertions.assertEquals(List.of(2L), index.find("pet", 10));
+    }
+
+    @Test
+    void shouldSortAppendedPairsAndDropDuplicates() {
+        PrefixIndex index = new PrefixIndex();
+        for (int i = 40; i > 0; i--) {
+            index.append("task " + i, i);
+            index.append("task " + i, i);
+        }
+        index.sort();
+
+        Assertions.assertEquals(40, index.size());
+        Assertions.assertEquals(List.of(1L, 10L, 11L), index.find("task 1", 3));
+
+        index.add("task 100", 100L);
+        Assertions.assertEquals(List.of(10L, 100L), index.find("task 10", 10));
+    }
+
+    @Test
+    void shouldMergeAndRemoveSortedBatches() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("beta", 2L);
+        index.add("delta", 4L);
+
+        PrefixIndex batch = new PrefixIndex();
+        batch.append("gamma", 3L);
+        batch.append("alpha", 1L);
+        batch.append("delta", 4L);
+        batch.sort();
+        index.addAll(batch);
+
+        Assertions.assertEquals(4, index.size());
+        // Порядок выдачи - порядок ключей: alpha, beta, delta, gamma
+        Assertions.assertEquals(List.of(1L, 2L, 4L, 3L), index.find("", 10));
+
+        index.removeAll(PrefixIndex.of(List.of("alpha", "gamma", "omega"), 1L));
+        Assertions.assertEquals(List.of(2L, 4L, 3L), index.find("", 10));
+        index.removeAll(PrefixIndex.of(List.of("gamma"), 3L));
+        Assertions.assertEquals(List.of(2L, 4L), index.find("", 10));
+    }
+}
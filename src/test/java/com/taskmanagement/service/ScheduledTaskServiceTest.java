@@ -3,7 +3,9 @@ package com.taskmanagement.service;
 import com.taskmanagement.model.entity.Task;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
 import com.taskmanagement.model.repository.TaskRepository;
+import jakarta.enterprise.event.Event;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +33,12 @@ public class ScheduledTaskServiceTest {
     @Mock
     EntityManager entityManager;
 
+    @Mock
+    Event<TaskChangedEvent> taskEvents;
+
+    @Mock
+    TaskTemplateService templateService;
+
     @InjectMocks
     ScheduledTaskService scheduledTaskService;
 
@@ -40,7 +48,7 @@ public class ScheduledTaskServiceTest {
         Task overdueTask2 = createOverdueTask(2L, "Overdue 2", TaskStatus.IN_PROGRESS);
 
         Mockito.when(taskRepository.findOverdue()).thenReturn(Arrays.asList(overdueTask1, overdueTask2));
-        Mockito.when(entityManager.merge(Mockito.any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(taskRepository.markOverdue(Mockito.anyLong(), Mockito.any())).thenReturn(true);
 
         scheduledTaskService.checkOverdueTasks();
 
@@ -55,10 +63,40 @@ public class ScheduledTaskServiceTest {
 
         scheduledTaskService.checkOverdueTasks();
 
-        Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any(Task.class));
+        Mockito.verify(taskRepository, Mockito.never()).markOverdue(Mockito.anyLong(), Mockito.any());
         Mockito.verify(notificationService, Mockito.never()).notifyOverdueTask(Mockito.any(Task.class));
     }
 
+    @Test
+    void shouldSkipTaskChangedConcurrently() {
+        Task changed = createOverdueTask(1L, "Changed", TaskStatus.TODO);
+        Task overdue = createOverdueTask(2L, "Overdue", TaskStatus.TODO);
+
+        Mockito.when(taskRepository.findOverdue()).thenReturn(Arrays.asList(changed, overdue));
+        Mockito.when(taskRepository.markOverdue(1L, null)).thenReturn(false);
+        Mockito.when(taskRepository.markOverdue(2L, null)).thenReturn(true);
+
+        scheduledTaskService.checkOverdueTasks();
+
+        Assertions.assertEquals(TaskStatus.TODO, changed.status);
+        Mockito.verify(notificationService, Mockito.never()).notifyOverdueTask(changed);
+        Mockito.verify(notificationService).notifyOverdueTask(overdue);
+    }
+
+    @Test
+    void shouldGenerateRecurringTasksUntilTemplatesAreExhausted() {
+        scheduledTaskService.recurrenceBatchSize = 2;
+        scheduledTaskService.recurrenceHorizonDays = 14;
+        LocalDate horizon = LocalDate.now().plusDays(14);
+        Mockito.when(templateService.generateBatch(LocalDate.now(), horizon, 2))
+                .thenReturn(new TaskTemplateService.GenerationResult(2, 30))
+                .thenReturn(new TaskTemplateService.GenerationResult(1, 2));
+
+        scheduledTaskService.generateRecurringTasks();
+
+        Mockito.verify(templateService, Mockito.times(2)).generateBatch(LocalDate.now(), horizon, 2);
+    }
+
     @Test
     void shouldSendDeadlineReminders() {
         Task dueTomorrow1 = createTaskDueSoon(1L, "Due Tomorrow 1");
@@ -82,7 +120,7 @@ public class ScheduledTaskServiceTest {
         task.dueDate = LocalDate.of(2025, 12, 26); // Вчера
 
         Mockito.when(taskRepository.findOverdue()).thenReturn(List.of(task));
-        Mockito.when(entityManager.merge(Mockito.any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(taskRepository.markOverdue(Mockito.anyLong(), Mockito.any())).thenReturn(true);
 
         scheduledTaskService.checkOverdueTasks();
 
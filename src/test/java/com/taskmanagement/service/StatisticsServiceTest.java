@@ -3,10 +3,12 @@ package com.taskmanagement.service;
 import com.taskmanagement.model.dto.TaskStatistics;
 import com.taskmanagement.model.dto.UserStatistics;
 import com.taskmanagement.model.entity.Task;
+import com.taskmanagement.model.entity.TimeBucket;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
 import com.taskmanagement.model.repository.TaskRepository;
+import com.taskmanagement.model.repository.TimeEntryRepository;
 import com.taskmanagement.model.repository.UserRepository;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import org.junit.jupiter.api.Assertions;
@@ -33,6 +35,9 @@ public class StatisticsServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    TimeEntryRepository timeEntryRepository;
+
     @InjectMocks
     StatisticsService statisticsService;
 
@@ -117,6 +122,37 @@ public class StatisticsServiceTest {
         );
     }
 
+    private TimeBucket createBucket(long logged, long estimated, long estimatedLogged) {
+        TimeBucket bucket = new TimeBucket();
+        bucket.loggedMinutes = logged;
+        bucket.estimatedMinutes = estimated;
+        bucket.estimatedLoggedMinutes = estimatedLogged;
+        return bucket;
+    }
+
+    @Test
+    void shouldCalculateEstimateAccuracyFromBuckets() {
+        User user = new User();
+        user.id = 1L;
+        user.name = "John Doe";
+
+        Mockito.when(userRepository.findById(1L)).thenReturn(user);
+        Mockito.when(taskRepository.findByUser(1L)).thenReturn(List.of());
+        // Оценено 10 ч, по оцененным задачам списано 12 ч, еще 1 ч без оценки
+        Mockito.when(timeEntryRepository.findBuckets(1L)).thenReturn(List.of(
+                createBucket(300, 600, 240),
+                createBucket(480, 0, 480)
+        ));
+
+        UserStatistics stats = statisticsService.getUserStatistics(1L);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(13.0, stats.getLoggedHours()),
+                () -> Assertions.assertEquals(10.0, stats.getEstimatedHours()),
+                () -> Assertions.assertEquals(80.0, stats.getEstimateAccuracyPercentage(), 0.001)
+        );
+    }
+
     private Task createTaskWithPriority(TaskPriority priority, TaskStatus status) {
         Task task = new Task();
         task.priority = priority;
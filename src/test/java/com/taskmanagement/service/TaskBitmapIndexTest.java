@@ -0,0 +1,119 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.enums.TaskPriority;
+import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import com.taskmanagement.model.event.TaskTaggedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskBitmapIndexTest {
+
+    private TaskBitmapIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Пустая БД: индекс строится из пустых выборок и дальше живет только на событиях
+        TypedQuery<Object[]> empty = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(empty.getResultList()).thenReturn(List.of());
+        index = new TaskBitmapIndex();
+        index.em = Mockito.mock(EntityManager.class);
+        Mockito.when(index.em.createQuery(Mockito.anyString(), Mockito.eq(Object[].class))).thenReturn(empty);
+        index.rebuild();
+    }
+
+    @Test
+    void shouldIntersectTagsStatusAndPriority() {
+        create(1, TaskStatus.TODO, TaskPriority.HIGH, "a", "b");
+        create(2, TaskStatus.TODO, TaskPriority.HIGH, "a", "b", "c");
+        create(3, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, "a", "b");
+        create(4, TaskStatus.TODO, TaskPriority.LOW, "a");
+
+        Assertions.assertEquals(List.of(1L), ids(index.match(List.of("a", "b"), List.of("c"), TaskStatus.TODO, null)));
+        Assertions.assertEquals(List.of(1L, 2L, 4L), ids(index.match(List.of("a"), null, TaskStatus.TODO, null)));
+        Assertions.assertEquals(List.of(4L), ids(index.match(null, null, null, TaskPriority.LOW)));
+        Assertions.assertTrue(index.match(List.of("unknown"), null, null, null).isEmpty());
+        Assertions.assertEquals(4, index.match(null, List.of("unknown"), null, null).getLongCardinality());
+    }
+
+    @Test
+    void shouldFollowStatusChangesUntagAndDelete() {
+        TaskSnapshot todo = create(1, TaskStatus.TODO, TaskPriority.MEDIUM, "a");
+        create(2, TaskStatus.TODO, TaskPriority.MEDIUM, "a");
+
+        TaskSnapshot done = snapshot(1, TaskStatus.DONE, TaskPriority.MEDIUM);
+        index.onTaskChanged(new TaskChangedEvent(todo, done));
+        index.onTaskTagged(new TaskTaggedEvent(2L, tagId("a"), "a", false));
+
+        Assertions.assertEquals(List.of(1L), ids(index.match(List.of("a"), null, TaskStatus.DONE, null)));
+        Assertions.assertTrue(index.match(null, null, TaskStatus.TODO, null).contains(2L));
+        Assertions.assertTrue(index.match(List.of("a"), null, TaskStatus.TODO, null).isEmpty());
+
+        index.onTaskChanged(new TaskChangedEvent(done, null));
+        Assertions.assertTrue(index.match(List.of("a"), null, null, null).isEmpty());
+        Assertions.assertEquals(List.of(2L), ids(index.match(null, null, null, null)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReplayChangesCommittedDuringRebuild() {
+        create(1, TaskStatus.TODO, TaskPriority.MEDIUM, "a");
+        // Задача 2 закоммичена, пока перестройка читает БД, и в прочитанный пакет не попала
+        TypedQuery<Object[]> stale = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(stale.getResultList()).thenAnswer(invocation -> {
+            create(2, TaskStatus.TODO, TaskPriority.HIGH, "a");
+            return List.of();
+        }).thenReturn(List.of());
+        Mockito.when(index.em.createQuery(Mockito.anyString(), Mockito.eq(Object[].class))).thenReturn(stale);
+
+        index.rebuild();
+
+        Assertions.assertEquals(List.of(2L), ids(index.match(List.of("a"), null, TaskStatus.TODO, TaskPriority.HIGH)));
+        Assertions.assertFalse(index.match(null, null, null, null).contains(1L));
+    }
+
+    @Test
+    void shouldPageNewestFirst() {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        for (long id = 1; id <= 45; id++) {
+            bitmap.addLong(id);
+        }
+
+        Assertions.assertEquals(List.of(45L, 44L, 43L), TaskBitmapIndex.page(bitmap, 0, 3));
+        Assertions.assertEquals(List.of(5L, 4L, 3L, 2L, 1L), TaskBitmapIndex.page(bitmap, 2, 20));
+        Assertions.assertTrue(TaskBitmapIndex.page(bitmap, 3, 20).isEmpty());
+    }
+
+    private TaskSnapshot create(long id, TaskStatus status, TaskPriority priority, String... tags) {
+        TaskSnapshot snapshot = snapshot(id, status, priority);
+        index.onTaskChanged(new TaskChangedEvent(null, snapshot));
+        for (String tag : tags) {
+            index.onTaskTagged(new TaskTaggedEvent(id, tagId(tag), tag, true));
+        }
+        return snapshot;
+    }
+
+    private static long tagId(String tag) {
+        return tag.charAt(0);
+    }
+
+    private static TaskSnapshot snapshot(long id, TaskStatus status, TaskPriority priority) {
+        return new TaskSnapshot(id, "Task " + id, null, status, priority, null, null, null, null);
+    }
+
+    private static List<Long> ids(Roaring64Bitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
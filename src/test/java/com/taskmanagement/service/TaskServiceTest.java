@@ -2,13 +2,19 @@ package com.taskmanagement.service;
 
 import com.taskmanagement.model.dto.TaskCreateRequest;
 import com.taskmanagement.model.entity.Category;
+import com.taskmanagement.model.entity.Tag;
 import com.taskmanagement.model.entity.Task;
 import com.taskmanagement.model.entity.User;
 import com.taskmanagement.model.enums.TaskPriority;
 import com.taskmanagement.model.enums.TaskStatus;
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskTaggedEvent;
 import com.taskmanagement.model.repository.CategoryRepository;
+import com.taskmanagement.model.repository.TagRepository;
+import com.taskmanagement.model.repository.TaskDependencyRepository;
 import com.taskmanagement.model.repository.TaskRepository;
 import com.taskmanagement.model.repository.UserRepository;
+import jakarta.enterprise.event.Event;
 import jakarta.persistence.EntityManager;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ValidationException;
@@ -52,6 +58,21 @@ public class TaskServiceTest {
     @Mock
     Validator validator;
 
+    @Mock
+    TaskDependencyRepository dependencyRepository;
+
+    @Mock
+    Event<TaskChangedEvent> taskEvents;
+
+    @Mock
+    TagRepository tagRepository;
+
+    @Mock
+    Event<TaskTaggedEvent> tagEvents;
+
+    @Mock
+    TaskBitmapIndex taskIndex;
+
     @InjectMocks
     TaskService taskService;
 
@@ -177,6 +198,37 @@ public class TaskServiceTest {
         Assertions.assertThrows(RuntimeException.class, () -> taskService.updateStatus(1L, to));
     }
 
+    @Test
+    void shouldRejectCompletionWithOpenBlockers() {
+        testTask.status = TaskStatus.IN_PROGRESS;
+        Mockito.when(taskRepository.findById(1L)).thenReturn(testTask);
+        Mockito.when(dependencyRepository.countOpenBlockers(1L)).thenReturn(2L);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> taskService.updateStatus(1L, TaskStatus.DONE));
+
+        Assertions.assertTrue(exception.getMessage().contains("2 open blockers"));
+        Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any(Task.class));
+    }
+
+    @Test
+    void shouldTagTaskOnceWithNormalizedName() {
+        testTask.id = 1L;
+        Mockito.when(taskRepository.findById(1L)).thenReturn(testTask);
+        Tag backend = new Tag();
+        backend.id = 7L;
+        backend.name = "backend";
+        Mockito.when(tagRepository.findOrCreate("backend")).thenReturn(backend);
+
+        taskService.addTag(1L, "  Backend ");
+        taskService.addTag(1L, "backend");
+
+        Assertions.assertEquals(1, testTask.tags.size());
+        Assertions.assertEquals("backend", testTask.tags.iterator().next().name);
+        Mockito.verify(tagRepository, Mockito.times(2)).findOrCreate("backend");
+        Mockito.verify(tagEvents, Mockito.times(1)).fire(Mockito.any(TaskTaggedEvent.class));
+    }
+
     // ========== ТЕСТ 7: Nested тесты для группировки ==========
     @Nested
     class UpdateStatusTests {
@@ -204,6 +256,30 @@ public class TaskServiceTest {
             Assertions.assertEquals(result.status, TaskStatus.DONE);
             Assertions.assertNotNull(result.completedAt);
         }
+
+        @Test
+        void shouldDecrementActiveTaskCountOnCompletion() {
+            testTask.status = TaskStatus.IN_PROGRESS;
+            testUser.activeTaskCount = 2;
+            Mockito.when(taskRepository.findById(1L)).thenReturn(testTask);
+            Mockito.when(entityManager.merge(Mockito.any(Task.class))).thenReturn(testTask);
+
+            taskService.updateStatus(1L, TaskStatus.DONE);
+
+            Mockito.verify(userRepository).adjustActiveTaskCount(1L, -1);
+            Assertions.assertEquals(1, testUser.activeTaskCount);
+        }
+
+        @Test
+        void shouldNotTouchActiveTaskCountBetweenActiveStatuses() {
+            testTask.status = TaskStatus.TODO;
+            Mockito.when(taskRepository.findById(1L)).thenReturn(testTask);
+            Mockito.when(entityManager.merge(Mockito.any(Task.class))).thenReturn(testTask);
+
+            taskService.updateStatus(1L, TaskStatus.IN_PROGRESS);
+
+            Mockito.verify(userRepository, Mockito.never()).adjustActiveTaskCount(Mockito.anyLong(), Mockito.anyInt());
+        }
     }
 
     @Test
@@ -296,6 +372,7 @@ public class TaskServiceTest {
 
         Mockito.verify(notificationService).notifyTaskAssigned(Mockito.any(Task.class));
         Mockito.verify(notificationService).notifyTaskUnassigned(Mockito.any(Task.class), Mockito.eq(oldUser));
+        Mockito.verify(userRepository).transferActiveTask(1L, 2L);
     }
 
     @Test
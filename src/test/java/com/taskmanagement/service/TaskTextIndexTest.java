@@ -0,0 +1,114 @@
+package com.taskmanagement.service;
+
+import com.taskmanagement.model.event.TaskChangedEvent;
+import com.taskmanagement.model.event.TaskSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TaskTextIndexTest {
+
+    private TaskTextIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Пустая БД: индекс строится из пустой выборки и дальше живет только на событиях
+        TypedQuery<Object[]> empty = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(empty.getResultList()).thenReturn(List.of());
+        index = new TaskTextIndex();
+        index.em = Mockito.mock(EntityManager.class);
+        Mockito.when(index.em.createQuery(Mockito.anyString(), Mockito.eq(Object[].class))).thenReturn(empty);
+        index.rebuild();
+    }
+
+    @Test
+    void shouldMatchAllTermsAndRankTitleHigher() {
+        create(1, "Fix login", "Users cannot open the page");
+        create(2, "Update docs", "Describe how to fix login errors");
+        create(3, "Fix payment", "Checkout fails");
+
+        Set<String> terms = TaskTextIndex.terms("LOGIN fix");
+        Roaring64Bitmap matches = index.match(terms);
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(matches));
+        Assertions.assertEquals(List.of(1L, 2L), hitIds(index.rank(matches, terms, 0, 10)));
+        Assertions.assertEquals(List.of(2L), hitIds(index.rank(matches, terms, 1, 1)));
+        Assertions.assertTrue(index.match(TaskTextIndex.terms("login unknown")).isEmpty());
+    }
+
+    @Test
+    void shouldFollowTextChangesAndDelete() {
+        TaskSnapshot original = create(1, "Draft report", null);
+        TaskSnapshot renamed = snapshot(1, "Final report", "Quarterly numbers");
+
+        index.onTaskChanged(new TaskChangedEvent(original, renamed));
+
+        Assertions.assertTrue(index.match(TaskTextIndex.terms("draft")).isEmpty());
+        Assertions.assertEquals(List.of(1L), ids(index.match(TaskTextIndex.terms("quarterly report"))));
+
+        index.onTaskChanged(new TaskChangedEvent(renamed, null));
+        Assertions.assertTrue(index.match(TaskTextIndex.terms("report")).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReplayChangesCommittedDuringRebuild() {
+        // Пакет прочитан до переименования, событие о нем пришло до подмены индекса
+        TaskSnapshot original = snapshot(1, "Draft report", null);
+        TypedQuery<Object[]> stale = Mockito.mock(TypedQuery.class, Mockito.RETURNS_SELF);
+        Mockito.when(stale.getResultList()).thenAnswer(invocation -> {
+            index.onTaskChanged(new TaskChangedEvent(original, snapshot(1, "Final report", null)));
+            return List.<Object[]>of(new Object[]{1L, "Draft report", null});
+        });
+        Mockito.when(index.em.createQuery(Mockito.anyString(), Mockito.eq(Object[].class))).thenReturn(stale);
+
+        index.rebuild();
+
+        Assertions.assertTrue(index.match(TaskTextIndex.terms("draft")).isEmpty());
+        Assertions.assertEquals(List.of(1L), ids(index.match(TaskTextIndex.terms("final"))));
+    }
+
+    @Test
+    void shouldHighlightAndEscapeSnippet() {
+        Set<String> terms = TaskTextIndex.terms("deploy");
+
+        Assertions.assertEquals("Run <em>Deploy</em> &lt;prod&gt;",
+                TaskTextIndex.highlight("Run Deploy <prod>", terms, 100));
+        Assertions.assertEquals("...xx <em>deploy</em> yy...",
+                TaskTextIndex.highlight("aaaa xx deploy yyyy", terms, 12));
+        Assertions.assertNull(TaskTextIndex.highlight(null, terms, 100));
+    }
+
+    private TaskSnapshot create(long id, String title, String description) {
+        TaskSnapshot snapshot = snapshot(id, title, description);
+        index.onTaskChanged(new TaskChangedEvent(null, snapshot));
+        return snapshot;
+    }
+
+    private static TaskSnapshot snapshot(long id, String title, String description) {
+        return new TaskSnapshot(id, title, description, null, null, null, null, null, null);
+    }
+
+    private static List<Long> ids(Roaring64Bitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    private static List<Long> hitIds(List<TaskTextIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>();
+        for (TaskTextIndex.Hit hit : hits) {
+            ids.add(hit.getId());
+        }
+        return ids;
+    }
+}
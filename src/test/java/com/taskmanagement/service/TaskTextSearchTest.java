@@ -0,0 +1,19 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskTextSearchTest {
+
+    @Test
+    void shouldJoinTermsWithAnd() {
+        Assertions.assertEquals("fix & login", TaskTextSearch.tsQuery(TaskTextIndex.terms("Fix LOGIN fix")));
+    }
+
+    @Test
+    void shouldEscapeHeadlineAndMarkMatches() {
+        Assertions.assertEquals("Run <em>Deploy</em> &lt;prod&gt;",
+                TaskTextSearch.highlight("Run \u0002Deploy\u0003 <prod>"));
+        Assertions.assertNull(TaskTextSearch.highlight(null));
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskmanagement.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class UserLoadQueueTest {
+
+    @Test
+    void shouldPeekLeastLoadedUser() {
+        UserLoadQueue queue = new UserLoadQueue();
+        queue.set(1L, 5.0);
+        queue.set(2L, 1.0);
+        queue.set(3L, 3.0);
+
+        Assertions.assertEquals(2L, queue.peek());
+
+        queue.set(2L, 10.0);
+        Assertions.assertEquals(3L, queue.peek());
+
+        queue.remove(3L);
+        Assertions.assertEquals(1L, queue.peek());
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertTrue(Double.isNaN(queue.load(3L)));
+    }
+
+    @Test
+    void shouldBreakTiesByUserId() {
+        UserLoadQueue queue = new UserLoadQueue();
+        queue.set(7L, 0.0);
+        queue.set(3L, 0.0);
+        queue.set(5L, 0.0);
+
+        Assertions.assertEquals(3L, queue.peek());
+    }
+
+    @Test
+    void shouldMatchFullScanUnderRandomUpdates() {
+        UserLoadQueue queue = new UserLoadQueue();
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                queue.remove(userId);
+                expected.remove(userId);
+            } else {
+                double load = random.nextInt(100);
+                queue.set(userId, load);
+                expected.put(userId, load);
+            }
+
+            Long min = expected.entrySet().stream()
+                    .min(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            Assertions.assertEquals(min, queue.peek());
+            Assertions.assertEquals(expected.size(), queue.size());
+        }
+    }
+}
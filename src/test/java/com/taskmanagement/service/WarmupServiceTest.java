@@ -0,0 +1,34 @@
+package com.taskmanagement.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+
+@QuarkusTest
+public class WarmupServiceTest {
+
+    @Inject
+    WarmupService warmupService;
+
+    @Test
+    void shouldReportReadyOnlyAfterWarmup() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!warmupService.isComplete() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(warmupService.isComplete(), "Warm-up did not finish in time");
+
+        given()
+                .when()
+                .get("/q/health/ready")
+                .then()
+                .statusCode(200)
+                .body("status", equalTo("UP"))
+                .body("checks.name", hasItem("warmup"));
+    }
+}